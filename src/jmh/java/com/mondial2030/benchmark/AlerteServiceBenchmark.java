@@ -0,0 +1,31 @@
+package com.mondial2030.benchmark;
+
+import com.mondial2030.service.AlerteService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure de la vérification de surpopulation d'un match (AlerteService).
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AlerteServiceBenchmark {
+
+    @Benchmark
+    public void verifierSurpopulation(EnvironnementBenchmark env) {
+        AlerteService.getInstance().verifierSurpopulation(env.match.getId());
+    }
+}
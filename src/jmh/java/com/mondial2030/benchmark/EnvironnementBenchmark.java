@@ -0,0 +1,166 @@
+package com.mondial2030.benchmark;
+
+import com.mondial2030.dao.impl.AdministrateurDAOImpl;
+import com.mondial2030.dao.impl.MatchDAOImpl;
+import com.mondial2030.dao.impl.SpectateurDAOImpl;
+import com.mondial2030.dao.impl.ZoneDAOImpl;
+import com.mondial2030.entity.Administrateur;
+import com.mondial2030.entity.Match;
+import com.mondial2030.entity.Spectateur;
+import com.mondial2030.entity.Zone;
+import com.mondial2030.service.AlerteService;
+import com.mondial2030.service.AnalyseurFluxService;
+import com.mondial2030.service.CompteurFluxService;
+import com.mondial2030.service.ControleAccesService;
+import com.mondial2030.service.HistoriqueFluxService;
+import com.mondial2030.service.FluxService;
+import com.mondial2030.service.InventaireService;
+import com.mondial2030.util.DataInitializer;
+import com.mondial2030.util.HibernateUtil;
+import com.mondial2030.util.IdentifiantPreAlloueGenerator;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Base SQLite temporaire partagée par les mesures JMH.
+ * Chaque essai (un fork JVM par valeur de nombreTickets) crée un fichier
+ * neuf, le remplit avec les données de démonstration puis y insère
+ * nombreTickets tickets vendus (et leurs transactions) pour le match mesuré,
+ * directement en SQL. Les services en mémoire sont démarrés ensuite, comme
+ * dans MainApp.init().
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+public class EnvironnementBenchmark {
+
+    /**
+     * Places laissées libres sur le match mesuré pour les achats
+     */
+    private static final int PLACES_LIBRES = 1_000_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int nombreTickets;
+
+    public Match match;
+    public Zone zone;
+    public Spectateur spectateur;
+    public Administrateur administrateur;
+
+    private File fichierBase;
+
+    @Setup(Level.Trial)
+    public void preparer() throws IOException {
+        fichierBase = File.createTempFile("mondial2030-benchmark-", ".db");
+        System.setProperty("db.name", fichierBase.getAbsolutePath());
+
+        DataInitializer.initializeData();
+
+        administrateur = new AdministrateurDAOImpl().findAll().get(0);
+        spectateur = new SpectateurDAOImpl().findAll().get(0);
+        match = new MatchDAOImpl().findAll().stream()
+                .filter(m -> !Boolean.TRUE.equals(m.getTermine()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Aucun match ouvert dans les données de démonstration"));
+        List<Zone> zones = new ZoneDAOImpl().findByMatchId(match.getId());
+        zone = zones.get(0);
+
+        remplir();
+
+        InventaireService.getInstance().demarrer();
+        ControleAccesService.getInstance().demarrer();
+        AlerteService.getInstance().demarrer();
+        CompteurFluxService.getInstance().demarrer();
+        HistoriqueFluxService.getInstance().demarrer();
+        AnalyseurFluxService.getInstance().demarrer();
+        FluxService.getInstance().initialiserFluxMatch(match);
+    }
+
+    @TearDown(Level.Trial)
+    public void nettoyer() {
+        AnalyseurFluxService.getInstance().arreter();
+        CompteurFluxService.getInstance().arreter();
+        HistoriqueFluxService.getInstance().arreter();
+        AlerteService.getInstance().arreter();
+        ControleAccesService.getInstance().arreter();
+        InventaireService.getInstance().arreter();
+        HibernateUtil.shutdown();
+        for (String suffixe : new String[] { "", "-wal", "-shm" }) {
+            new File(fichierBase.getAbsolutePath() + suffixe).delete();
+        }
+    }
+
+    /**
+     * Code QR du i-ème ticket inséré (i à partir de 0, pris modulo nombreTickets)
+     */
+    public String codeQR(long i) {
+        return "QR-BENCH-" + (i % nombreTickets + 1);
+    }
+
+    /**
+     * Remet les tickets scannés à l'état VALIDE et recharge l'index de contrôle
+     */
+    public void reinitialiserControle() {
+        ControleAccesService controle = ControleAccesService.getInstance();
+        controle.fermerPortes(match.getId());
+        executer("UPDATE ticket SET statut = 'VALIDE', date_validation = NULL " +
+                 "WHERE match_id = " + match.getId() + " AND statut = 'UTILISE'");
+        controle.ouvrirPortes(match.getId());
+    }
+
+    /**
+     * Insère les tickets et les transactions du match mesuré puis agrandit
+     * sa capacité pour laisser de la place aux achats.
+     */
+    private void remplir() {
+        long maintenant = System.currentTimeMillis();
+        HibernateUtil.runInTransaction(session -> session.doWork(connexion -> {
+            inserer(connexion,
+                    "WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < ?) " +
+                    "INSERT INTO ticket (id, numero_ticket, code_qr, match_id, proprietaire_id, categorie, " +
+                    "statut, prix, date_achat, transferable, nombre_transferts) " +
+                    "SELECT (SELECT COALESCE(MAX(id), 0) FROM ticket) + i, 'BENCH-' || i, 'QR-BENCH-' || i, " +
+                    "?, ?, 'STANDARD', 'VALIDE', 100.0, ?, 1, 0 FROM n",
+                    nombreTickets, match.getId(), spectateur.getId(), maintenant);
+            inserer(connexion,
+                    "WITH RECURSIVE n(i) AS (SELECT 1 UNION ALL SELECT i + 1 FROM n WHERE i < ?) " +
+                    "INSERT INTO transaction_paiement (id, numero_transaction, date_creation, date_validation, " +
+                    "devise, methode_paiement, montant, statut, type_transaction, spectateur_id, ticket_id) " +
+                    "SELECT (SELECT COALESCE(MAX(id), 0) FROM transaction_paiement) + i, 'TXN-BENCH-' || i, ?, ?, " +
+                    "'EUR', 'CARTE', 100.0, 'VALIDEE', 'ACHAT', ?, " +
+                    "(SELECT id FROM ticket WHERE numero_ticket = 'BENCH-' || i) FROM n",
+                    nombreTickets, maintenant, maintenant, spectateur.getId());
+            inserer(connexion,
+                    "UPDATE match_football SET capacite_stade = ?, tickets_disponibles = ? WHERE id = ?",
+                    nombreTickets + PLACES_LIBRES, PLACES_LIBRES, match.getId());
+        }));
+        // Les compteurs d'identifiants repartent du nouveau MAX(id)
+        IdentifiantPreAlloueGenerator.reinitialiser();
+        HibernateUtil.evincerCache(Match.class);
+    }
+
+    private void executer(String sql) {
+        HibernateUtil.runInTransaction(session -> session.doWork(connexion -> inserer(connexion, sql)));
+    }
+
+    private static void inserer(Connection connexion, String sql, Object... parametres) throws SQLException {
+        try (PreparedStatement ps = connexion.prepareStatement(sql)) {
+            for (int i = 0; i < parametres.length; i++) {
+                ps.setObject(i + 1, parametres[i]);
+            }
+            ps.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.mondial2030.benchmark;
+
+import com.mondial2030.entity.OptimisateurFlux;
+import com.mondial2030.service.EvenementPorte;
+import com.mondial2030.service.FluxService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesures de l'enregistrement des passages aux portes (FluxService) :
+ * une entrée isolée, ou un lot de 50 passages signalé par une porte ;
+ * et de l'analyse des flux d'un match.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FluxServiceBenchmark {
+
+    @Benchmark
+    public void enregistrerEntree(EnvironnementBenchmark env) {
+        FluxService.getInstance().enregistrerEntree(env.match.getId(), env.zone.getId());
+    }
+
+    @Benchmark
+    public int enregistrerEvenements(EnvironnementBenchmark env) {
+        List<EvenementPorte> lot = new ArrayList<>(50);
+        for (int i = 0; i < 25; i++) {
+            lot.add(EvenementPorte.entree(env.match.getId(), env.zone.getId()));
+            lot.add(EvenementPorte.sortie(env.match.getId(), env.zone.getId()));
+        }
+        return FluxService.getInstance().enregistrerEvenements(lot);
+    }
+
+    @Benchmark
+    public OptimisateurFlux analyserFlux(EnvironnementBenchmark env) {
+        return FluxService.getInstance().analyserFlux(env.match);
+    }
+}
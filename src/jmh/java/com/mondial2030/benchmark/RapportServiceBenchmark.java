@@ -0,0 +1,36 @@
+package com.mondial2030.benchmark;
+
+import com.mondial2030.entity.Rapport;
+import com.mondial2030.service.RapportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure de la génération du rapport de ventes (RapportService).
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RapportServiceBenchmark {
+
+    private static final LocalDateTime DEBUT = LocalDateTime.now().minusYears(1);
+    private static final LocalDateTime FIN = LocalDateTime.of(2031, 1, 1, 0, 0);
+
+    @Benchmark
+    public Rapport genererRapportVentes(EnvironnementBenchmark env) {
+        return RapportService.getInstance().genererRapportVentes(env.administrateur, DEBUT, FIN);
+    }
+}
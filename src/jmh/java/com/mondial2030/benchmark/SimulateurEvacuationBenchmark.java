@@ -0,0 +1,43 @@
+package com.mondial2030.benchmark;
+
+import com.mondial2030.dto.ResultatEvacuationDTO;
+import com.mondial2030.service.ScenarioEvacuation;
+import com.mondial2030.service.SimulateurEvacuationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesures de la simulation d'évacuation, stade plein (72 500 places dans
+ * les données de démonstration) : scénario nominal seul, et ensemble des
+ * scénarios par défaut simulés en parallèle.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulateurEvacuationBenchmark {
+
+    @Benchmark
+    public List<ResultatEvacuationDTO> simulerNominal(EnvironnementBenchmark env) {
+        return SimulateurEvacuationService.getInstance()
+                .simulerStadePlein(env.match, List.of(ScenarioEvacuation.nominal()));
+    }
+
+    @Benchmark
+    public List<ResultatEvacuationDTO> simulerScenarios(EnvironnementBenchmark env) {
+        SimulateurEvacuationService simulateur = SimulateurEvacuationService.getInstance();
+        return simulateur.simulerStadePlein(env.match, simulateur.scenariosParDefaut());
+    }
+}
@@ -0,0 +1,32 @@
+package com.mondial2030.benchmark;
+
+import com.mondial2030.dto.TableauDeBordDTO;
+import com.mondial2030.service.StatistiquesService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesure du calcul des indicateurs du tableau de bord (StatistiquesService).
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatistiquesServiceBenchmark {
+
+    @Benchmark
+    public TableauDeBordDTO getTableauDeBord(EnvironnementBenchmark env) {
+        return StatistiquesService.getInstance().getTableauDeBord();
+    }
+}
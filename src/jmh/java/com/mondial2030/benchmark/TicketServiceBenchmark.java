@@ -0,0 +1,102 @@
+package com.mondial2030.benchmark;
+
+import com.mondial2030.entity.CategorieTicket;
+import com.mondial2030.entity.Ticket;
+import com.mondial2030.service.TicketService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mesures de l'achat et du scan de tickets (TicketService).
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketServiceBenchmark {
+
+    /**
+     * Scans par itération de validerTicketPremierScan (au plus le plus
+     * petit nombreTickets, pour ne jamais scanner deux fois un code)
+     */
+    private static final int SCANS_PAR_ITERATION = 1000;
+
+    private final TicketService ticketService = TicketService.getInstance();
+
+    /**
+     * Codes jamais scannés : chaque itération repart de tickets non scannés
+     * et en consomme au plus SCANS_PAR_ITERATION
+     */
+    @State(Scope.Benchmark)
+    public static class PremiersScans {
+        private final AtomicLong prochainScan = new AtomicLong();
+
+        @Setup(Level.Iteration)
+        public void reinitialiser(EnvironnementBenchmark env) {
+            env.reinitialiserControle();
+            prochainScan.set(0);
+        }
+    }
+
+    /**
+     * Codes déjà scannés : les SCANS_PAR_ITERATION premiers tickets sont
+     * consommés avant chaque itération
+     */
+    @State(Scope.Benchmark)
+    public static class ScansDejaFaits {
+        private final AtomicLong prochainScan = new AtomicLong();
+
+        @Setup(Level.Iteration)
+        public void consommer(EnvironnementBenchmark env) {
+            env.reinitialiserControle();
+            TicketService service = TicketService.getInstance();
+            for (int i = 0; i < SCANS_PAR_ITERATION; i++) {
+                service.validerTicket(env.codeQR(i));
+            }
+            prochainScan.set(0);
+        }
+    }
+
+    @Benchmark
+    public Optional<Ticket> acheterTicket(EnvironnementBenchmark env) {
+        return ticketService.acheterTicket(env.spectateur, env.match, CategorieTicket.STANDARD, "CARTE");
+    }
+
+    /**
+     * Premier scan d'un ticket valide. Le score est la durée d'un lot de
+     * SCANS_PAR_ITERATION scans, tous acceptés.
+     */
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = SCANS_PAR_ITERATION)
+    @Measurement(iterations = 20, batchSize = SCANS_PAR_ITERATION)
+    public boolean validerTicketPremierScan(EnvironnementBenchmark env, PremiersScans scans) {
+        return ticketService.validerTicket(env.codeQR(scans.prochainScan.getAndIncrement()));
+    }
+
+    /**
+     * Refus d'un ticket déjà scanné
+     */
+    @Benchmark
+    public boolean validerTicketDoublon(EnvironnementBenchmark env, ScansDejaFaits scans) {
+        return ticketService.validerTicket(env.codeQR(scans.prochainScan.getAndIncrement() % SCANS_PAR_ITERATION));
+    }
+}
@@ -1,7 +1,15 @@
 package com.mondial2030;
 
+import com.mondial2030.service.AlerteService;
+import com.mondial2030.service.AnalyseurFluxService;
+import com.mondial2030.service.CompteurFluxService;
+import com.mondial2030.service.ControleAccesService;
+import com.mondial2030.service.HistoriqueFluxService;
+import com.mondial2030.service.InventaireService;
 import com.mondial2030.util.HibernateUtil;
 import com.mondial2030.util.DataInitializer;
+import com.mondial2030.util.VerificateurIndex;
+import com.mondial2030.util.MotDePasseUtil;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -32,9 +40,23 @@ public class MainApp extends Application {
         HibernateUtil.getSessionFactory();
         logger.info("Base de données initialisée avec succès.");
         
+        // Fixer le coût de hachage des mots de passe avant les premiers comptes
+        MotDePasseUtil.calibrer();
+        
         // Initialiser les données de démonstration
         DataInitializer.initializeData();
         logger.info("Données de démonstration chargées.");
+        
+        // Vérifier que les requêtes fréquentes utilisent les index
+        VerificateurIndex.verifier();
+        
+        // Charger l'inventaire des places, démarrer le contrôle d'accès et les compteurs de flux
+        InventaireService.getInstance().demarrer();
+        ControleAccesService.getInstance().demarrer();
+        AlerteService.getInstance().demarrer();
+        CompteurFluxService.getInstance().demarrer();
+        HistoriqueFluxService.getInstance().demarrer();
+        AnalyseurFluxService.getInstance().demarrer();
     }
     
     @Override
@@ -82,6 +104,14 @@ public class MainApp extends Application {
         super.stop();
         logger.info("Arrêt de l'application...");
         
+        // Écrire les derniers compteurs et passages aux portes avant de fermer la base
+        AnalyseurFluxService.getInstance().arreter();
+        CompteurFluxService.getInstance().arreter();
+        HistoriqueFluxService.getInstance().arreter();
+        AlerteService.getInstance().arreter();
+        ControleAccesService.getInstance().arreter();
+        InventaireService.getInstance().arreter();
+        
         // Fermer la connexion Hibernate
         HibernateUtil.shutdown();
         
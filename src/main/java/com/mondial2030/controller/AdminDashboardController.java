@@ -1,8 +1,18 @@
 package com.mondial2030.controller;
 
+import com.mondial2030.dao.impl.SpectateurDAOImpl;
+import com.mondial2030.dao.impl.TicketDAOImpl;
+import com.mondial2030.dao.interfaces.GenericDAO;
+import com.mondial2030.dao.interfaces.TicketDAO;
+import com.mondial2030.dto.MatchResumeDTO;
+import com.mondial2030.dto.PointFluxDTO;
+import com.mondial2030.dto.TableauDeBordDTO;
+import com.mondial2030.dto.TicketLigneDTO;
 import com.mondial2030.entity.*;
 import com.mondial2030.service.*;
+import javafx.application.Platform;
 import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.value.ObservableValue;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -12,12 +22,14 @@ import javafx.scene.chart.*;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.*;
+import javafx.util.Callback;
 
 import java.net.URL;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -36,10 +48,15 @@ public class AdminDashboardController extends BaseController implements Initiali
     private final RapportService rapportService = RapportService.getInstance();
     private final FluxService fluxService = FluxService.getInstance();
     private final AuthenticationService authService = AuthenticationService.getInstance();
+    private final StatistiquesService statistiquesService = StatistiquesService.getInstance();
+    
+    // Chargement des données hors du thread JavaFX
+    private final ChargeurDonnees chargeur = new ChargeurDonnees();
     
     // ===== COMPOSANTS HEADER =====
     @FXML private Label lblUserName;
     @FXML private Label lblDate;
+    @FXML private ProgressIndicator indicateurChargement;
     
     // ===== COMPOSANTS NAVIGATION =====
     @FXML private Button btnDashboard;
@@ -71,13 +88,13 @@ public class AdminDashboardController extends BaseController implements Initiali
     @FXML private LineChart<String, Number> chartVentesTendance;
     
     // ===== GESTION DES MATCHS =====
-    @FXML private TableView<Match> tableMatchs;
-    @FXML private TableColumn<Match, Long> colMatchId;
-    @FXML private TableColumn<Match, String> colMatchEquipes;
-    @FXML private TableColumn<Match, String> colMatchDate;
-    @FXML private TableColumn<Match, String> colMatchStade;
-    @FXML private TableColumn<Match, String> colMatchPhase;
-    @FXML private TableColumn<Match, String> colMatchStatut;
+    @FXML private TableView<MatchResumeDTO> tableMatchs;
+    @FXML private TableColumn<MatchResumeDTO, Long> colMatchId;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchEquipes;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchDate;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchStade;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchPhase;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchStatut;
     @FXML private TextField txtSearchMatch;
     @FXML private ComboBox<PhaseMatch> cmbFilterPhase;
     
@@ -92,14 +109,14 @@ public class AdminDashboardController extends BaseController implements Initiali
     @FXML private TextField txtSearchUser;
     
     // ===== GESTION DES TICKETS =====
-    @FXML private TableView<Ticket> tableTickets;
-    @FXML private TableColumn<Ticket, Long> colTicketId;
-    @FXML private TableColumn<Ticket, String> colTicketCode;
-    @FXML private TableColumn<Ticket, String> colTicketMatch;
-    @FXML private TableColumn<Ticket, String> colTicketSpectateur;
-    @FXML private TableColumn<Ticket, String> colTicketCategorie;
-    @FXML private TableColumn<Ticket, String> colTicketStatut;
-    @FXML private TableColumn<Ticket, String> colTicketPrix;
+    @FXML private TableView<TicketLigneDTO> tableTickets;
+    @FXML private TableColumn<TicketLigneDTO, Long> colTicketId;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketCode;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketMatch;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketSpectateur;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketCategorie;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketStatut;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketPrix;
     @FXML private ComboBox<StatutTicket> cmbFilterStatut;
     
     // ===== GESTION DES ALERTES =====
@@ -119,9 +136,20 @@ public class AdminDashboardController extends BaseController implements Initiali
     @FXML private Label lblMessageUtilisateur;
     @FXML private Label lblInfosUtilisateur;
     
+    // Nombre maximal de spectateurs affichés par une recherche
+    private static final int RESULTATS_RECHERCHE_MAX = 500;
+    
     // Mode d'affichage des alertes
     private boolean afficherAlertesUtilisateurs = false;
     
+    // Compteurs des alertes, relus en base à l'ouverture du panneau puis tenus à jour par le bus
+    private long alertesNonResolues;
+    private long alertesUtilisateursNonLues;
+    
+    // Les changements d'alertes sont appliqués à la liste dans le thread JavaFX
+    private final Consumer<EvenementAlerte> abonneAlertes =
+            evenement -> Platform.runLater(() -> appliquerEvenementAlerte(evenement));
+    
     // ===== RAPPORTS =====
     @FXML private DatePicker dpDateDebut;
     @FXML private DatePicker dpDateFin;
@@ -141,15 +169,21 @@ public class AdminDashboardController extends BaseController implements Initiali
     @FXML private TableColumn<FluxSpectateurs, String> colFluxDensite;
     @FXML private Label lblOccupationGlobale;
     @FXML private ProgressBar progressOccupation;
+    @FXML private LineChart<String, Number> chartOccupationFlux;
     
     // Listes observables
-    private ObservableList<Match> matchsList = FXCollections.observableArrayList();
-    private ObservableList<Spectateur> utilisateursList = FXCollections.observableArrayList();
-    private ObservableList<Ticket> ticketsList = FXCollections.observableArrayList();
+    private ObservableList<MatchResumeDTO> matchsList = FXCollections.observableArrayList();
     private ObservableList<Alerte> alertesList = FXCollections.observableArrayList();
     private ObservableList<Rapport> rapportsList = FXCollections.observableArrayList();
     private ObservableList<FluxSpectateurs> fluxList = FXCollections.observableArrayList();
     
+    // Tickets et utilisateurs : pages lues à la demande, quel que soit le nombre de lignes
+    private final TicketDAO ticketDAO = new TicketDAOImpl();
+    private final ListePaginee<TicketLigneDTO> ticketsList = new ListePaginee<>("tickets", ticketDAO,
+            ticketDAO::findLignesPage, GenericDAO.Tri.DECROISSANT, TicketLigneDTO::getId, chargeur);
+    private final ListePaginee<Spectateur> utilisateursList =
+            new ListePaginee<>("utilisateurs", new SpectateurDAOImpl(), GenericDAO.Tri.CROISSANT, Spectateur::getId, chargeur);
+    
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
         logger.info("Initialisation du dashboard administrateur");
@@ -170,6 +204,14 @@ public class AdminDashboardController extends BaseController implements Initiali
         // Initialiser les filtres
         initializeFilters();
         
+        // Suivre les changements d'alertes sans relire la table
+        alerteService.abonner(abonneAlertes);
+        
+        // Indicateur visible pendant les chargements
+        if (indicateurChargement != null) {
+            indicateurChargement.visibleProperty().bind(chargeur.enCoursProperty());
+        }
+        
         // Afficher le dashboard par défaut
         showPane(dashboardPane);
     }
@@ -189,18 +231,15 @@ public class AdminDashboardController extends BaseController implements Initiali
         if (tableMatchs == null) return;
         
         colMatchId.setCellValueFactory(new PropertyValueFactory<>("id"));
-        colMatchEquipes.setCellValueFactory(cellData -> {
-            Match m = cellData.getValue();
-            String equipes = m.getEquipeDomicile().getNom() + " vs " + m.getEquipeExterieur().getNom();
-            return new SimpleStringProperty(equipes);
-        });
+        colMatchEquipes.setCellValueFactory(cellData -> 
+            new SimpleStringProperty(cellData.getValue().getLibelleMatch()));
         colMatchDate.setCellValueFactory(cellData -> 
             new SimpleStringProperty(formatDate(cellData.getValue().getDateHeure())));
         colMatchStade.setCellValueFactory(new PropertyValueFactory<>("stade"));
         colMatchPhase.setCellValueFactory(cellData -> 
             new SimpleStringProperty(cellData.getValue().getPhase().name()));
         colMatchStatut.setCellValueFactory(cellData -> {
-            Match m = cellData.getValue();
+            MatchResumeDTO m = cellData.getValue();
             String statut = m.isTermine() ? "Terminé" : (m.getDateHeure().isBefore(LocalDateTime.now()) ? "En cours" : "À venir");
             return new SimpleStringProperty(statut);
         });
@@ -212,28 +251,30 @@ public class AdminDashboardController extends BaseController implements Initiali
         if (tableUtilisateurs == null) return;
         
         colUserId.setCellValueFactory(new PropertyValueFactory<>("id"));
-        colUserNom.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getNom() + " " + cellData.getValue().getPrenom()));
+        colUserNom.setCellValueFactory(siChargee(cellData -> 
+            new SimpleStringProperty(cellData.getValue().getNom() + " " + cellData.getValue().getPrenom())));
         colUserEmail.setCellValueFactory(new PropertyValueFactory<>("email"));
         colUserTelephone.setCellValueFactory(new PropertyValueFactory<>("telephone"));
-        colUserNbTickets.setCellValueFactory(cellData -> {
+        colUserNbTickets.setCellValueFactory(siChargee(cellData -> {
             // Utiliser le nombre de tickets stocké pour éviter LazyInitializationException
             Integer nbTickets = cellData.getValue().getNombreTicketsAchetes();
             return new javafx.beans.property.SimpleIntegerProperty(nbTickets != null ? nbTickets : 0).asObject();
-        });
+        }));
         colUserActif.setCellValueFactory(new PropertyValueFactory<>("actif"));
         
         // Double-clic pour voir les tickets de l'utilisateur
         tableUtilisateurs.setRowFactory(tv -> {
             TableRow<Spectateur> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
-                if (event.getClickCount() == 2 && !row.isEmpty()) {
+                if (event.getClickCount() == 2 && !row.isEmpty() && row.getItem() != null) {
                     showTicketsUtilisateur(row.getItem());
                 }
             });
             return row;
         });
         
+        // Ordre fixe des pages (par identifiant) : pas de tri sur les colonnes
+        tableUtilisateurs.getColumns().forEach(colonne -> colonne.setSortable(false));
         tableUtilisateurs.setItems(utilisateursList);
     }
     
@@ -242,31 +283,30 @@ public class AdminDashboardController extends BaseController implements Initiali
         
         colTicketId.setCellValueFactory(new PropertyValueFactory<>("id"));
         colTicketCode.setCellValueFactory(new PropertyValueFactory<>("codeQR"));
-        colTicketMatch.setCellValueFactory(cellData -> {
-            Ticket t = cellData.getValue();
-            if (t.getMatch() != null) {
-                return new SimpleStringProperty(t.getMatch().getEquipeDomicile().getNom() + " vs " + 
-                    t.getMatch().getEquipeExterieur().getNom());
-            }
-            return new SimpleStringProperty("");
-        });
-        colTicketSpectateur.setCellValueFactory(cellData -> {
-            Ticket t = cellData.getValue();
-            if (t.getProprietaire() != null) {
-                return new SimpleStringProperty(t.getProprietaire().getNom() + " " + t.getProprietaire().getPrenom());
-            }
-            return new SimpleStringProperty("");
-        });
-        colTicketCategorie.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getCategorie().name()));
-        colTicketStatut.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getStatut().name()));
-        colTicketPrix.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(formatMontant(cellData.getValue().getPrix())));
-        
+        colTicketMatch.setCellValueFactory(siChargee(cellData -> 
+            new SimpleStringProperty(cellData.getValue().getLibelleMatch())));
+        colTicketSpectateur.setCellValueFactory(siChargee(cellData -> 
+            new SimpleStringProperty(cellData.getValue().getNomCompletProprietaire())));
+        colTicketCategorie.setCellValueFactory(siChargee(cellData -> 
+            new SimpleStringProperty(cellData.getValue().getCategorie().name())));
+        colTicketStatut.setCellValueFactory(siChargee(cellData -> 
+            new SimpleStringProperty(cellData.getValue().getStatut().name())));
+        colTicketPrix.setCellValueFactory(siChargee(cellData -> 
+            new SimpleStringProperty(formatMontant(cellData.getValue().getPrix()))));
+        
+        // Ordre fixe des pages (du plus récent au plus ancien) : pas de tri sur les colonnes
+        tableTickets.getColumns().forEach(colonne -> colonne.setSortable(false));
         tableTickets.setItems(ticketsList);
     }
     
+    /**
+     * Valeur de cellule d'une liste paginée : vide tant que la page de la ligne n'est pas chargée
+     */
+    private static <S, V> Callback<TableColumn.CellDataFeatures<S, V>, ObservableValue<V>> siChargee(
+            Callback<TableColumn.CellDataFeatures<S, V>, ObservableValue<V>> valeur) {
+        return cellData -> cellData.getValue() != null ? valeur.call(cellData) : null;
+    }
+    
     private void initializeAlertesTable() {
         if (tableAlertes == null) return;
         
@@ -483,36 +523,21 @@ public class AdminDashboardController extends BaseController implements Initiali
     }
     
     private void refreshDashboardStats() {
-        // Statistiques de base
-        List<Match> allMatchs = matchService.getAllMatchs();
-        List<Ticket> allTickets = ticketService.getAllTickets();
-        List<Spectateur> allSpectateurs = authService.getAllSpectateurs();
-        List<Alerte> alertesNonResolues = alerteService.getAlertesNonResolues();
-        
-        if (lblTotalMatchs != null) lblTotalMatchs.setText(String.valueOf(allMatchs.size()));
-        if (lblTotalTickets != null) lblTotalTickets.setText(String.valueOf(allTickets.size()));
-        if (lblTotalSpectateurs != null) lblTotalSpectateurs.setText(String.valueOf(allSpectateurs.size()));
-        if (lblTotalAlertes != null) lblTotalAlertes.setText(String.valueOf(alertesNonResolues.size()));
-        
-        // Chiffre d'affaires
-        double ca = allTickets.stream()
-                .filter(t -> t.getStatut() == StatutTicket.VALIDE || t.getStatut() == StatutTicket.UTILISE)
-                .mapToDouble(Ticket::getPrix)
-                .sum();
-        if (lblChiffreAffaires != null) lblChiffreAffaires.setText(formatMontant(ca));
-        
-        // Graphiques
-        updateCharts(allTickets, allMatchs);
+        // Indicateurs calculés par la base, hors du thread JavaFX
+        chargeur.charger("statistiques", statistiquesService::getTableauDeBord, this::afficherStatistiques);
     }
     
-    private void updateCharts(List<Ticket> tickets, List<Match> matchs) {
+    private void afficherStatistiques(TableauDeBordDTO stats) {
+        if (lblTotalMatchs != null) lblTotalMatchs.setText(String.valueOf(stats.getTotalMatchs()));
+        if (lblTotalTickets != null) lblTotalTickets.setText(String.valueOf(stats.getTotalTickets()));
+        if (lblTotalSpectateurs != null) lblTotalSpectateurs.setText(String.valueOf(stats.getTotalSpectateurs()));
+        if (lblTotalAlertes != null) lblTotalAlertes.setText(String.valueOf(stats.getTotalAlertes()));
+        if (lblChiffreAffaires != null) lblChiffreAffaires.setText(formatMontant(stats.getChiffreAffaires()));
+        
         // PieChart - Tickets par catégorie
         if (chartTicketsByCategory != null) {
-            Map<CategorieTicket, Long> ticketsByCategory = tickets.stream()
-                    .collect(Collectors.groupingBy(Ticket::getCategorie, Collectors.counting()));
-            
             chartTicketsByCategory.getData().clear();
-            ticketsByCategory.forEach((cat, count) -> 
+            stats.getTicketsParCategorie().forEach((cat, count) -> 
                 chartTicketsByCategory.getData().add(new PieChart.Data(cat.name(), count)));
         }
         
@@ -521,57 +546,97 @@ public class AdminDashboardController extends BaseController implements Initiali
             chartTicketsByMatch.getData().clear();
             XYChart.Series<String, Number> series = new XYChart.Series<>();
             series.setName("Tickets vendus");
-            
-            Map<Match, Long> ticketsByMatch = tickets.stream()
-                    .filter(t -> t.getMatch() != null)
-                    .collect(Collectors.groupingBy(Ticket::getMatch, Collectors.counting()));
-            
-            ticketsByMatch.entrySet().stream()
-                    .sorted(Map.Entry.<Match, Long>comparingByValue().reversed())
-                    .limit(5)
-                    .forEach(entry -> {
-                        String label = entry.getKey().getEquipeDomicile().getNom().substring(0, 3) + " vs " +
-                                      entry.getKey().getEquipeExterieur().getNom().substring(0, 3);
-                        series.getData().add(new XYChart.Data<>(label, entry.getValue()));
-                    });
-            
+            stats.getMeilleuresVentes().forEach(ventes -> 
+                series.getData().add(new XYChart.Data<>(ventes.getLibelleCourt(), ventes.getNombreTickets())));
             chartTicketsByMatch.getData().add(series);
         }
     }
     
     private void refreshMatchs() {
-        matchsList.clear();
-        matchsList.addAll(matchService.getAllMatchs());
+        chargeur.charger("matchs", matchService::getResumesMatchs, matchsList::setAll);
     }
     
     private void refreshUtilisateurs() {
-        utilisateursList.clear();
-        utilisateursList.addAll(authService.getAllSpectateurs());
+        if (tableUtilisateurs != null) tableUtilisateurs.setItems(utilisateursList);
+        utilisateursList.rafraichir();
     }
     
     private void refreshTickets() {
-        ticketsList.clear();
-        ticketsList.addAll(ticketService.getAllTickets());
+        ticketsList.rafraichir();
     }
     
     private void refreshAlertes() {
-        alertesList.clear();
+        // Alertes récentes gardées en mémoire par le bus des alertes
+        alertesList.setAll(alerteService.getAlertesRecentes().stream()
+                .filter(this::estAlerteAffichee)
+                .collect(Collectors.toList()));
+        
+        chargeur.charger("alertesNonResolues", alerteService::compterAlertesActives, nombre -> {
+            alertesNonResolues = nombre;
+            afficherCompteursAlertes();
+        });
+        chargeur.charger("alertesUtilisateursNonLues", alerteService::compterAlertesUtilisateursNonLues, nombre -> {
+            alertesUtilisateursNonLues = nombre;
+            afficherCompteursAlertes();
+        });
         
-        if (afficherAlertesUtilisateurs) {
-            // Afficher uniquement les alertes des utilisateurs
-            alertesList.addAll(alerteService.getAlertesUtilisateurs());
-        } else {
-            // Afficher toutes les alertes
-            alertesList.addAll(alerteService.getAllAlertes());
+        hideDetailAlerteUtilisateur();
+    }
+    
+    /**
+     * Applique un changement publié par le bus des alertes : la ligne de
+     * l'alerte est ajoutée, remplacée ou retirée, et les compteurs ajustés.
+     * Appelé dans le thread JavaFX.
+     */
+    private void appliquerEvenementAlerte(EvenementAlerte evenement) {
+        Alerte alerte = evenement.getAlerte();
+        int index = -1;
+        for (int i = 0; i < alertesList.size(); i++) {
+            if (alertesList.get(i).getId().equals(alerte.getId())) {
+                index = i;
+                break;
+            }
         }
+        Alerte precedente = index >= 0 ? alertesList.get(index) : null;
         
-        long nonResolues = alerteService.compterAlertesActives();
+        switch (evenement.getType()) {
+            case CREEE:
+                if (!alerte.isResolue()) alertesNonResolues++;
+                if (alerte.estCreeeParUtilisateur() && !alerte.estLue()) alertesUtilisateursNonLues++;
+                break;
+            case LUE:
+            case RESOLUE:
+                if (alerte.isResolue() && (precedente == null || !precedente.isResolue())) {
+                    alertesNonResolues = Math.max(alertesNonResolues - 1, 0);
+                }
+                if (alerte.estCreeeParUtilisateur() && alerte.estLue() && (precedente == null || !precedente.estLue())) {
+                    alertesUtilisateursNonLues = Math.max(alertesUtilisateursNonLues - 1, 0);
+                }
+                break;
+            default:
+                break;
+        }
+        
+        if (!estAlerteAffichee(alerte)) {
+            if (index >= 0) alertesList.remove(index);
+        } else if (index >= 0) {
+            alertesList.set(index, alerte);
+        } else if (evenement.getType() == EvenementAlerte.Type.CREEE) {
+            alertesList.add(0, alerte);
+        }
+        afficherCompteursAlertes();
+    }
+    
+    private boolean estAlerteAffichee(Alerte alerte) {
+        return !afficherAlertesUtilisateurs || alerte.estCreeeParUtilisateur();
+    }
+    
+    private void afficherCompteursAlertes() {
         if (lblAlertesNonResolues != null) {
-            lblAlertesNonResolues.setText(nonResolues + " alerte(s) non résolue(s)");
+            lblAlertesNonResolues.setText(alertesNonResolues + " alerte(s) non résolue(s)");
         }
         
         // Compteur des alertes utilisateurs non lues
-        long alertesUtilisateursNonLues = alerteService.compterAlertesUtilisateursNonLues();
         if (lblAlertesUtilisateurs != null) {
             if (alertesUtilisateursNonLues > 0) {
                 lblAlertesUtilisateurs.setText("🔔 " + alertesUtilisateursNonLues + " message(s) utilisateur(s)");
@@ -580,8 +645,6 @@ public class AdminDashboardController extends BaseController implements Initiali
                 lblAlertesUtilisateurs.setText("");
             }
         }
-        
-        hideDetailAlerteUtilisateur();
     }
     
     @FXML
@@ -609,13 +672,54 @@ public class AdminDashboardController extends BaseController implements Initiali
     }
     
     private void refreshRapports() {
-        rapportsList.clear();
-        rapportsList.addAll(rapportService.getAllRapports());
+        chargeur.charger("rapports", rapportService::getAllRapports, rapportsList::setAll);
     }
     
     private void refreshFlux() {
-        // Pour l'instant, afficher tous les flux
-        // Dans une vraie implémentation, filtrer par match en cours
+        chargeur.charger("flux", this::chargerOccupation, this::afficherOccupation);
+    }
+    
+    /**
+     * Lit l'occupation de la dernière heure pour chaque match suivi, d'après
+     * l'historique (hors du thread JavaFX)
+     */
+    private Map<String, List<PointFluxDTO>> chargerOccupation() {
+        LocalDateTime fin = LocalDateTime.now();
+        LocalDateTime debut = fin.minusHours(1);
+        Map<String, List<PointFluxDTO>> series = new LinkedHashMap<>();
+        for (Long matchId : fluxService.getMatchsSuivis(debut, fin)) {
+            List<PointFluxDTO> points = fluxService.getSerieOccupation(matchId, debut, fin);
+            if (points.isEmpty()) continue;
+            series.put(matchService.findById(matchId).map(Match::getLibelleMatch).orElse("Match " + matchId), points);
+        }
+        return series;
+    }
+    
+    private void afficherOccupation(Map<String, List<PointFluxDTO>> series) {
+        DateTimeFormatter formatHeure = DateTimeFormatter.ofPattern("HH:mm");
+        long occupation = 0;
+        long capacite = 0;
+        
+        if (chartOccupationFlux != null) chartOccupationFlux.getData().clear();
+        for (Map.Entry<String, List<PointFluxDTO>> entry : series.entrySet()) {
+            List<PointFluxDTO> points = entry.getValue();
+            PointFluxDTO dernier = points.get(points.size() - 1);
+            occupation += Math.round(dernier.getOccupation());
+            capacite += dernier.getCapacite();
+            
+            if (chartOccupationFlux != null) {
+                XYChart.Series<String, Number> serie = new XYChart.Series<>();
+                serie.setName(entry.getKey());
+                for (PointFluxDTO point : points) {
+                    serie.getData().add(new XYChart.Data<>(point.getDebut().format(formatHeure), point.getDensite()));
+                }
+                chartOccupationFlux.getData().add(serie);
+            }
+        }
+        
+        double taux = capacite > 0 ? (double) occupation / capacite : 0;
+        if (progressOccupation != null) progressOccupation.setProgress(taux);
+        if (lblOccupationGlobale != null) lblOccupationGlobale.setText(String.format("%.1f%%", taux * 100));
     }
     
     // ===== ACTIONS UTILISATEURS =====
@@ -624,7 +728,7 @@ public class AdminDashboardController extends BaseController implements Initiali
      * Affiche les tickets d'un utilisateur dans une popup
      */
     private void showTicketsUtilisateur(Spectateur spectateur) {
-        List<Ticket> tickets = ticketService.getTicketsBySpectateur(spectateur.getId());
+        List<TicketLigneDTO> tickets = ticketService.getLignesTicketsSpectateur(spectateur.getId());
         
         // Créer une boîte de dialogue personnalisée
         Dialog<Void> dialog = new Dialog<>();
@@ -632,34 +736,27 @@ public class AdminDashboardController extends BaseController implements Initiali
         dialog.setHeaderText("Liste des tickets achetés par " + spectateur.getEmail());
         
         // Créer un TableView pour les tickets
-        TableView<Ticket> ticketTable = new TableView<>();
+        TableView<TicketLigneDTO> ticketTable = new TableView<>();
         ticketTable.setPrefHeight(300);
         ticketTable.setPrefWidth(600);
         
-        TableColumn<Ticket, String> colCode = new TableColumn<>("Code");
+        TableColumn<TicketLigneDTO, String> colCode = new TableColumn<>("Code");
         colCode.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getCodeQR()));
         colCode.setPrefWidth(150);
         
-        TableColumn<Ticket, String> colMatch = new TableColumn<>("Match");
-        colMatch.setCellValueFactory(data -> {
-            Ticket t = data.getValue();
-            if (t.getMatch() != null) {
-                return new SimpleStringProperty(t.getMatch().getEquipeDomicile().getNom() + 
-                    " vs " + t.getMatch().getEquipeExterieur().getNom());
-            }
-            return new SimpleStringProperty("");
-        });
+        TableColumn<TicketLigneDTO, String> colMatch = new TableColumn<>("Match");
+        colMatch.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getLibelleMatch()));
         colMatch.setPrefWidth(180);
         
-        TableColumn<Ticket, String> colCateg = new TableColumn<>("Catégorie");
+        TableColumn<TicketLigneDTO, String> colCateg = new TableColumn<>("Catégorie");
         colCateg.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getCategorie().name()));
         colCateg.setPrefWidth(100);
         
-        TableColumn<Ticket, String> colPrix = new TableColumn<>("Prix");
+        TableColumn<TicketLigneDTO, String> colPrix = new TableColumn<>("Prix");
         colPrix.setCellValueFactory(data -> new SimpleStringProperty(formatMontant(data.getValue().getPrix())));
         colPrix.setPrefWidth(80);
         
-        TableColumn<Ticket, String> colStatut = new TableColumn<>("Statut");
+        TableColumn<TicketLigneDTO, String> colStatut = new TableColumn<>("Statut");
         colStatut.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getStatut().name()));
         colStatut.setPrefWidth(90);
         
@@ -667,7 +764,7 @@ public class AdminDashboardController extends BaseController implements Initiali
         ticketTable.setItems(FXCollections.observableArrayList(tickets));
         
         // Info résumé
-        double totalDepense = tickets.stream().mapToDouble(Ticket::getPrix).sum();
+        double totalDepense = tickets.stream().mapToDouble(TicketLigneDTO::getPrix).sum();
         Label lblResume = new Label(String.format("Total: %d ticket(s) - Dépense totale: %s", 
             tickets.size(), formatMontant(totalDepense)));
         lblResume.setStyle("-fx-font-weight: bold; -fx-padding: 10 0 0 0;");
@@ -808,7 +905,7 @@ public class AdminDashboardController extends BaseController implements Initiali
     
     @FXML
     private void handleModifierMatch() {
-        Match selected = tableMatchs.getSelectionModel().getSelectedItem();
+        MatchResumeDTO selected = tableMatchs.getSelectionModel().getSelectedItem();
         if (selected == null) {
             showWarning("Sélection requise", "Veuillez sélectionner un match à modifier.");
             return;
@@ -818,7 +915,7 @@ public class AdminDashboardController extends BaseController implements Initiali
     
     @FXML
     private void handleSupprimerMatch() {
-        Match selected = tableMatchs.getSelectionModel().getSelectedItem();
+        MatchResumeDTO selected = tableMatchs.getSelectionModel().getSelectedItem();
         if (selected == null) {
             showWarning("Sélection requise", "Veuillez sélectionner un match à supprimer.");
             return;
@@ -842,14 +939,10 @@ public class AdminDashboardController extends BaseController implements Initiali
             return;
         }
         
-        List<Match> filtered = matchService.getAllMatchs().stream()
-                .filter(m -> m.getEquipeDomicile().getNom().toLowerCase().contains(search) ||
-                            m.getEquipeExterieur().getNom().toLowerCase().contains(search) ||
+        chargeur.charger("matchs", () -> matchService.getResumesMatchs().stream()
+                .filter(m -> m.getLibelleMatch().toLowerCase().contains(search) ||
                             m.getStade().toLowerCase().contains(search))
-                .collect(Collectors.toList());
-        
-        matchsList.clear();
-        matchsList.addAll(filtered);
+                .collect(Collectors.toList()), matchsList::setAll);
     }
     
     // ===== ACTIONS ALERTES =====
@@ -878,7 +971,6 @@ public class AdminDashboardController extends BaseController implements Initiali
             if (currentUser instanceof Administrateur) {
                 alerteService.resoudreAlerte(selected.getId(), (Administrateur) currentUser, solution);
             }
-            refreshAlertes();
             showSuccess("Succès", "Alerte résolue avec succès.");
         });
     }
@@ -903,7 +995,6 @@ public class AdminDashboardController extends BaseController implements Initiali
         
         if (currentUser instanceof Administrateur) {
             alerteService.marquerCommeLue(selected.getId(), (Administrateur) currentUser);
-            refreshAlertes();
             showSuccess("Succès", "L'alerte a été marquée comme lue.");
         }
     }
@@ -987,7 +1078,6 @@ public class AdminDashboardController extends BaseController implements Initiali
             
             if (currentUser instanceof Administrateur) {
                 alerteService.repondreAlerte(selected.getId(), (Administrateur) currentUser, reponse);
-                refreshAlertes();
                 showSuccess("Réponse envoyée", "Votre réponse a été envoyée à l'utilisateur.");
             }
         });
@@ -1003,14 +1093,9 @@ public class AdminDashboardController extends BaseController implements Initiali
             return;
         }
         
-        List<Spectateur> filtered = authService.getAllSpectateurs().stream()
-                .filter(s -> s.getNom().toLowerCase().contains(search) ||
-                            s.getPrenom().toLowerCase().contains(search) ||
-                            s.getEmail().toLowerCase().contains(search))
-                .collect(Collectors.toList());
-        
-        utilisateursList.clear();
-        utilisateursList.addAll(filtered);
+        // Recherche faite par la base ; les résultats remplacent la liste paginée
+        chargeur.charger("rechercheUtilisateurs", () -> authService.rechercherSpectateurs(search, RESULTATS_RECHERCHE_MAX),
+                resultats -> tableUtilisateurs.setItems(FXCollections.observableArrayList(resultats)));
     }
     
     @FXML
@@ -1066,9 +1151,10 @@ public class AdminDashboardController extends BaseController implements Initiali
                         admin, debut.atStartOfDay(), fin.atTime(23, 59, 59));
                 break;
             case "Rapport par match":
-                Match selectedMatch = tableMatchs.getSelectionModel().getSelectedItem();
-                if (selectedMatch != null) {
-                    rapport = rapportService.genererRapportMatch(admin, selectedMatch);
+                MatchResumeDTO selectedMatch = tableMatchs.getSelectionModel().getSelectedItem();
+                Optional<Match> match = selectedMatch != null ? matchService.findById(selectedMatch.getId()) : Optional.empty();
+                if (match.isPresent()) {
+                    rapport = rapportService.genererRapportMatch(admin, match.get());
                 } else {
                     showWarning("Match requis", "Veuillez sélectionner un match pour ce type de rapport.");
                     return;
@@ -1107,4 +1193,10 @@ public class AdminDashboardController extends BaseController implements Initiali
     private void handleDeconnexionAdmin(ActionEvent event) {
         handleDeconnexion(event);
     }
+    
+    @Override
+    protected void onDeconnexion() {
+        alerteService.desabonner(abonneAlertes);
+        chargeur.annulerTout();
+    }
 }
@@ -42,6 +42,15 @@ public abstract class BaseController {
         // Par défaut, ne fait rien
     }
     
+    /**
+     * Méthode appelée quand l'utilisateur confirme sa déconnexion, avant le
+     * retour à l'écran de connexion.
+     * À surcharger dans les sous-classes si nécessaire.
+     */
+    protected void onDeconnexion() {
+        // Par défaut, ne fait rien
+    }
+    
     /**
      * Récupère l'utilisateur courant
      */
@@ -88,6 +97,7 @@ public abstract class BaseController {
         
         if (result.isPresent() && result.get() == ButtonType.OK) {
             logger.info("Déconnexion de l'utilisateur: {}", currentUser.getEmail());
+            onDeconnexion();
             currentUser = null;
             
             try {
@@ -0,0 +1,135 @@
+package com.mondial2030.controller;
+
+import com.mondial2030.util.ConfigUtil;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Chargement des données d'un tableau de bord hors du thread JavaFX.
+ * Chaque chargement porte une clé (« matchs », « tickets »...) :
+ * les demandes faites pour une même clé pendant un même traitement
+ * d'événement sont regroupées en un seul chargement, et un chargement
+ * encore en cours est annulé par la demande suivante de même clé.
+ * Seul le résultat du dernier chargement est appliqué, dans le thread
+ * JavaFX. Toutes les méthodes s'appellent depuis le thread JavaFX.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class ChargeurDonnees {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChargeurDonnees.class);
+
+    // Threads partagés par tous les tableaux de bord, au plus un par connexion de lecture
+    private static final ExecutorService executeur = creerExecuteur();
+
+    // Demandes pas encore lancées, par clé : seule la dernière de chaque clé compte
+    private final Map<String, Demande<?>> demandes = new LinkedHashMap<>();
+    private final Map<String, Task<?>> chargementsEnCours = new HashMap<>();
+    private final ReadOnlyBooleanWrapper enCours = new ReadOnlyBooleanWrapper(false);
+
+    private static ExecutorService creerExecuteur() {
+        int threads = Math.max(ConfigUtil.getInt("javafx.chargement.threads",
+                ConfigUtil.getInt("db.pool.lecteurs", 4)), 1);
+        AtomicInteger numero = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "chargement-ui-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Demande un chargement : chargement s'exécute en arrière-plan, puis
+     * application reçoit son résultat dans le thread JavaFX
+     */
+    public <T> void charger(String cle, Callable<T> chargement, Consumer<T> application) {
+        if (demandes.put(cle, new Demande<>(chargement, application)) == null) {
+            // Les demandes suivantes du même événement remplacent celle-ci
+            Platform.runLater(() -> lancer(cle));
+        }
+    }
+
+    /**
+     * Vrai tant qu'au moins un chargement est en cours
+     */
+    public ReadOnlyBooleanProperty enCoursProperty() {
+        return enCours.getReadOnlyProperty();
+    }
+
+    /**
+     * Annule les demandes et les chargements en cours (fermeture du tableau de bord)
+     */
+    public void annulerTout() {
+        demandes.clear();
+        chargementsEnCours.values().forEach(Task::cancel);
+        chargementsEnCours.clear();
+        enCours.set(false);
+    }
+
+    private void lancer(String cle) {
+        Demande<?> demande = demandes.remove(cle);
+        if (demande == null) {
+            return;
+        }
+        Task<?> precedent = chargementsEnCours.remove(cle);
+        if (precedent != null) {
+            precedent.cancel();
+        }
+        Task<?> tache = demande.creerTache(cle);
+        chargementsEnCours.put(cle, tache);
+        enCours.set(true);
+        executeur.execute(tache);
+    }
+
+    private void terminer(String cle, Task<?> tache) {
+        if (chargementsEnCours.get(cle) == tache) {
+            chargementsEnCours.remove(cle);
+            enCours.set(!chargementsEnCours.isEmpty());
+        }
+    }
+
+    /**
+     * Chargement demandé et traitement de son résultat
+     */
+    private final class Demande<T> {
+        private final Callable<T> chargement;
+        private final Consumer<T> application;
+
+        private Demande(Callable<T> chargement, Consumer<T> application) {
+            this.chargement = chargement;
+            this.application = application;
+        }
+
+        private Task<T> creerTache(String cle) {
+            Task<T> tache = new Task<>() {
+                @Override
+                protected T call() throws Exception {
+                    return chargement.call();
+                }
+            };
+            tache.setOnSucceeded(e -> {
+                terminer(cle, tache);
+                application.accept(tache.getValue());
+            });
+            tache.setOnFailed(e -> {
+                terminer(cle, tache);
+                logger.error("Erreur lors du chargement des données: {}", cle, tache.getException());
+            });
+            return tache;
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.mondial2030.controller;
+
+import com.mondial2030.dao.interfaces.GenericDAO;
+import com.mondial2030.util.ConfigUtil;
+import javafx.collections.ObservableListBase;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Liste paginée pour les TableView de grande taille.
+ * La liste annonce le nombre total de lignes mais ne garde en mémoire que
+ * les dernières pages lues (javafx.pagination.pages pages de
+ * javafx.pagination.taille lignes) : une ligne dont la page n'est pas
+ * chargée vaut null, et sa page est lue en arrière-plan par
+ * ChargeurDonnees. Les pages sont lues par clé (GenericDAO.findPage, ou une
+ * projection DTO ordonnée de la même façon) à partir de la dernière ligne de
+ * la page précédente ; la page suivante est lue dès que la moitié de la page
+ * courante est affichée.
+ * La liste n'est utilisée que dans le thread JavaFX et n'est pas modifiable.
+ *
+ * @param <T> Type des lignes (entité ou DTO)
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class ListePaginee<T> extends ObservableListBase<T> {
+
+    private final String nom;
+    private final GenericDAO<?, Long> dao;
+    private final LecturePage<T> lecture;
+    private final GenericDAO.Tri tri;
+    private final Function<T, Long> identifiant;
+    private final ChargeurDonnees chargeur;
+    private final int taillePage;
+
+    // Pages chargées, de la moins à la plus récemment lue
+    private final Map<Integer, List<T>> pages;
+    // Identifiant après lequel commence chaque page, quand il est connu (null pour la première)
+    private final Map<Integer, Long> bornes = new HashMap<>();
+    private final Set<Integer> pagesEnCours = new HashSet<>();
+
+    private int taille;
+    // Incrémentée à chaque rafraîchissement : les pages d'une génération précédente sont ignorées
+    private int generation;
+
+    /**
+     * Lecture d'une page de lignes par clé, dans l'ordre des identifiants
+     */
+    @FunctionalInterface
+    public interface LecturePage<T> {
+        List<T> lire(Long apresId, int limite, GenericDAO.Tri tri);
+    }
+
+    /**
+     * Liste d'entités lues par GenericDAO.findPage
+     */
+    public ListePaginee(String nom, GenericDAO<T, Long> dao, GenericDAO.Tri tri,
+                        Function<T, Long> identifiant, ChargeurDonnees chargeur) {
+        this(nom, dao, dao::findPage, tri, identifiant, chargeur);
+    }
+
+    /**
+     * Liste de lignes lues par une projection ; le DAO de l'entité sert au
+     * comptage et à la recherche d'une borne par rang, la projection doit donc
+     * renvoyer une ligne par entité, ordonnée par identifiant
+     */
+    public ListePaginee(String nom, GenericDAO<?, Long> dao, LecturePage<T> lecture, GenericDAO.Tri tri,
+                        Function<T, Long> identifiant, ChargeurDonnees chargeur) {
+        this.nom = nom;
+        this.dao = dao;
+        this.lecture = lecture;
+        this.tri = tri;
+        this.identifiant = identifiant;
+        this.chargeur = chargeur;
+        this.taillePage = Math.max(ConfigUtil.getInt("javafx.pagination.taille", 100), 1);
+        int pagesMax = Math.max(ConfigUtil.getInt("javafx.pagination.pages", 10), 2);
+        this.pages = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, List<T>> eldest) {
+                return size() > pagesMax;
+            }
+        };
+    }
+
+    /**
+     * Relit le nombre de lignes et oublie les pages chargées ; les lignes
+     * affichées sont relues à leur prochain affichage
+     */
+    public void rafraichir() {
+        chargeur.charger(nom + ":taille", dao::count, nouvelleTaille -> {
+            generation++;
+            pages.clear();
+            bornes.clear();
+            bornes.put(0, null);
+            pagesEnCours.clear();
+
+            int ancienneTaille = taille;
+            taille = (int) Math.min(nouvelleTaille, Integer.MAX_VALUE);
+            if (ancienneTaille > 0 || taille > 0) {
+                beginChange();
+                nextReplace(0, taille, Collections.<T>nCopies(ancienneTaille, null));
+                endChange();
+            }
+        });
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= taille) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", taille: " + taille);
+        }
+        int numero = index / taillePage;
+        int position = index % taillePage;
+        List<T> page = pages.get(numero);
+        if (page == null) {
+            demanderPage(numero);
+            return null;
+        }
+        if (position >= taillePage / 2) {
+            demanderPage(numero + 1);
+        }
+        return position < page.size() ? page.get(position) : null;
+    }
+
+    @Override
+    public int size() {
+        return taille;
+    }
+
+    /**
+     * Recherche limitée aux pages chargées : une ligne non chargée n'est pas affichée
+     */
+    @Override
+    public int indexOf(Object o) {
+        for (Map.Entry<Integer, List<T>> page : pages.entrySet()) {
+            int position = page.getValue().indexOf(o);
+            if (position >= 0) {
+                return page.getKey() * taillePage + position;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private void demanderPage(int numero) {
+        if ((long) numero * taillePage >= taille || pages.containsKey(numero) || !pagesEnCours.add(numero)) {
+            return;
+        }
+        int generationDemande = generation;
+        boolean borneConnue = bornes.containsKey(numero);
+        Long borne = bornes.get(numero);
+        chargeur.charger(nom + ":" + numero, () -> {
+            // Page atteinte sans lire la précédente : borne retrouvée par son rang
+            Long apresId = borneConnue ? borne
+                    : dao.findIdAuRang((long) numero * taillePage - 1, tri).orElse(null);
+            if (!borneConnue && apresId == null) {
+                return Collections.<T>emptyList();
+            }
+            return lecture.lire(apresId, taillePage, tri);
+        }, page -> appliquerPage(generationDemande, numero, page));
+    }
+
+    private void appliquerPage(int generationDemande, int numero, List<T> page) {
+        if (generationDemande != generation) {
+            return;
+        }
+        pagesEnCours.remove(numero);
+        pages.put(numero, page);
+        if (!page.isEmpty()) {
+            bornes.put(numero + 1, identifiant.apply(page.get(page.size() - 1)));
+        }
+
+        int debut = numero * taillePage;
+        int fin = Math.min(debut + taillePage, taille);
+        if (debut < fin) {
+            beginChange();
+            nextReplace(debut, fin, Collections.<T>nCopies(fin - debut, null));
+            endChange();
+        }
+    }
+}
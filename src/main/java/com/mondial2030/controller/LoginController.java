@@ -4,6 +4,7 @@ import com.mondial2030.entity.Utilisateur;
 import com.mondial2030.entity.Administrateur;
 import com.mondial2030.entity.Spectateur;
 import com.mondial2030.service.AuthenticationService;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
@@ -20,6 +21,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletionException;
 
 /**
  * Contrôleur pour la vue de connexion et d'inscription.
@@ -93,8 +95,30 @@ public class LoginController implements Initializable {
             return;
         }
         
-        // Tentative de connexion
-        Optional<Utilisateur> userOpt = authService.authentifier(email, password);
+        // Tentative de connexion, vérifiée hors du thread JavaFX
+        btnConnexion.setDisable(true);
+        authService.authentifierAsync(email, password).whenComplete((userOpt, erreur) ->
+                Platform.runLater(() -> terminerConnexion(userOpt, erreur)));
+    }
+    
+    /**
+     * Applique le résultat d'une tentative de connexion (thread JavaFX)
+     */
+    private void terminerConnexion(Optional<Utilisateur> userOpt, Throwable erreur) {
+        btnConnexion.setDisable(false);
+        if (erreur != null) {
+            Throwable cause = erreur instanceof CompletionException && erreur.getCause() != null
+                    ? erreur.getCause() : erreur;
+            if (cause instanceof IllegalStateException) {
+                // Tentatives trop nombreuses ou vérifications saturées
+                logger.warn("Connexion refusée: {}", cause.getMessage());
+                showError(lblError, cause.getMessage());
+            } else {
+                logger.error("Erreur lors de l'authentification", cause);
+                showError(lblError, "Connexion momentanément indisponible, veuillez réessayer.");
+            }
+            return;
+        }
         
         if (userOpt.isPresent()) {
             Utilisateur user = userOpt.get();
@@ -150,11 +174,6 @@ public class LoginController implements Initializable {
         }
         
         // Tentative d'inscription
-        System.out.println("=== DEBUG INSCRIPTION ===");
-        System.out.println("Nom: " + nom + ", Prenom: " + prenom);
-        System.out.println("Email: " + email);
-        System.out.println("Password length: " + password.length());
-        
         Spectateur spectateur = new Spectateur();
         spectateur.setNom(nom);
         spectateur.setPrenom(prenom);
@@ -164,8 +183,6 @@ public class LoginController implements Initializable {
         spectateur.setActif(true);
         
         boolean inscriptionReussie = authService.inscrireSpectateur(spectateur);
-        System.out.println("Inscription réussie: " + inscriptionReussie);
-        System.out.println("=========================");
         
         if (inscriptionReussie) {
             logger.info("Inscription réussie pour: {}", email);
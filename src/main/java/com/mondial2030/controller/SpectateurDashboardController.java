@@ -1,5 +1,8 @@
 package com.mondial2030.controller;
 
+import com.mondial2030.dto.AlerteLigneDTO;
+import com.mondial2030.dto.MatchResumeDTO;
+import com.mondial2030.dto.TicketLigneDTO;
 import com.mondial2030.entity.*;
 import com.mondial2030.service.*;
 import javafx.beans.property.SimpleStringProperty;
@@ -35,9 +38,13 @@ public class SpectateurDashboardController extends BaseController implements Ini
     private final TicketService ticketService = TicketService.getInstance();
     private final AlerteService alerteService = AlerteService.getInstance();
     
+    // Chargement des données hors du thread JavaFX
+    private final ChargeurDonnees chargeur = new ChargeurDonnees();
+    
     // ===== COMPOSANTS HEADER =====
     @FXML private Label lblUserName;
     @FXML private Label lblWelcome;
+    @FXML private ProgressIndicator indicateurChargement;
     
     // ===== COMPOSANTS NAVIGATION =====
     @FXML private Button btnAccueil;
@@ -61,15 +68,15 @@ public class SpectateurDashboardController extends BaseController implements Ini
     @FXML private Label lblProchainMatch;
     @FXML private Label lblNbTickets;
     @FXML private VBox prochainMatchCard;
-    @FXML private ListView<Match> listMatchsAVenir;
+    @FXML private ListView<MatchResumeDTO> listMatchsAVenir;
     
     // ===== LISTE DES MATCHS =====
-    @FXML private TableView<Match> tableMatchs;
-    @FXML private TableColumn<Match, String> colMatchEquipes;
-    @FXML private TableColumn<Match, String> colMatchDate;
-    @FXML private TableColumn<Match, String> colMatchStade;
-    @FXML private TableColumn<Match, String> colMatchPhase;
-    @FXML private TableColumn<Match, String> colMatchDisponibilite;
+    @FXML private TableView<MatchResumeDTO> tableMatchs;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchEquipes;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchDate;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchStade;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchPhase;
+    @FXML private TableColumn<MatchResumeDTO, String> colMatchDisponibilite;
     @FXML private TextField txtSearchMatch;
     @FXML private ComboBox<PhaseMatch> cmbFilterPhase;
     @FXML private DatePicker dpFilterDate;
@@ -94,13 +101,13 @@ public class SpectateurDashboardController extends BaseController implements Ini
     private Match selectedMatch;
     
     // ===== MES TICKETS =====
-    @FXML private TableView<Ticket> tableMesTickets;
-    @FXML private TableColumn<Ticket, String> colTicketCode;
-    @FXML private TableColumn<Ticket, String> colTicketMatch;
-    @FXML private TableColumn<Ticket, String> colTicketDate;
-    @FXML private TableColumn<Ticket, String> colTicketZone;
-    @FXML private TableColumn<Ticket, String> colTicketSiege;
-    @FXML private TableColumn<Ticket, String> colTicketStatut;
+    @FXML private TableView<TicketLigneDTO> tableMesTickets;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketCode;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketMatch;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketDate;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketZone;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketSiege;
+    @FXML private TableColumn<TicketLigneDTO, String> colTicketStatut;
     @FXML private ImageView imgQRCode;
     @FXML private Label lblTicketDetails;
     @FXML private Label lblTicketCode;
@@ -121,12 +128,12 @@ public class SpectateurDashboardController extends BaseController implements Ini
     @FXML private TableColumn<Transaction, String> colHistReference;
     
     // ===== MES ALERTES =====
-    @FXML private TableView<Alerte> tableMesAlertes;
-    @FXML private TableColumn<Alerte, String> colMesAlertesDate;
-    @FXML private TableColumn<Alerte, String> colMesAlertesTitre;
-    @FXML private TableColumn<Alerte, String> colMesAlertesType;
-    @FXML private TableColumn<Alerte, String> colMesAlertesStatut;
-    @FXML private TableColumn<Alerte, String> colMesAlertesReponse;
+    @FXML private TableView<AlerteLigneDTO> tableMesAlertes;
+    @FXML private TableColumn<AlerteLigneDTO, String> colMesAlertesDate;
+    @FXML private TableColumn<AlerteLigneDTO, String> colMesAlertesTitre;
+    @FXML private TableColumn<AlerteLigneDTO, String> colMesAlertesType;
+    @FXML private TableColumn<AlerteLigneDTO, String> colMesAlertesStatut;
+    @FXML private TableColumn<AlerteLigneDTO, String> colMesAlertesReponse;
     @FXML private VBox detailAlertePane;
     @FXML private Label lblDetailMessage;
     @FXML private HBox reponseAdminBox;
@@ -143,11 +150,11 @@ public class SpectateurDashboardController extends BaseController implements Ini
     @FXML private PasswordField txtConfirmPassword;
     
     // Listes observables
-    private ObservableList<Match> matchsList = FXCollections.observableArrayList();
-    private ObservableList<Ticket> ticketsList = FXCollections.observableArrayList();
+    private ObservableList<MatchResumeDTO> matchsList = FXCollections.observableArrayList();
+    private ObservableList<TicketLigneDTO> ticketsList = FXCollections.observableArrayList();
     private ObservableList<Transaction> transactionsList = FXCollections.observableArrayList();
     private ObservableList<Zone> zonesList = FXCollections.observableArrayList();
-    private ObservableList<Alerte> mesAlertesList = FXCollections.observableArrayList();
+    private ObservableList<AlerteLigneDTO> mesAlertesList = FXCollections.observableArrayList();
     
     @Override
     public void initialize(URL url, ResourceBundle resourceBundle) {
@@ -169,6 +176,11 @@ public class SpectateurDashboardController extends BaseController implements Ini
             spinnerQuantite.valueProperty().addListener((obs, oldVal, newVal) -> updatePrixTotal());
         }
         
+        // Indicateur visible pendant les chargements
+        if (indicateurChargement != null) {
+            indicateurChargement.visibleProperty().bind(chargeur.enCoursProperty());
+        }
+        
         // Afficher l'accueil par défaut
         showPane(accueilPane);
     }
@@ -194,28 +206,25 @@ public class SpectateurDashboardController extends BaseController implements Ini
     private void initializeMatchsTable() {
         if (tableMatchs == null) return;
         
-        colMatchEquipes.setCellValueFactory(cellData -> {
-            Match m = cellData.getValue();
-            String equipes = m.getEquipeDomicile().getNom() + " vs " + m.getEquipeExterieur().getNom();
-            return new SimpleStringProperty(equipes);
-        });
+        colMatchEquipes.setCellValueFactory(cellData -> 
+            new SimpleStringProperty(cellData.getValue().getLibelleMatch()));
         colMatchDate.setCellValueFactory(cellData -> 
             new SimpleStringProperty(formatDate(cellData.getValue().getDateHeure())));
         colMatchStade.setCellValueFactory(new PropertyValueFactory<>("stade"));
         colMatchPhase.setCellValueFactory(cellData -> 
             new SimpleStringProperty(cellData.getValue().getPhase().name().replace("_", " ")));
         colMatchDisponibilite.setCellValueFactory(cellData -> {
-            Match m = cellData.getValue();
+            MatchResumeDTO m = cellData.getValue();
             int dispo = m.getPlacesDisponibles();
             return new SimpleStringProperty(dispo > 0 ? dispo + " places" : "Complet");
         });
         
         // Double-clic pour voir les détails
         tableMatchs.setRowFactory(tv -> {
-            TableRow<Match> row = new TableRow<>();
+            TableRow<MatchResumeDTO> row = new TableRow<>();
             row.setOnMouseClicked(event -> {
                 if (event.getClickCount() == 2 && !row.isEmpty()) {
-                    showDetailMatch(row.getItem());
+                    ouvrirDetailMatch(row.getItem().getId());
                 }
             });
             return row;
@@ -228,34 +237,17 @@ public class SpectateurDashboardController extends BaseController implements Ini
         if (tableMesTickets == null) return;
         
         colTicketCode.setCellValueFactory(new PropertyValueFactory<>("codeQR"));
-        colTicketMatch.setCellValueFactory(cellData -> {
-            Ticket t = cellData.getValue();
-            if (t.getMatch() != null) {
-                return new SimpleStringProperty(t.getMatch().getEquipeDomicile().getNom() + " vs " + 
-                    t.getMatch().getEquipeExterieur().getNom());
-            }
-            return new SimpleStringProperty("");
-        });
-        colTicketDate.setCellValueFactory(cellData -> {
-            Ticket t = cellData.getValue();
-            if (t.getMatch() != null) {
-                return new SimpleStringProperty(formatDate(t.getMatch().getDateHeure()));
-            }
-            return new SimpleStringProperty("");
-        });
+        colTicketMatch.setCellValueFactory(cellData -> 
+            new SimpleStringProperty(cellData.getValue().getLibelleMatch()));
+        colTicketDate.setCellValueFactory(cellData -> 
+            new SimpleStringProperty(formatDate(cellData.getValue().getDateMatch())));
         colTicketZone.setCellValueFactory(cellData -> {
-            Ticket t = cellData.getValue();
-            if (t.getZone() != null) {
-                return new SimpleStringProperty(t.getZone().getNom());
-            }
-            return new SimpleStringProperty("");
+            String zone = cellData.getValue().getZone();
+            return new SimpleStringProperty(zone != null ? zone : "");
         });
         colTicketSiege.setCellValueFactory(cellData -> {
-            Ticket t = cellData.getValue();
-            if (t.getSiege() != null) {
-                return new SimpleStringProperty(t.getSiege().getNumero());
-            }
-            return new SimpleStringProperty("Non assigné");
+            String siege = cellData.getValue().getSiege();
+            return new SimpleStringProperty(siege != null ? siege : "Non assigné");
         });
         colTicketStatut.setCellValueFactory(cellData -> 
             new SimpleStringProperty(cellData.getValue().getStatut().name()));
@@ -300,7 +292,7 @@ public class SpectateurDashboardController extends BaseController implements Ini
             return new SimpleStringProperty(type != null ? type.getLibelle() : "");
         });
         colMesAlertesStatut.setCellValueFactory(cellData -> {
-            Alerte a = cellData.getValue();
+            AlerteLigneDTO a = cellData.getValue();
             String statut;
             if (a.aReponse()) {
                 statut = "✅ Répondu";
@@ -330,7 +322,7 @@ public class SpectateurDashboardController extends BaseController implements Ini
         );
     }
     
-    private void showDetailAlerte(Alerte alerte) {
+    private void showDetailAlerte(AlerteLigneDTO alerte) {
         if (detailAlertePane != null) {
             detailAlertePane.setVisible(true);
             detailAlertePane.setManaged(true);
@@ -483,55 +475,55 @@ public class SpectateurDashboardController extends BaseController implements Ini
     }
     
     private void refreshAccueil() {
-        Spectateur spectateur = (Spectateur) currentUser;
+        Long spectateurId = currentUser.getId();
         
         // Nombre de tickets - utiliser le service au lieu de la collection lazy
         if (lblNbTickets != null) {
-            List<Ticket> tickets = ticketService.getTicketsSpectateur(spectateur.getId());
-            int nbTickets = tickets != null ? tickets.size() : 0;
-            lblNbTickets.setText(nbTickets + " ticket(s)");
-        }
-        
-        // Prochain match
-        List<Match> matchsAVenir = matchService.getMatchsAVenir();
-        if (lblProchainMatch != null && !matchsAVenir.isEmpty()) {
-            Match prochain = matchsAVenir.get(0);
-            lblProchainMatch.setText(prochain.getEquipeDomicile().getNom() + " vs " + 
-                prochain.getEquipeExterieur().getNom() + "\n" +
-                formatDate(prochain.getDateHeure()));
+            chargeur.charger("nombreTickets", () -> ticketService.compterTicketsSpectateur(spectateurId),
+                nbTickets -> lblNbTickets.setText(nbTickets + " ticket(s)"));
         }
         
-        // Liste des matchs à venir
-        if (listMatchsAVenir != null) {
-            listMatchsAVenir.setItems(FXCollections.observableArrayList(
-                matchsAVenir.stream().limit(5).collect(Collectors.toList())
-            ));
-        }
+        chargeur.charger("matchsAVenir", matchService::getResumesMatchsAVenir, matchsAVenir -> {
+            // Prochain match
+            if (lblProchainMatch != null && !matchsAVenir.isEmpty()) {
+                MatchResumeDTO prochain = matchsAVenir.get(0);
+                lblProchainMatch.setText(prochain.getLibelleMatch() + "\n" +
+                    formatDate(prochain.getDateHeure()));
+            }
+            
+            // Liste des matchs à venir
+            if (listMatchsAVenir != null) {
+                listMatchsAVenir.setItems(FXCollections.observableArrayList(
+                    matchsAVenir.stream().limit(5).collect(Collectors.toList())
+                ));
+            }
+        });
     }
     
     private void refreshMatchs() {
-        matchsList.clear();
-        matchsList.addAll(matchService.getMatchsAVenir());
+        chargeur.charger("matchs", matchService::getResumesMatchsAVenir, matchsList::setAll);
     }
     
     private void refreshMesTickets() {
-        Spectateur spectateur = (Spectateur) currentUser;
-        ticketsList.clear();
-        List<Ticket> tickets = ticketService.getTicketsSpectateur(spectateur.getId());
-        if (tickets != null) {
-            ticketsList.addAll(tickets);
-        }
+        Long spectateurId = currentUser.getId();
+        chargeur.charger("mesTickets", () -> ticketService.getLignesTicketsSpectateur(spectateurId), tickets -> {
+            ticketsList.clear();
+            if (tickets != null) {
+                ticketsList.addAll(tickets);
+            }
+        });
     }
     
     private void refreshHistorique() {
-        Spectateur spectateur = (Spectateur) currentUser;
-        transactionsList.clear();
+        Long spectateurId = currentUser.getId();
         // Utiliser le DAO pour éviter LazyInitializationException
         com.mondial2030.dao.impl.TransactionDAOImpl transactionDAO = new com.mondial2030.dao.impl.TransactionDAOImpl();
-        List<Transaction> transactions = transactionDAO.findBySpectateurId(spectateur.getId());
-        if (transactions != null) {
-            transactionsList.addAll(transactions);
-        }
+        chargeur.charger("historique", () -> transactionDAO.findBySpectateurId(spectateurId), transactions -> {
+            transactionsList.clear();
+            if (transactions != null) {
+                transactionsList.addAll(transactions);
+            }
+        });
     }
     
     private void refreshMesAlertes() {
@@ -539,14 +531,15 @@ public class SpectateurDashboardController extends BaseController implements Ini
             logger.warn("refreshMesAlertes: currentUser est null");
             return;
         }
-        Spectateur spectateur = (Spectateur) currentUser;
-        logger.info("refreshMesAlertes: Chargement des alertes pour spectateur ID=" + spectateur.getId());
-        mesAlertesList.clear();
-        List<Alerte> alertes = alerteService.getAlertesSpectateur(spectateur.getId());
-        logger.info("refreshMesAlertes: " + (alertes != null ? alertes.size() : 0) + " alertes trouvées");
-        if (alertes != null) {
-            mesAlertesList.addAll(alertes);
-        }
+        Long spectateurId = currentUser.getId();
+        logger.info("refreshMesAlertes: Chargement des alertes pour spectateur ID={}", spectateurId);
+        chargeur.charger("mesAlertes", () -> alerteService.getLignesAlertesSpectateur(spectateurId), alertes -> {
+            logger.info("refreshMesAlertes: {} alertes trouvées", alertes != null ? alertes.size() : 0);
+            mesAlertesList.clear();
+            if (alertes != null) {
+                mesAlertesList.addAll(alertes);
+            }
+        });
         hideDetailAlerte();
     }
     
@@ -675,6 +668,14 @@ public class SpectateurDashboardController extends BaseController implements Ini
     
     // ===== DÉTAIL MATCH =====
     
+    /**
+     * Charge le match complet (prix, équipes et drapeaux) avant d'afficher son détail
+     */
+    private void ouvrirDetailMatch(Long matchId) {
+        chargeur.charger("detailMatch", () -> matchService.findById(matchId),
+            match -> match.ifPresent(this::showDetailMatch));
+    }
+    
     private void showDetailMatch(Match match) {
         this.selectedMatch = match;
         hideAllPanes();
@@ -709,16 +710,12 @@ public class SpectateurDashboardController extends BaseController implements Ini
         // Charger les zones via le DAO pour éviter LazyInitializationException
         zonesList.clear();
         com.mondial2030.dao.impl.ZoneDAOImpl zoneDAO = new com.mondial2030.dao.impl.ZoneDAOImpl();
-        List<Zone> zones = zoneDAO.findByMatchId(match.getId());
-        if (zones != null && !zones.isEmpty()) {
-            zonesList.addAll(zones);
-            System.out.println("DEBUG - Zones chargées: " + zones.size());
-            for (Zone z : zones) {
-                System.out.println("DEBUG - Zone: " + z.getNom() + ", Capacité: " + z.getCapacite() + ", Dispo: " + z.getPlacesDisponibles());
+        Long matchId = match.getId();
+        chargeur.charger("zones", () -> zoneDAO.findByMatchId(matchId), zones -> {
+            if (zones != null) {
+                zonesList.setAll(zones);
             }
-        } else {
-            System.out.println("DEBUG - Aucune zone trouvée pour le match " + match.getId());
-        }
+        });
         
         // Réinitialiser le prix
         updatePrixTotal();
@@ -740,7 +737,7 @@ public class SpectateurDashboardController extends BaseController implements Ini
                 Image flagImage = new Image(flagUrl, 80, 80, true, true, true);
                 imageView.setImage(flagImage);
             } catch (Exception e) {
-                System.out.println("Impossible de charger le drapeau pour " + codePays);
+                // Drapeau indisponible : l'image reste vide
             }
         }
     }
@@ -860,11 +857,11 @@ public class SpectateurDashboardController extends BaseController implements Ini
     
     // ===== GESTION DES TICKETS =====
     
-    private void showTicketDetails(Ticket ticket) {
+    private void showTicketDetails(TicketLigneDTO ticket) {
         // Générer et afficher le QR code
         if (imgQRCode != null) {
             String qrContent = "MONDIAL2030|" + ticket.getCodeQR() + "|" + 
-                ticket.getMatch().getId() + "|" + ticket.getCategorie();
+                ticket.getMatchId() + "|" + ticket.getCategorie();
             javafx.scene.image.Image qrImage = com.mondial2030.util.QRCodeGenerator.generateQRCodeImage(qrContent, 180, 180);
             if (qrImage != null) {
                 imgQRCode.setImage(qrImage);
@@ -883,23 +880,22 @@ public class SpectateurDashboardController extends BaseController implements Ini
         
         // Afficher les équipes
         if (lblTicketEquipes != null) {
-            lblTicketEquipes.setText(ticket.getMatch().getEquipeDomicile().getNom() + 
-                " vs " + ticket.getMatch().getEquipeExterieur().getNom());
+            lblTicketEquipes.setText(ticket.getLibelleMatch());
         }
         
         // Afficher la date
         if (lblTicketDate != null) {
-            lblTicketDate.setText(formatDate(ticket.getMatch().getDateHeure()));
+            lblTicketDate.setText(formatDate(ticket.getDateMatch()));
         }
         
         // Afficher le stade
         if (lblTicketStade != null) {
-            lblTicketStade.setText(ticket.getMatch().getStade());
+            lblTicketStade.setText(ticket.getStade());
         }
         
         // Afficher la zone
         if (lblTicketZone != null) {
-            lblTicketZone.setText(ticket.getZone() != null ? ticket.getZone().getNom() : "N/A");
+            lblTicketZone.setText(ticket.getZone() != null ? ticket.getZone() : "N/A");
         }
         
         // Afficher la catégorie
@@ -932,7 +928,7 @@ public class SpectateurDashboardController extends BaseController implements Ini
     
     @FXML
     private void handleTransfererTicket() {
-        Ticket ticket = tableMesTickets.getSelectionModel().getSelectedItem();
+        TicketLigneDTO ticket = tableMesTickets.getSelectionModel().getSelectedItem();
         if (ticket == null) {
             showWarning("Sélection requise", "Veuillez sélectionner un ticket à transférer.");
             return;
@@ -964,7 +960,7 @@ public class SpectateurDashboardController extends BaseController implements Ini
     
     @FXML
     private void handleAnnulerTicket() {
-        Ticket ticket = tableMesTickets.getSelectionModel().getSelectedItem();
+        TicketLigneDTO ticket = tableMesTickets.getSelectionModel().getSelectedItem();
         if (ticket == null) {
             showWarning("Sélection requise", "Veuillez sélectionner un ticket à annuler.");
             return;
@@ -994,7 +990,7 @@ public class SpectateurDashboardController extends BaseController implements Ini
     
     @FXML
     private void handleDownloadTicketPdf() {
-        Ticket ticket = tableMesTickets.getSelectionModel().getSelectedItem();
+        TicketLigneDTO ticket = tableMesTickets.getSelectionModel().getSelectedItem();
         if (ticket == null) {
             showWarning("Sélection requise", "Veuillez sélectionner un ticket à télécharger.");
             return;
@@ -1010,14 +1006,22 @@ public class SpectateurDashboardController extends BaseController implements Ini
         
         java.io.File file = fileChooser.showSaveDialog(tableMesTickets.getScene().getWindow());
         if (file != null) {
-            try {
-                generateTicketPdf(ticket, file.getAbsolutePath());
-                showSuccess("Téléchargement réussi", 
-                    "Le ticket a été enregistré dans:\n" + file.getAbsolutePath());
-            } catch (Exception e) {
-                e.printStackTrace();
-                showError("Erreur", "Impossible de générer le PDF: " + e.getMessage());
-            }
+            // Le PDF reprend tout le ticket : il est relu en entier, pour ce seul ticket
+            String numeroTicket = ticket.getNumeroTicket();
+            chargeur.charger("ticketPdf", () -> ticketService.findByNumero(numeroTicket), complet -> {
+                if (complet.isEmpty()) {
+                    showError("Erreur", "Ticket introuvable: " + numeroTicket);
+                    return;
+                }
+                try {
+                    generateTicketPdf(complet.get(), file.getAbsolutePath());
+                    showSuccess("Téléchargement réussi", 
+                        "Le ticket a été enregistré dans:\n" + file.getAbsolutePath());
+                } catch (Exception e) {
+                    logger.error("Erreur lors de la génération du PDF du ticket", e);
+                    showError("Erreur", "Impossible de générer le PDF: " + e.getMessage());
+                }
+            });
         }
     }
     
@@ -1184,7 +1188,7 @@ public class SpectateurDashboardController extends BaseController implements Ini
                 com.google.zxing.BarcodeFormat.QR_CODE, width, height);
             return com.google.zxing.client.j2se.MatrixToImageWriter.toBufferedImage(bitMatrix);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Erreur lors de la génération du code QR", e);
             return null;
         }
     }
@@ -1197,11 +1201,10 @@ public class SpectateurDashboardController extends BaseController implements Ini
         PhaseMatch phase = cmbFilterPhase != null ? cmbFilterPhase.getValue() : null;
         LocalDate date = dpFilterDate != null ? dpFilterDate.getValue() : null;
         
-        List<Match> filtered = matchService.getMatchsAVenir().stream()
+        chargeur.charger("matchs", () -> matchService.getResumesMatchsAVenir().stream()
             .filter(m -> {
                 boolean matchSearch = search.isEmpty() ||
-                    m.getEquipeDomicile().getNom().toLowerCase().contains(search) ||
-                    m.getEquipeExterieur().getNom().toLowerCase().contains(search) ||
+                    m.getLibelleMatch().toLowerCase().contains(search) ||
                     m.getStade().toLowerCase().contains(search) ||
                     m.getVille().toLowerCase().contains(search);
                     
@@ -1212,10 +1215,7 @@ public class SpectateurDashboardController extends BaseController implements Ini
                 
                 return matchSearch && matchPhase && matchDate;
             })
-            .collect(Collectors.toList());
-        
-        matchsList.clear();
-        matchsList.addAll(filtered);
+            .collect(Collectors.toList()), matchsList::setAll);
     }
     
     @FXML
@@ -1303,4 +1303,9 @@ public class SpectateurDashboardController extends BaseController implements Ini
     private void handleDeconnexionSpectateur(ActionEvent event) {
         handleDeconnexion(event);
     }
+    
+    @Override
+    protected void onDeconnexion() {
+        chargeur.annulerTout();
+    }
 }
@@ -2,6 +2,7 @@ package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.AdministrateurDAO;
 import com.mondial2030.entity.Administrateur;
+import com.mondial2030.util.MotDePasseUtil;
 import org.mindrot.jbcrypt.BCrypt;
 
 import java.util.List;
@@ -46,13 +47,7 @@ public class AdministrateurDAOImpl extends GenericDAOImpl<Administrateur, Long>
         Optional<Administrateur> admin = findByEmail(email);
         if (admin.isPresent()) {
             Administrateur a = admin.get();
-            System.out.println("=== DEBUG AUTH ADMIN ===");
-            System.out.println("Email: " + email);
-            System.out.println("Password entré: " + motDePasse);
-            System.out.println("Hash stocké: " + a.getMotDePasse());
             boolean match = BCrypt.checkpw(motDePasse, a.getMotDePasse());
-            System.out.println("BCrypt match: " + match);
-            System.out.println("========================");
             if (match) {
                 return admin;
             }
@@ -68,7 +63,7 @@ public class AdministrateurDAOImpl extends GenericDAOImpl<Administrateur, Long>
         // Hacher le mot de passe avant sauvegarde (seulement si pas déjà hashé)
         String password = entity.getMotDePasse();
         if (password != null && !password.startsWith("$2a$") && !password.startsWith("$2b$")) {
-            String hashedPassword = BCrypt.hashpw(password, BCrypt.gensalt());
+            String hashedPassword = MotDePasseUtil.hacher(password);
             entity.setMotDePasse(hashedPassword);
         }
         super.save(entity);
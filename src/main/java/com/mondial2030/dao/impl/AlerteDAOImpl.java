@@ -1,14 +1,15 @@
 package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.AlerteDAO;
+import com.mondial2030.dto.AlerteLigneDTO;
 import com.mondial2030.entity.Alerte;
 import com.mondial2030.entity.TypeAlerte;
 import com.mondial2030.entity.NiveauAlerte;
-import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -96,11 +97,13 @@ public class AlerteDAOImpl extends GenericDAOImpl<Alerte, Long> implements Alert
     
     @Override
     public List<Alerte> findDernieresAlertes(int limite) {
-        try (Session session = getSession()) {
-            String hql = "FROM Alerte a ORDER BY a.dateCreation DESC";
-            Query<Alerte> query = session.createQuery(hql, Alerte.class);
-            query.setMaxResults(limite);
-            return query.getResultList();
+        try {
+            return executerLecture(session -> {
+                String hql = "FROM Alerte a LEFT JOIN FETCH a.creeePar ORDER BY a.dateCreation DESC";
+                Query<Alerte> query = session.createQuery(hql, Alerte.class);
+                query.setMaxResults(limite);
+                return query.getResultList();
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la récupération des dernières alertes: " + e.getMessage(), e);
         }
@@ -112,6 +115,14 @@ public class AlerteDAOImpl extends GenericDAOImpl<Alerte, Long> implements Alert
         return executeQuery(hql, "spectateurId", spectateurId);
     }
     
+    @Override
+    public List<AlerteLigneDTO> findLignesBySpectateurId(Long spectateurId) {
+        String hql = "SELECT new com.mondial2030.dto.AlerteLigneDTO(a.id, a.titre, a.message, a.typeAlerte, " +
+                    "a.niveau, a.dateCreation, a.lueParAdmin, a.reponseAdmin, a.dateReponse) " +
+                    "FROM Alerte a WHERE a.creeePar.id = :spectateurId ORDER BY a.dateCreation DESC";
+        return executeProjection(hql, AlerteLigneDTO.class, "spectateurId", spectateurId);
+    }
+    
     @Override
     public List<Alerte> findAlertesUtilisateursNonLues() {
         String hql = "FROM Alerte a LEFT JOIN FETCH a.creeePar WHERE a.creeePar IS NOT NULL AND (a.lueParAdmin = false OR a.lueParAdmin IS NULL) ORDER BY a.dateCreation DESC";
@@ -144,4 +155,36 @@ public class AlerteDAOImpl extends GenericDAOImpl<Alerte, Long> implements Alert
         String hql = "SELECT COUNT(a) FROM Alerte a WHERE a.creeePar IS NOT NULL AND (a.lueParAdmin = false OR a.lueParAdmin IS NULL)";
         return executeCountQuery(hql);
     }
+    
+    @Override
+    public Optional<Alerte> findByIdAvecCreateur(Long alerteId) {
+        String hql = "FROM Alerte a LEFT JOIN FETCH a.creeePar WHERE a.id = :id";
+        return executeSingleResultQuery(hql, "id", alerteId);
+    }
+    
+    @Override
+    public Optional<Alerte> findOuverte(Long matchId, Long zoneId, TypeAlerte type, NiveauAlerte niveau) {
+        String hql = "FROM Alerte a WHERE a.resolue = false AND a.creeePar IS NULL " +
+                    "AND a.typeAlerte = :type AND a.niveau = :niveau " +
+                    (matchId != null ? "AND a.match.id = :matchId " : "AND a.match IS NULL ") +
+                    (zoneId != null ? "AND a.zone.id = :zoneId " : "AND a.zone IS NULL ") +
+                    "ORDER BY a.dateCreation DESC";
+        List<Object> params = new ArrayList<>(List.<Object>of("type", type, "niveau", niveau));
+        if (matchId != null) {
+            params.addAll(List.of("matchId", matchId));
+        }
+        if (zoneId != null) {
+            params.addAll(List.of("zoneId", zoneId));
+        }
+        return executeSingleResultQuery(hql, params.toArray());
+    }
+    
+    @Override
+    public int mettreAJourOccurrences(Long alerteId, int nombreOccurrences, LocalDateTime derniereOccurrence,
+                                      String message) {
+        String hql = "UPDATE Alerte a SET a.nombreOccurrences = :nombre, a.dateDerniereOccurrence = :date, " +
+                    "a.message = :message WHERE a.id = :id AND a.resolue = false";
+        return executeUpdate(hql, "nombre", nombreOccurrences, "date", derniereOccurrence,
+                     "message", message, "id", alerteId);
+    }
 }
@@ -0,0 +1,148 @@
+package com.mondial2030.dao.impl;
+
+import com.mondial2030.dao.interfaces.EchantillonFluxDAO;
+import com.mondial2030.dto.PointFluxDTO;
+import com.mondial2030.entity.EchantillonFlux;
+import com.mondial2030.util.HibernateUtil;
+import org.hibernate.query.Query;
+
+import java.sql.PreparedStatement;
+import java.util.List;
+
+/**
+ * Implémentation Hibernate du DAO EchantillonFlux.
+ * Les séries sont lues par projection (PointFluxDTO) sans charger d'entités ;
+ * l'agrégation entre résolutions est faite en une requête SQL.
+ * 
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class EchantillonFluxDAOImpl extends GenericDAOImpl<EchantillonFlux, EchantillonFlux.Cle> implements EchantillonFluxDAO {
+    
+    private static final String PROJECTION_POINT = "SELECT new com.mondial2030.dto.PointFluxDTO(e.debut, " +
+            "SUM(e.entrees), SUM(e.sorties), SUM(e.occupation), SUM(e.occupationMax), SUM(e.capacite)) " +
+            "FROM EchantillonFlux e ";
+    
+    @Override
+    public List<PointFluxDTO> findSerieZone(Long zoneId, int resolution, long debut, long fin) {
+        String hql = PROJECTION_POINT + "WHERE e.zoneId = :id AND e.resolution = :resolution " +
+                    "AND e.debut >= :debut AND e.debut < :fin GROUP BY e.debut ORDER BY e.debut";
+        return executerSerie(hql, zoneId, resolution, debut, fin);
+    }
+    
+    @Override
+    public List<PointFluxDTO> findSerieMatch(Long matchId, int resolution, long debut, long fin) {
+        String hql = PROJECTION_POINT + "WHERE e.matchId = :id AND e.resolution = :resolution " +
+                    "AND e.debut >= :debut AND e.debut < :fin GROUP BY e.debut ORDER BY e.debut";
+        return executerSerie(hql, matchId, resolution, debut, fin);
+    }
+    
+    private List<PointFluxDTO> executerSerie(String hql, Long id, int resolution, long debut, long fin) {
+        try {
+            return executerLecture(session -> {
+                Query<PointFluxDTO> query = session.createQuery(hql, PointFluxDTO.class);
+                appliquerParametres(query, "id", id, "resolution", resolution, "debut", debut, "fin", fin);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la lecture de la série de flux: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<Long> findMatchIds(int resolution, long debut, long fin) {
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT DISTINCT e.matchId FROM EchantillonFlux e WHERE e.resolution = :resolution " +
+                            "AND e.debut >= :debut AND e.debut < :fin";
+                Query<Long> query = session.createQuery(hql, Long.class);
+                appliquerParametres(query, "resolution", resolution, "debut", debut, "fin", fin);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la recherche des matchs suivis: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public int insererSansDoublon(List<EchantillonFlux> echantillons) {
+        if (echantillons.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO flux_echantillon " +
+                    "(zone_id, resolution, debut, match_id, entrees, sorties, occupation, occupation_max, capacite) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (zone_id, resolution, debut) DO NOTHING";
+        int tailleLot = HibernateUtil.getTailleLot();
+        try {
+            return executerEcriture(session -> session.doReturningWork(connexion -> {
+                int ajoutes = 0;
+                try (PreparedStatement ps = connexion.prepareStatement(sql)) {
+                    for (int i = 0; i < echantillons.size(); i++) {
+                        EchantillonFlux e = echantillons.get(i);
+                        ps.setLong(1, e.getZoneId());
+                        ps.setInt(2, e.getResolution());
+                        ps.setLong(3, e.getDebut());
+                        ps.setObject(4, e.getMatchId());
+                        ps.setObject(5, e.getEntrees());
+                        ps.setObject(6, e.getSorties());
+                        ps.setObject(7, e.getOccupation());
+                        ps.setObject(8, e.getOccupationMax());
+                        ps.setObject(9, e.getCapacite());
+                        ps.addBatch();
+                        if ((i + 1) % tailleLot == 0 || i == echantillons.size() - 1) {
+                            for (int lignes : ps.executeBatch()) {
+                                ajoutes += Math.max(lignes, 0);
+                            }
+                        }
+                    }
+                }
+                return ajoutes;
+            }));
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de l'ajout des échantillons de flux: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public int agreger(int source, int cible, long depuis, long avant) {
+        // Occupation : moyenne des fenêtres sources ; les fenêtres sans
+        // échantillon (zone inactive) ne sont pas comptées
+        String sql = "INSERT OR IGNORE INTO flux_echantillon " +
+                    "(zone_id, resolution, debut, match_id, entrees, sorties, occupation, occupation_max, capacite) " +
+                    "SELECT zone_id, :cible, (debut / :cible) * :cible, MAX(match_id), SUM(entrees), SUM(sorties), " +
+                    "AVG(occupation), MAX(occupation_max), MAX(capacite) " +
+                    "FROM flux_echantillon WHERE resolution = :source AND debut >= :depuis AND debut < :avant " +
+                    "GROUP BY zone_id, debut / :cible";
+        try {
+            return executerEcriture(session -> session.createNativeMutationQuery(sql)
+                    .setParameter("cible", cible)
+                    .setParameter("source", source)
+                    .setParameter("depuis", depuis)
+                    .setParameter("avant", avant)
+                    .executeUpdate());
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de l'agrégation de la série de flux: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Long findDernierDebut(int resolution) {
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT MAX(e.debut) FROM EchantillonFlux e WHERE e.resolution = :resolution";
+                Query<Long> query = session.createQuery(hql, Long.class);
+                query.setParameter("resolution", resolution);
+                return query.getSingleResult();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la lecture de la série de flux: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public int supprimerAvant(int resolution, long avant) {
+        String hql = "DELETE FROM EchantillonFlux e WHERE e.resolution = :resolution AND e.debut < :avant";
+        return executeUpdate(hql, "resolution", resolution, "avant", avant);
+    }
+}
@@ -2,7 +2,6 @@ package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.FluxSpectateurDAO;
 import com.mondial2030.entity.FluxSpectateurs;
-import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.hibernate.query.Query;
 
@@ -50,12 +49,14 @@ public class FluxSpectateurDAOImpl extends GenericDAOImpl<FluxSpectateurs, Long>
     
     @Override
     public Integer calculerOccupationTotale(Long matchId) {
-        try (Session session = getSession()) {
-            String hql = "SELECT SUM(f.occupationActuelle) FROM FluxSpectateurs f WHERE f.match.id = :matchId";
-            Query<Long> query = session.createQuery(hql, Long.class);
-            query.setParameter("matchId", matchId);
-            Long result = query.getSingleResult();
-            return result != null ? result.intValue() : 0;
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT SUM(f.occupationActuelle) FROM FluxSpectateurs f WHERE f.match.id = :matchId";
+                Query<Long> query = session.createQuery(hql, Long.class);
+                query.setParameter("matchId", matchId);
+                Long result = query.getSingleResult();
+                return result != null ? result.intValue() : 0;
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors du calcul de l'occupation totale: " + e.getMessage(), e);
         }
@@ -63,13 +64,15 @@ public class FluxSpectateurDAOImpl extends GenericDAOImpl<FluxSpectateurs, Long>
     
     @Override
     public FluxSpectateurs findDernierFluxByZone(Long zoneId) {
-        try (Session session = getSession()) {
-            String hql = "FROM FluxSpectateurs f WHERE f.zone.id = :zoneId ORDER BY f.horodatage DESC";
-            Query<FluxSpectateurs> query = session.createQuery(hql, FluxSpectateurs.class);
-            query.setParameter("zoneId", zoneId);
-            query.setMaxResults(1);
-            List<FluxSpectateurs> results = query.getResultList();
-            return results.isEmpty() ? null : results.get(0);
+        try {
+            return executerLecture(session -> {
+                String hql = "FROM FluxSpectateurs f JOIN FETCH f.zone WHERE f.zone.id = :zoneId ORDER BY f.horodatage DESC";
+                Query<FluxSpectateurs> query = session.createQuery(hql, FluxSpectateurs.class);
+                query.setParameter("zoneId", zoneId);
+                query.setMaxResults(1);
+                List<FluxSpectateurs> results = query.getResultList();
+                return results.isEmpty() ? null : results.get(0);
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la récupération du dernier flux: " + e.getMessage(), e);
         }
@@ -101,4 +104,14 @@ public class FluxSpectateurDAOImpl extends GenericDAOImpl<FluxSpectateurs, Long>
             update(flux);
         }
     }
+    
+    @Override
+    public int mettreAJourCompteurs(Long fluxId, int nombreEntrees, int nombreSorties, int occupation,
+                                    Double densite, LocalDateTime horodatage) {
+        String hql = "UPDATE FluxSpectateurs f SET f.nombreEntrees = :entrees, f.nombreSorties = :sorties, " +
+                    "f.occupationActuelle = :occupation, f.densite = :densite, f.horodatage = :horodatage " +
+                    "WHERE f.id = :id";
+        return executeUpdate(hql, "entrees", nombreEntrees, "sorties", nombreSorties, "occupation", occupation,
+                             "densite", densite, "horodatage", horodatage, "id", fluxId);
+    }
 }
@@ -3,13 +3,17 @@ package com.mondial2030.dao.impl;
 import com.mondial2030.dao.interfaces.GenericDAO;
 import com.mondial2030.util.HibernateUtil;
 import org.hibernate.Session;
-import org.hibernate.Transaction;
+import org.hibernate.jpa.SpecHints;
+import org.hibernate.query.CommonQueryContract;
+import org.hibernate.query.MutationQuery;
 import org.hibernate.query.Query;
 
 import java.io.Serializable;
 import java.lang.reflect.ParameterizedType;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Implémentation générique du DAO avec Hibernate.
@@ -22,6 +26,11 @@ import java.util.Optional;
  */
 public abstract class GenericDAOImpl<T, ID extends Serializable> implements GenericDAO<T, ID> {
     
+    /**
+     * Espace de requête des mises à jour de compteurs (executeUpdateCompteur)
+     */
+    protected static final String ESPACE_COMPTEURS = "compteurs";
+
     protected final Class<T> entityClass;
     
     @SuppressWarnings("unchecked")
@@ -44,81 +53,170 @@ public abstract class GenericDAOImpl<T, ID extends Serializable> implements Gene
         return HibernateUtil.getSessionFactory().getCurrentSession();
     }
     
+    /**
+     * Exécute une lecture : rejoint l'unité de travail en cours,
+     * sinon utilise une connexion du pool des lecteurs.
+     */
+    protected <R> R executerLecture(Function<Session, R> travail) {
+        return HibernateUtil.enLecture(travail);
+    }
+    
+    /**
+     * Exécute une écriture : rejoint l'unité de travail en cours,
+     * sinon en ouvre une dédiée (une session, un commit).
+     */
+    protected <R> R executerEcriture(Function<Session, R> travail) {
+        return HibernateUtil.inTransaction(travail);
+    }
+    
     @Override
     public void save(T entity) {
-        Transaction transaction = null;
-        try (Session session = getSession()) {
-            transaction = session.beginTransaction();
-            session.persist(entity);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
+        try {
+            executerEcriture(session -> {
+                session.persist(entity);
+                return null;
+            });
+        } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la sauvegarde: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Les entités sont persistées puis envoyées à la base tous les
+     * hibernate.jdbc.batch_size éléments. Si saveAll ouvre sa propre unité de
+     * travail, la session est aussi vidée à chaque lot pour borner la mémoire ;
+     * dans une unité de travail existante, elle est laissée intacte.
+     */
+    @Override
+    public void saveAll(Collection<T> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return;
+        }
+        boolean sessionPropre = HibernateUtil.getSessionCourante().isEmpty();
+        int tailleLot = HibernateUtil.getTailleLot();
+        try {
+            executerEcriture(session -> {
+                int compteur = 0;
+                for (T entity : entities) {
+                    session.persist(entity);
+                    if (++compteur % tailleLot == 0) {
+                        session.flush();
+                        if (sessionPropre) {
+                            session.clear();
+                        }
+                    }
+                }
+                session.flush();
+                return null;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la sauvegarde en lot: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public void update(T entity) {
-        Transaction transaction = null;
-        try (Session session = getSession()) {
-            transaction = session.beginTransaction();
-            session.merge(entity);
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
+        try {
+            executerEcriture(session -> session.merge(entity));
+        } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la mise à jour: " + e.getMessage(), e);
         }
     }
     
     @Override
     public void delete(ID id) {
-        Transaction transaction = null;
-        try (Session session = getSession()) {
-            transaction = session.beginTransaction();
-            T entity = session.get(entityClass, id);
-            if (entity != null) {
-                session.remove(entity);
-            }
-            transaction.commit();
-        } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
+        try {
+            executerEcriture(session -> {
+                T entity = session.get(entityClass, id);
+                if (entity != null) {
+                    session.remove(entity);
+                }
+                return null;
+            });
+        } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la suppression: " + e.getMessage(), e);
         }
     }
     
     @Override
     public Optional<T> findById(ID id) {
-        try (Session session = getSession()) {
-            T entity = session.get(entityClass, id);
-            return Optional.ofNullable(entity);
+        try {
+            return executerLecture(session -> Optional.ofNullable(session.get(entityClass, id)));
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la recherche par ID: " + e.getMessage(), e);
         }
     }
     
+    @Override
+    public Optional<T> findById(ID id, String plan) {
+        String hql = "FROM " + entityClass.getSimpleName() + " e WHERE e.id = :id";
+        return executeSingleResultQueryAvecPlan(plan, hql, "id", id);
+    }
+    
     @Override
     public List<T> findAll() {
-        try (Session session = getSession()) {
-            String hql = "FROM " + entityClass.getSimpleName();
-            Query<T> query = session.createQuery(hql, entityClass);
-            return query.getResultList();
+        try {
+            return executerLecture(session -> {
+                String hql = "FROM " + entityClass.getSimpleName();
+                Query<T> query = session.createQuery(hql, entityClass);
+                return query.getResultList();
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la récupération de toutes les entités: " + e.getMessage(), e);
         }
     }
     
+    @Override
+    public List<T> findAll(String plan) {
+        return executeQueryAvecPlan(plan, "FROM " + entityClass.getSimpleName());
+    }
+    
+    @Override
+    public List<T> findPage(ID apresId, int limite, Tri tri) {
+        try {
+            return executerLecture(session -> {
+                boolean croissant = tri == Tri.CROISSANT;
+                String hql = "FROM " + entityClass.getSimpleName() + " e " +
+                            (apresId != null ? "WHERE e.id " + (croissant ? ">" : "<") + " :apres " : "") +
+                            "ORDER BY e.id " + (croissant ? "ASC" : "DESC");
+                Query<T> query = session.createQuery(hql, entityClass);
+                if (apresId != null) {
+                    query.setParameter("apres", apresId);
+                }
+                query.setMaxResults(limite);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la récupération d'une page: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<ID> findIdAuRang(long rang, Tri tri) {
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT e.id FROM " + entityClass.getSimpleName() + " e ORDER BY e.id " +
+                            (tri == Tri.CROISSANT ? "ASC" : "DESC");
+                Query<Object> query = session.createQuery(hql, Object.class);
+                query.setFirstResult(Math.toIntExact(rang));
+                query.setMaxResults(1);
+                List<Object> ids = query.getResultList();
+                return ids.isEmpty() ? Optional.<ID>empty() : Optional.of((ID) ids.get(0));
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la recherche d'un identifiant par rang: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public long count() {
-        try (Session session = getSession()) {
-            String hql = "SELECT COUNT(e) FROM " + entityClass.getSimpleName() + " e";
-            Query<Long> query = session.createQuery(hql, Long.class);
-            return query.getSingleResult();
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT COUNT(e) FROM " + entityClass.getSimpleName() + " e";
+                Query<Long> query = session.createQuery(hql, Long.class);
+                return query.getSingleResult();
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors du comptage: " + e.getMessage(), e);
         }
@@ -129,16 +227,52 @@ public abstract class GenericDAOImpl<T, ID extends Serializable> implements Gene
         return findById(id).isPresent();
     }
     
+    /**
+     * Applique les paramètres nommés (nom, valeur, nom, valeur...) à une requête
+     */
+    protected void appliquerParametres(CommonQueryContract query, Object... params) {
+        for (int i = 0; i < params.length; i += 2) {
+            query.setParameter((String) params[i], params[i + 1]);
+        }
+    }
+    
+    /**
+     * Applique un plan de chargement à une requête : les associations du
+     * graphe d'entité nommé sont lues par jointure, les autres restent
+     * paresseuses. Un plan null laisse la requête inchangée.
+     */
+    protected void appliquerPlan(Session session, Query<?> query, String plan) {
+        if (plan != null) {
+            query.setHint(SpecHints.HINT_SPEC_FETCH_GRAPH, session.getEntityGraph(plan));
+        }
+    }
+    
     /**
      * Exécute une requête HQL avec paramètres
      */
     protected List<T> executeQuery(String hql, Object... params) {
-        try (Session session = getSession()) {
-            Query<T> query = session.createQuery(hql, entityClass);
-            for (int i = 0; i < params.length; i += 2) {
-                query.setParameter((String) params[i], params[i + 1]);
-            }
-            return query.getResultList();
+        try {
+            return executerLecture(session -> {
+                Query<T> query = session.createQuery(hql, entityClass);
+                appliquerParametres(query, params);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de l'exécution de la requête: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Exécute une requête HQL avec paramètres, selon un plan de chargement
+     */
+    protected List<T> executeQueryAvecPlan(String plan, String hql, Object... params) {
+        try {
+            return executerLecture(session -> {
+                Query<T> query = session.createQuery(hql, entityClass);
+                appliquerPlan(session, query, plan);
+                appliquerParametres(query, params);
+                return query.getResultList();
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de l'exécution de la requête: " + e.getMessage(), e);
         }
@@ -148,52 +282,109 @@ public abstract class GenericDAOImpl<T, ID extends Serializable> implements Gene
      * Exécute une requête HQL retournant un résultat unique
      */
     protected Optional<T> executeSingleResultQuery(String hql, Object... params) {
-        try (Session session = getSession()) {
-            Query<T> query = session.createQuery(hql, entityClass);
-            for (int i = 0; i < params.length; i += 2) {
-                query.setParameter((String) params[i], params[i + 1]);
-            }
-            query.setMaxResults(1);
-            List<T> results = query.getResultList();
-            return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+        try {
+            return executerLecture(session -> {
+                Query<T> query = session.createQuery(hql, entityClass);
+                appliquerParametres(query, params);
+                query.setMaxResults(1);
+                List<T> results = query.getResultList();
+                return results.isEmpty() ? Optional.<T>empty() : Optional.of(results.get(0));
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de l'exécution de la requête: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Exécute une requête HQL retournant un résultat unique, selon un plan de chargement
+     */
+    protected Optional<T> executeSingleResultQueryAvecPlan(String plan, String hql, Object... params) {
+        try {
+            return executerLecture(session -> {
+                Query<T> query = session.createQuery(hql, entityClass);
+                appliquerPlan(session, query, plan);
+                appliquerParametres(query, params);
+                query.setMaxResults(1);
+                List<T> results = query.getResultList();
+                return results.isEmpty() ? Optional.<T>empty() : Optional.of(results.get(0));
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de l'exécution de la requête: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Exécute une requête HQL de projection (SELECT new ...) vers un type non entité
+     */
+    protected <R> List<R> executeProjection(String hql, Class<R> type, Object... params) {
+        try {
+            return executerLecture(session -> {
+                Query<R> query = session.createQuery(hql, type);
+                appliquerParametres(query, params);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de l'exécution de la requête: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Exécute une mise à jour HQL
      */
     protected int executeUpdate(String hql, Object... params) {
-        Transaction transaction = null;
-        try (Session session = getSession()) {
-            transaction = session.beginTransaction();
-            Query<?> query = session.createQuery(hql);
-            for (int i = 0; i < params.length; i += 2) {
-                query.setParameter((String) params[i], params[i + 1]);
-            }
-            int result = query.executeUpdate();
-            transaction.commit();
-            return result;
-        } catch (Exception e) {
-            if (transaction != null) {
-                transaction.rollback();
-            }
+        try {
+            return executerEcriture(session -> {
+                MutationQuery query = session.createMutationQuery(hql);
+                appliquerParametres(query, params);
+                return query.executeUpdate();
+            });
+        } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la mise à jour: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Exécute une mise à jour SQL d'un compteur d'une seule entité.
+     * Une mise à jour HQL vide toute la région de l'entité dans le cache de
+     * second niveau ; ici la requête est rattachée à l'espace ESPACE_COMPTEURS,
+     * qu'aucune entité ne partage, et seule l'entité modifiée est évincée,
+     * une fois la transaction terminée.
+     */
+    protected int executeUpdateCompteur(ID id, String sql, Object... params) {
+        try {
+            return executerEcriture(session -> {
+                Query<?> query = session.createNativeQuery(sql, Object.class)
+                        .addSynchronizedQuerySpace(ESPACE_COMPTEURS);
+                appliquerParametres(query, params);
+                int lignes = query.executeUpdate();
+                if (lignes > 0) {
+                    HibernateUtil.apresTransaction(() -> evincer(id), () -> evincer(id));
+                }
+                return lignes;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la mise à jour: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Évince une entité du cache de second niveau
+     */
+    private void evincer(ID id) {
+        HibernateUtil.getSessionFactory().getCache().evictEntityData(entityClass, id);
+    }
+
     /**
      * Exécute une requête de comptage
      */
     protected long executeCountQuery(String hql, Object... params) {
-        try (Session session = getSession()) {
-            Query<Long> query = session.createQuery(hql, Long.class);
-            for (int i = 0; i < params.length; i += 2) {
-                query.setParameter((String) params[i], params[i + 1]);
-            }
-            Long result = query.getSingleResult();
-            return result != null ? result : 0L;
+        try {
+            return executerLecture(session -> {
+                Query<Long> query = session.createQuery(hql, Long.class);
+                appliquerParametres(query, params);
+                Long result = query.getSingleResult();
+                return result != null ? result : 0L;
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors du comptage: " + e.getMessage(), e);
         }
@@ -203,12 +394,12 @@ public abstract class GenericDAOImpl<T, ID extends Serializable> implements Gene
      * Exécute une requête retournant un Double
      */
     protected Double executeDoubleQuery(String hql, Object... params) {
-        try (Session session = getSession()) {
-            Query<Double> query = session.createQuery(hql, Double.class);
-            for (int i = 0; i < params.length; i += 2) {
-                query.setParameter((String) params[i], params[i + 1]);
-            }
-            return query.getSingleResult();
+        try {
+            return executerLecture(session -> {
+                Query<Double> query = session.createQuery(hql, Double.class);
+                appliquerParametres(query, params);
+                return query.getSingleResult();
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de l'exécution de la requête: " + e.getMessage(), e);
         }
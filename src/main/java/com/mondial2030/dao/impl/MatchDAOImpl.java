@@ -1,6 +1,7 @@
 package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.MatchDAO;
+import com.mondial2030.dto.MatchResumeDTO;
 import com.mondial2030.entity.Match;
 import com.mondial2030.entity.PhaseMatch;
 
@@ -18,64 +19,82 @@ import java.util.Optional;
  */
 public class MatchDAOImpl extends GenericDAOImpl<Match, Long> implements MatchDAO {
     
+    // Résumés pour les listes : noms des équipes sans charger les entités Equipe
+    private static final String SELECT_RESUME =
+            "SELECT new com.mondial2030.dto.MatchResumeDTO(m.id, d.nom, e.nom, m.dateHeure, m.stade, m.ville, " +
+            "m.phase, m.groupe, m.termine, m.ticketsDisponibles) " +
+            "FROM Match m LEFT JOIN m.equipeDomicile d LEFT JOIN m.equipeExterieur e ";
+    
     @Override
     public Optional<Match> findByNumeroMatch(String numeroMatch) {
         String hql = "FROM Match m WHERE m.numeroMatch = :numero";
-        return executeSingleResultQuery(hql, "numero", numeroMatch);
+        return executeSingleResultQueryAvecPlan(Match.PLAN_EQUIPES, hql, "numero", numeroMatch);
     }
     
     @Override
     public List<Match> findByPhase(PhaseMatch phase) {
         String hql = "FROM Match m WHERE m.phase = :phase ORDER BY m.dateHeure";
-        return executeQuery(hql, "phase", phase);
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql, "phase", phase);
     }
     
     @Override
     public List<Match> findByGroupe(String groupe) {
         String hql = "FROM Match m WHERE m.groupe = :groupe ORDER BY m.dateHeure";
-        return executeQuery(hql, "groupe", groupe);
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql, "groupe", groupe);
     }
     
     @Override
     public List<Match> findByEquipeId(Long equipeId) {
         String hql = "FROM Match m WHERE m.equipeDomicile.id = :equipeId OR m.equipeExterieur.id = :equipeId ORDER BY m.dateHeure";
-        return executeQuery(hql, "equipeId", equipeId);
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql, "equipeId", equipeId);
     }
     
     @Override
     public List<Match> findMatchsAVenir() {
         String hql = "FROM Match m WHERE m.dateHeure > :now AND m.termine = false ORDER BY m.dateHeure";
-        return executeQuery(hql, "now", LocalDateTime.now());
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql, "now", LocalDateTime.now());
     }
     
     @Override
     public List<Match> findMatchsTermines() {
         String hql = "FROM Match m WHERE m.termine = true ORDER BY m.dateHeure DESC";
-        return executeQuery(hql);
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql);
+    }
+    
+    @Override
+    public List<MatchResumeDTO> findResumes() {
+        String hql = SELECT_RESUME + "ORDER BY m.dateHeure";
+        return executeProjection(hql, MatchResumeDTO.class);
+    }
+    
+    @Override
+    public List<MatchResumeDTO> findResumesAVenir() {
+        String hql = SELECT_RESUME + "WHERE m.dateHeure > :now AND m.termine = false ORDER BY m.dateHeure";
+        return executeProjection(hql, MatchResumeDTO.class, "now", LocalDateTime.now());
     }
     
     @Override
     public List<Match> findByStade(String stade) {
         String hql = "FROM Match m WHERE LOWER(m.stade) LIKE LOWER(:stade) ORDER BY m.dateHeure";
-        return executeQuery(hql, "stade", "%" + stade + "%");
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql, "stade", "%" + stade + "%");
     }
     
     @Override
     public List<Match> findByVille(String ville) {
         String hql = "FROM Match m WHERE LOWER(m.ville) LIKE LOWER(:ville) ORDER BY m.dateHeure";
-        return executeQuery(hql, "ville", "%" + ville + "%");
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql, "ville", "%" + ville + "%");
     }
     
     @Override
     public List<Match> findByDateRange(LocalDateTime debut, LocalDateTime fin) {
         String hql = "FROM Match m WHERE m.dateHeure BETWEEN :debut AND :fin ORDER BY m.dateHeure";
-        return executeQuery(hql, "debut", debut, "fin", fin);
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql, "debut", debut, "fin", fin);
     }
     
     @Override
     public List<Match> findWithTicketsDisponibles() {
         String hql = "FROM Match m WHERE m.ticketsDisponibles > 0 AND m.dateHeure > :now ORDER BY m.dateHeure";
-        return executeQuery(hql, "now", LocalDateTime.now());
+        return executeQueryAvecPlan(Match.PLAN_EQUIPES, hql, "now", LocalDateTime.now());
     }
     
     @Override
@@ -91,9 +110,15 @@ public class MatchDAOImpl extends GenericDAOImpl<Match, Long> implements MatchDA
     }
     
     @Override
-    public void decrementerTicketsDisponibles(Long matchId) {
+    public boolean decrementerTicketsDisponibles(Long matchId) {
         String hql = "UPDATE Match m SET m.ticketsDisponibles = m.ticketsDisponibles - 1 WHERE m.id = :id AND m.ticketsDisponibles > 0";
-        executeUpdate(hql, "id", matchId);
+        return executeUpdate(hql, "id", matchId) > 0;
+    }
+    
+    @Override
+    public void updateTicketsDisponibles(Long matchId, int ticketsDisponibles) {
+        String sql = "UPDATE match_football SET tickets_disponibles = :dispo WHERE id = :id";
+        executeUpdateCompteur(matchId, sql, "dispo", ticketsDisponibles, "id", matchId);
     }
     
     @Override
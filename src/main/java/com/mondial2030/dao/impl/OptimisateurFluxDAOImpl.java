@@ -2,7 +2,6 @@ package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.OptimisateurFluxDAO;
 import com.mondial2030.entity.OptimisateurFlux;
-import org.hibernate.Session;
 import org.hibernate.query.Query;
 
 import java.time.LocalDateTime;
@@ -25,13 +24,15 @@ public class OptimisateurFluxDAOImpl extends GenericDAOImpl<OptimisateurFlux, Lo
     
     @Override
     public Optional<OptimisateurFlux> findDerniereAnalyse(Long matchId) {
-        try (Session session = getSession()) {
-            String hql = "FROM OptimisateurFlux o WHERE o.match.id = :matchId ORDER BY o.dateAnalyse DESC";
-            Query<OptimisateurFlux> query = session.createQuery(hql, OptimisateurFlux.class);
-            query.setParameter("matchId", matchId);
-            query.setMaxResults(1);
-            List<OptimisateurFlux> results = query.getResultList();
-            return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+        try {
+            return executerLecture(session -> {
+                String hql = "FROM OptimisateurFlux o WHERE o.match.id = :matchId ORDER BY o.dateAnalyse DESC";
+                Query<OptimisateurFlux> query = session.createQuery(hql, OptimisateurFlux.class);
+                query.setParameter("matchId", matchId);
+                query.setMaxResults(1);
+                List<OptimisateurFlux> results = query.getResultList();
+                return results.isEmpty() ? Optional.empty() : Optional.of(results.get(0));
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la récupération de la dernière analyse: " + e.getMessage(), e);
         }
@@ -57,11 +58,13 @@ public class OptimisateurFluxDAOImpl extends GenericDAOImpl<OptimisateurFlux, Lo
     
     @Override
     public List<OptimisateurFlux> findDernieresAnalyses(int limite) {
-        try (Session session = getSession()) {
-            String hql = "FROM OptimisateurFlux o ORDER BY o.dateAnalyse DESC";
-            Query<OptimisateurFlux> query = session.createQuery(hql, OptimisateurFlux.class);
-            query.setMaxResults(limite);
-            return query.getResultList();
+        try {
+            return executerLecture(session -> {
+                String hql = "FROM OptimisateurFlux o ORDER BY o.dateAnalyse DESC";
+                Query<OptimisateurFlux> query = session.createQuery(hql, OptimisateurFlux.class);
+                query.setMaxResults(limite);
+                return query.getResultList();
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la récupération des dernières analyses: " + e.getMessage(), e);
         }
@@ -2,7 +2,6 @@ package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.RapportDAO;
 import com.mondial2030.entity.Rapport;
-import org.hibernate.Session;
 import org.hibernate.query.Query;
 
 import java.time.LocalDateTime;
@@ -49,11 +48,13 @@ public class RapportDAOImpl extends GenericDAOImpl<Rapport, Long> implements Rap
     
     @Override
     public List<Rapport> findDerniersRapports(int limite) {
-        try (Session session = getSession()) {
-            String hql = "FROM Rapport r ORDER BY r.dateGeneration DESC";
-            Query<Rapport> query = session.createQuery(hql, Rapport.class);
-            query.setMaxResults(limite);
-            return query.getResultList();
+        try {
+            return executerLecture(session -> {
+                String hql = "FROM Rapport r ORDER BY r.dateGeneration DESC";
+                Query<Rapport> query = session.createQuery(hql, Rapport.class);
+                query.setMaxResults(limite);
+                return query.getResultList();
+            });
         } catch (Exception e) {
             throw new RuntimeException("Erreur lors de la récupération des derniers rapports: " + e.getMessage(), e);
         }
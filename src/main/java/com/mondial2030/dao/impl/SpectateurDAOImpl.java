@@ -2,6 +2,8 @@ package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.SpectateurDAO;
 import com.mondial2030.entity.Spectateur;
+import org.hibernate.query.Query;
+import com.mondial2030.util.MotDePasseUtil;
 import org.mindrot.jbcrypt.BCrypt;
 
 import java.util.List;
@@ -44,13 +46,7 @@ public class SpectateurDAOImpl extends GenericDAOImpl<Spectateur, Long> implemen
         Optional<Spectateur> spectateur = findByEmail(email);
         if (spectateur.isPresent()) {
             Spectateur s = spectateur.get();
-            System.out.println("=== DEBUG AUTH SPECTATEUR ===");
-            System.out.println("Email: " + email);
-            System.out.println("Password entré: " + motDePasse);
-            System.out.println("Hash stocké: " + s.getMotDePasse());
             boolean match = BCrypt.checkpw(motDePasse, s.getMotDePasse());
-            System.out.println("BCrypt match: " + match);
-            System.out.println("=============================");
             if (match) {
                 return spectateur;
             }
@@ -64,10 +60,31 @@ public class SpectateurDAOImpl extends GenericDAOImpl<Spectateur, Long> implemen
         return executeQuery(hql, "ville", "%" + ville + "%");
     }
     
+    @Override
+    public List<Spectateur> rechercher(String texte, int limite) {
+        try {
+            return executerLecture(session -> {
+                String hql = "FROM Spectateur s WHERE LOWER(s.nom) LIKE :motif " +
+                            "OR LOWER(s.prenom) LIKE :motif OR LOWER(s.email) LIKE :motif ORDER BY s.id";
+                Query<Spectateur> query = session.createQuery(hql, Spectateur.class);
+                appliquerParametres(query, "motif", "%" + texte.toLowerCase() + "%");
+                query.setMaxResults(limite);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la recherche de spectateurs: " + e.getMessage(), e);
+        }
+    }
+    
     @Override
     public void incrementerNombreTickets(Long id) {
-        String hql = "UPDATE Spectateur s SET s.nombreTicketsAchetes = s.nombreTicketsAchetes + 1 WHERE s.id = :id";
-        executeUpdate(hql, "id", id);
+        incrementerNombreTickets(id, 1);
+    }
+    
+    @Override
+    public void incrementerNombreTickets(Long id, int quantite) {
+        String hql = "UPDATE Spectateur s SET s.nombreTicketsAchetes = COALESCE(s.nombreTicketsAchetes, 0) + :quantite WHERE s.id = :id";
+        executeUpdate(hql, "quantite", quantite, "id", id);
     }
     
     /**
@@ -78,7 +95,7 @@ public class SpectateurDAOImpl extends GenericDAOImpl<Spectateur, Long> implemen
         // Hacher le mot de passe avant sauvegarde (seulement si pas déjà hashé)
         String password = entity.getMotDePasse();
         if (password != null && !password.startsWith("$2a$") && !password.startsWith("$2b$")) {
-            String hashedPassword = BCrypt.hashpw(password, BCrypt.gensalt());
+            String hashedPassword = MotDePasseUtil.hacher(password);
             entity.setMotDePasse(hashedPassword);
         }
         super.save(entity);
@@ -1,14 +1,22 @@
 package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.TicketDAO;
+import com.mondial2030.dto.TicketLigneDTO;
+import com.mondial2030.dto.VentesMatchDTO;
 import com.mondial2030.entity.Ticket;
 import com.mondial2030.entity.StatutTicket;
 import com.mondial2030.entity.CategorieTicket;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
+import org.hibernate.query.Query;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -19,10 +27,18 @@ import java.util.Optional;
  */
 public class TicketDAOImpl extends GenericDAOImpl<Ticket, Long> implements TicketDAO {
     
+    // Lignes de tableau : une seule requête, uniquement les colonnes affichées
+    private static final String SELECT_LIGNE =
+            "SELECT new com.mondial2030.dto.TicketLigneDTO(t.id, t.numeroTicket, t.codeQR, m.id, " +
+            "d.nom, e.nom, m.dateHeure, m.stade, COALESCE(z.nom, sz.nom), s.numeroSiege, p.nom, p.prenom, " +
+            "t.categorie, t.statut, t.prix, t.transferable) " +
+            "FROM Ticket t JOIN t.match m LEFT JOIN m.equipeDomicile d LEFT JOIN m.equipeExterieur e " +
+            "LEFT JOIN t.zone z LEFT JOIN t.siege s LEFT JOIN s.zone sz LEFT JOIN t.proprietaire p ";
+    
     @Override
     public Optional<Ticket> findByNumeroTicket(String numeroTicket) {
         String hql = "FROM Ticket t WHERE t.numeroTicket = :numero";
-        return executeSingleResultQuery(hql, "numero", numeroTicket);
+        return executeSingleResultQueryAvecPlan(Ticket.PLAN_COMPLET, hql, "numero", numeroTicket);
     }
     
     @Override
@@ -34,7 +50,7 @@ public class TicketDAOImpl extends GenericDAOImpl<Ticket, Long> implements Ticke
     @Override
     public List<Ticket> findBySpectateurId(Long spectateurId) {
         String hql = "FROM Ticket t WHERE t.proprietaire.id = :spectateurId ORDER BY t.dateAchat DESC";
-        return executeQuery(hql, "spectateurId", spectateurId);
+        return executeQueryAvecPlan(Ticket.PLAN_COMPLET, hql, "spectateurId", spectateurId);
     }
     
     @Override
@@ -90,7 +106,8 @@ public class TicketDAOImpl extends GenericDAOImpl<Ticket, Long> implements Ticke
         String hql = "FROM Ticket t WHERE t.proprietaire.id = :spectateurId " +
                     "AND t.transferable = true AND t.statut = :statut " +
                     "AND t.nombreTransferts < 3 AND t.match.dateHeure > :now";
-        return executeQuery(hql, "spectateurId", spectateurId, "statut", StatutTicket.VALIDE, "now", LocalDateTime.now());
+        return executeQueryAvecPlan(Ticket.PLAN_COMPLET, hql,
+                "spectateurId", spectateurId, "statut", StatutTicket.VALIDE, "now", LocalDateTime.now());
     }
     
     @Override
@@ -99,4 +116,166 @@ public class TicketDAOImpl extends GenericDAOImpl<Ticket, Long> implements Ticke
         Double result = executeDoubleQuery(hql, "matchId", matchId, "statut", StatutTicket.VALIDE);
         return result != null ? result : 0.0;
     }
+    
+    @Override
+    public double calculerChiffreAffaires(Collection<StatutTicket> statuts) {
+        String hql = "SELECT SUM(t.prix) FROM Ticket t WHERE t.statut IN (:statuts)";
+        Double result = executeDoubleQuery(hql, "statuts", statuts);
+        return result != null ? result : 0.0;
+    }
+    
+    @Override
+    public Map<CategorieTicket, Long> countParCategorie() {
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT t.categorie, COUNT(t) FROM Ticket t " +
+                            "WHERE t.categorie IS NOT NULL GROUP BY t.categorie";
+                Map<CategorieTicket, Long> resultat = new EnumMap<>(CategorieTicket.class);
+                for (Object[] ligne : session.createQuery(hql, Object[].class).getResultList()) {
+                    resultat.put((CategorieTicket) ligne[0], (Long) ligne[1]);
+                }
+                return resultat;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors du comptage des tickets par catégorie: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<VentesMatchDTO> findMeilleuresVentes(int limite) {
+        try {
+            return executerLecture(session -> {
+                // Comptage sur l'index (match_id, statut), puis noms des seuls matchs retenus
+                String hql = "SELECT t.match.id, COUNT(t) FROM Ticket t " +
+                            "GROUP BY t.match.id ORDER BY COUNT(t) DESC";
+                List<Object[]> comptes = session.createQuery(hql, Object[].class)
+                        .setMaxResults(limite)
+                        .getResultList();
+                if (comptes.isEmpty()) {
+                    return new ArrayList<VentesMatchDTO>();
+                }
+                
+                Map<Long, Long> ticketsParMatch = new HashMap<>();
+                for (Object[] ligne : comptes) {
+                    ticketsParMatch.put((Long) ligne[0], (Long) ligne[1]);
+                }
+                Query<Object[]> noms = session.createQuery(
+                        "SELECT m.id, d.nom, e.nom FROM Match m JOIN m.equipeDomicile d JOIN m.equipeExterieur e " +
+                        "WHERE m.id IN (:ids)", Object[].class);
+                appliquerParametres(noms, "ids", ticketsParMatch.keySet());
+                Map<Long, Object[]> nomsParMatch = new HashMap<>();
+                for (Object[] ligne : noms.getResultList()) {
+                    nomsParMatch.put((Long) ligne[0], ligne);
+                }
+                
+                List<VentesMatchDTO> ventes = new ArrayList<>();
+                for (Object[] ligne : comptes) {
+                    Object[] nom = nomsParMatch.get((Long) ligne[0]);
+                    if (nom != null) {
+                        ventes.add(new VentesMatchDTO((Long) ligne[0], (String) nom[1], (String) nom[2], (Long) ligne[1]));
+                    }
+                }
+                return ventes;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors du classement des ventes par match: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<TicketLigneDTO> findLignesPage(Long apresId, int limite, Tri tri) {
+        try {
+            return executerLecture(session -> {
+                boolean croissant = tri == Tri.CROISSANT;
+                String hql = SELECT_LIGNE +
+                            (apresId != null ? "WHERE t.id " + (croissant ? ">" : "<") + " :apres " : "") +
+                            "ORDER BY t.id " + (croissant ? "ASC" : "DESC");
+                Query<TicketLigneDTO> query = session.createQuery(hql, TicketLigneDTO.class);
+                if (apresId != null) {
+                    query.setParameter("apres", apresId);
+                }
+                query.setMaxResults(limite);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors de la récupération d'une page de tickets: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<TicketLigneDTO> findLignesBySpectateurId(Long spectateurId) {
+        String hql = SELECT_LIGNE + "WHERE t.proprietaire.id = :spectateurId ORDER BY t.dateAchat DESC";
+        return executeProjection(hql, TicketLigneDTO.class, "spectateurId", spectateurId);
+    }
+    
+    @Override
+    public long countBySpectateurId(Long spectateurId) {
+        String hql = "SELECT COUNT(t) FROM Ticket t WHERE t.proprietaire.id = :spectateurId";
+        return executeCountQuery(hql, "spectateurId", spectateurId);
+    }
+    
+    @Override
+    public Map<Long, Long> countPlacesOccupeesParMatch() {
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT t.match.id, COUNT(t) FROM Ticket t " +
+                            "WHERE t.statut NOT IN (:annule, :rembourse) GROUP BY t.match.id";
+                Query<Object[]> query = session.createQuery(hql, Object[].class);
+                appliquerParametres(query, "annule", StatutTicket.ANNULE, "rembourse", StatutTicket.REMBOURSE);
+                Map<Long, Long> resultat = new HashMap<>();
+                for (Object[] ligne : query.getResultList()) {
+                    resultat.put((Long) ligne[0], (Long) ligne[1]);
+                }
+                return resultat;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors du comptage des places occupées: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public Map<Long, Long> countPlacesOccupeesParZone() {
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT COALESCE(z.id, sz.id), COUNT(t) FROM Ticket t " +
+                            "LEFT JOIN t.zone z LEFT JOIN t.siege s LEFT JOIN s.zone sz " +
+                            "WHERE t.statut NOT IN (:annule, :rembourse) AND (z.id IS NOT NULL OR sz.id IS NOT NULL) " +
+                            "GROUP BY COALESCE(z.id, sz.id)";
+                Query<Object[]> query = session.createQuery(hql, Object[].class);
+                appliquerParametres(query, "annule", StatutTicket.ANNULE, "rembourse", StatutTicket.REMBOURSE);
+                Map<Long, Long> resultat = new HashMap<>();
+                for (Object[] ligne : query.getResultList()) {
+                    resultat.put((Long) ligne[0], (Long) ligne[1]);
+                }
+                return resultat;
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors du comptage des places occupées par zone: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public List<Object[]> findEtatsControleParMatch(Long matchId) {
+        try {
+            return executerLecture(session -> {
+                String hql = "SELECT t.id, t.codeQR, t.statut FROM Ticket t " +
+                            "WHERE t.match.id = :matchId AND t.statut IN (:valide, :utilise)";
+                Query<Object[]> query = session.createQuery(hql, Object[].class);
+                appliquerParametres(query, "matchId", matchId,
+                        "valide", StatutTicket.VALIDE, "utilise", StatutTicket.UTILISE);
+                return query.getResultList();
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Erreur lors du chargement des tickets du match: " + e.getMessage(), e);
+        }
+    }
+    
+    @Override
+    public int marquerUtilises(Collection<Long> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        String hql = "UPDATE Ticket t SET t.statut = :utilise WHERE t.id IN (:ids) AND t.statut = :valide";
+        return executeUpdate(hql, "utilise", StatutTicket.UTILISE, "ids", ticketIds, "valide", StatutTicket.VALIDE);
+    }
 }
@@ -2,6 +2,7 @@ package com.mondial2030.dao.impl;
 
 import com.mondial2030.dao.interfaces.UtilisateurDAO;
 import com.mondial2030.entity.Utilisateur;
+import com.mondial2030.util.MotDePasseUtil;
 import org.hibernate.Session;
 import org.hibernate.Transaction;
 import org.mindrot.jbcrypt.BCrypt;
@@ -63,6 +64,12 @@ public class UtilisateurDAOImpl extends GenericDAOImpl<Utilisateur, Long> implem
         executeUpdate(hql, "date", LocalDateTime.now(), "id", id);
     }
     
+    @Override
+    public void updateMotDePasse(Long id, String hache) {
+        String hql = "UPDATE Utilisateur u SET u.motDePasse = :hache WHERE u.id = :id";
+        executeUpdate(hql, "hache", hache, "id", id);
+    }
+    
     @Override
     public void setActif(Long id, boolean actif) {
         String hql = "UPDATE Utilisateur u SET u.actif = :actif WHERE u.id = :id";
@@ -75,7 +82,7 @@ public class UtilisateurDAOImpl extends GenericDAOImpl<Utilisateur, Long> implem
     @Override
     public void save(Utilisateur entity) {
         // Hacher le mot de passe avant sauvegarde
-        String hashedPassword = BCrypt.hashpw(entity.getMotDePasse(), BCrypt.gensalt());
+        String hashedPassword = MotDePasseUtil.hacher(entity.getMotDePasse());
         entity.setMotDePasse(hashedPassword);
         super.save(entity);
     }
@@ -47,8 +47,8 @@ public class ZoneDAOImpl extends GenericDAOImpl<Zone, Long> implements ZoneDAO {
     
     @Override
     public void updatePlacesDisponibles(Long zoneId, int places) {
-        String hql = "UPDATE Zone z SET z.placesDisponibles = :places WHERE z.id = :id";
-        executeUpdate(hql, "places", places, "id", zoneId);
+        String sql = "UPDATE zone SET places_disponibles = :places WHERE id = :id";
+        executeUpdateCompteur(zoneId, sql, "places", places, "id", zoneId);
     }
     
     @Override
@@ -1,5 +1,6 @@
 package com.mondial2030.dao.interfaces;
 
+import com.mondial2030.dto.AlerteLigneDTO;
 import com.mondial2030.entity.Alerte;
 import com.mondial2030.entity.TypeAlerte;
 import com.mondial2030.entity.NiveauAlerte;
@@ -104,6 +105,13 @@ public interface AlerteDAO extends GenericDAO<Alerte, Long> {
      */
     List<Alerte> findBySpectateurId(Long spectateurId);
     
+    /**
+     * Récupère les lignes de tableau des alertes créées par un spectateur
+     * @param spectateurId L'identifiant du spectateur
+     * @return Les lignes, de la plus récente à la plus ancienne
+     */
+    List<AlerteLigneDTO> findLignesBySpectateurId(Long spectateurId);
+    
     /**
      * Recherche les alertes utilisateurs non lues
      * @return Liste des alertes utilisateurs non lues
@@ -136,4 +144,32 @@ public interface AlerteDAO extends GenericDAO<Alerte, Long> {
      * @return Le nombre d'alertes non lues
      */
     long countAlertesUtilisateursNonLues();
+    
+    /**
+     * Trouve une alerte avec son créateur (spectateur) chargé
+     * @param alerteId L'identifiant de l'alerte
+     * @return L'alerte si elle existe
+     */
+    Optional<Alerte> findByIdAvecCreateur(Long alerteId);
+    
+    /**
+     * Trouve l'alerte système non résolue d'un match, d'une zone, d'un type
+     * et d'un niveau donnés (la plus récente)
+     * @param matchId L'identifiant du match (null pour aucun match)
+     * @param zoneId L'identifiant de la zone (null pour aucune zone)
+     * @param type Le type d'alerte
+     * @param niveau Le niveau d'alerte
+     * @return L'alerte ouverte si elle existe
+     */
+    Optional<Alerte> findOuverte(Long matchId, Long zoneId, TypeAlerte type, NiveauAlerte niveau);
+    
+    /**
+     * Met à jour en place les occurrences d'une alerte ouverte
+     * @param alerteId L'identifiant de l'alerte
+     * @param nombreOccurrences Le nombre total d'occurrences
+     * @param derniereOccurrence La date de la dernière occurrence
+     * @param message Le message de la dernière occurrence
+     * @return Le nombre de lignes modifiées (0 si l'alerte est résolue ou absente)
+     */
+    int mettreAJourOccurrences(Long alerteId, int nombreOccurrences, LocalDateTime derniereOccurrence, String message);
 }
@@ -0,0 +1,79 @@
+package com.mondial2030.dao.interfaces;
+
+import com.mondial2030.dto.PointFluxDTO;
+import com.mondial2030.entity.EchantillonFlux;
+import java.util.List;
+
+/**
+ * Interface DAO pour la série temporelle d'occupation des zones.
+ * Les bornes de temps sont exprimées en secondes epoch.
+ * 
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public interface EchantillonFluxDAO extends GenericDAO<EchantillonFlux, EchantillonFlux.Cle> {
+    
+    /**
+     * Série d'une zone sur [debut, fin[
+     * @param zoneId L'identifiant de la zone
+     * @param resolution La résolution en secondes
+     * @param debut Le début de la période
+     * @param fin La fin de la période
+     * @return Les points dans l'ordre chronologique
+     */
+    List<PointFluxDTO> findSerieZone(Long zoneId, int resolution, long debut, long fin);
+    
+    /**
+     * Série d'un match sur [debut, fin[, zones cumulées
+     * @param matchId L'identifiant du match
+     * @param resolution La résolution en secondes
+     * @param debut Le début de la période
+     * @param fin La fin de la période
+     * @return Les points dans l'ordre chronologique
+     */
+    List<PointFluxDTO> findSerieMatch(Long matchId, int resolution, long debut, long fin);
+    
+    /**
+     * Recherche les matchs ayant des échantillons sur [debut, fin[
+     * @param resolution La résolution en secondes
+     * @param debut Le début de la période
+     * @param fin La fin de la période
+     * @return Les identifiants des matchs
+     */
+    List<Long> findMatchIds(int resolution, long debut, long fin);
+    
+    /**
+     * Ajoute des échantillons par lots JDBC ; un échantillon dont la clé
+     * (zone, résolution, début) existe déjà est ignoré
+     * @param echantillons Les échantillons à ajouter
+     * @return Le nombre d'échantillons ajoutés
+     */
+    int insererSansDoublon(List<EchantillonFlux> echantillons);
+    
+    /**
+     * Agrège les échantillons d'une résolution vers une résolution plus
+     * grossière, pour les fenêtres cibles comprises dans [depuis, avant[.
+     * Les fenêtres déjà agrégées sont ignorées.
+     * @param source La résolution des échantillons lus
+     * @param cible La résolution des échantillons écrits (multiple de source)
+     * @param depuis Le début de la première fenêtre cible
+     * @param avant La fin de la dernière fenêtre cible
+     * @return Le nombre d'échantillons écrits
+     */
+    int agreger(int source, int cible, long depuis, long avant);
+    
+    /**
+     * Retourne le début de la dernière fenêtre enregistrée pour une résolution
+     * @param resolution La résolution en secondes
+     * @return Le début en secondes epoch, ou null si la série est vide
+     */
+    Long findDernierDebut(int resolution);
+    
+    /**
+     * Supprime les échantillons d'une résolution antérieurs à une date
+     * @param resolution La résolution en secondes
+     * @param avant La limite en secondes epoch
+     * @return Le nombre d'échantillons supprimés
+     */
+    int supprimerAvant(int resolution, long avant);
+}
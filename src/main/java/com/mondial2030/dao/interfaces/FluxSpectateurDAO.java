@@ -83,4 +83,17 @@ public interface FluxSpectateurDAO extends GenericDAO<FluxSpectateurs, Long> {
      * @param zoneId L'identifiant de la zone
      */
     void enregistrerSortie(Long matchId, Long zoneId);
+    
+    /**
+     * Écrit les compteurs d'un relevé de flux (entrées, sorties, occupation)
+     * @param fluxId L'identifiant du relevé
+     * @param nombreEntrees Le nombre d'entrées
+     * @param nombreSorties Le nombre de sorties
+     * @param occupation L'occupation actuelle
+     * @param densite La densité en pourcentage de la capacité
+     * @param horodatage La date du relevé
+     * @return Le nombre de lignes mises à jour
+     */
+    int mettreAJourCompteurs(Long fluxId, int nombreEntrees, int nombreSorties, int occupation,
+                             Double densite, LocalDateTime horodatage);
 }
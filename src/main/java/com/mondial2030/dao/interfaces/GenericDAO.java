@@ -1,5 +1,6 @@
 package com.mondial2030.dao.interfaces;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +20,12 @@ public interface GenericDAO<T, ID> {
      */
     void save(T entity);
     
+    /**
+     * Sauvegarde plusieurs entités en lots JDBC
+     * @param entities Les entités à sauvegarder
+     */
+    void saveAll(Collection<T> entities);
+    
     /**
      * Met à jour une entité
      * @param entity L'entité à mettre à jour
@@ -38,12 +45,47 @@ public interface GenericDAO<T, ID> {
      */
     Optional<T> findById(ID id);
     
+    /**
+     * Recherche une entité par son identifiant, en chargeant dans la même
+     * requête les associations d'un plan de chargement
+     * @param id L'identifiant de l'entité
+     * @param plan Le nom du plan (graphe d'entité nommé de l'entité)
+     * @return L'entité trouvée ou empty
+     */
+    Optional<T> findById(ID id, String plan);
+    
     /**
      * Récupère toutes les entités
      * @return Liste de toutes les entités
      */
     List<T> findAll();
     
+    /**
+     * Récupère toutes les entités avec les associations d'un plan de chargement
+     * @param plan Le nom du plan (graphe d'entité nommé de l'entité)
+     * @return Liste de toutes les entités
+     */
+    List<T> findAll(String plan);
+    
+    /**
+     * Récupère une page d'entités par clé (keyset) : les entités dont
+     * l'identifiant suit apresId dans l'ordre demandé, sans OFFSET
+     * @param apresId Identifiant de la dernière entité de la page précédente, null pour la première page
+     * @param limite Le nombre maximal d'entités
+     * @param tri L'ordre des identifiants
+     * @return La page, dans l'ordre demandé
+     */
+    List<T> findPage(ID apresId, int limite, Tri tri);
+    
+    /**
+     * Récupère l'identifiant d'une entité d'après son rang dans l'ordre
+     * demandé (borne d'une page atteinte sans passer par les précédentes)
+     * @param rang Le rang, à partir de 0
+     * @param tri L'ordre des identifiants
+     * @return L'identifiant trouvé ou empty
+     */
+    Optional<ID> findIdAuRang(long rang, Tri tri);
+    
     /**
      * Compte le nombre total d'entités
      * @return Le nombre d'entités
@@ -56,4 +98,12 @@ public interface GenericDAO<T, ID> {
      * @return true si l'entité existe
      */
     boolean existsById(ID id);
+    
+    /**
+     * Ordre des identifiants pour la pagination
+     */
+    enum Tri {
+        CROISSANT,
+        DECROISSANT
+    }
 }
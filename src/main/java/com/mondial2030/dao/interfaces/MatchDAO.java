@@ -1,5 +1,6 @@
 package com.mondial2030.dao.interfaces;
 
+import com.mondial2030.dto.MatchResumeDTO;
 import com.mondial2030.entity.Match;
 import com.mondial2030.entity.PhaseMatch;
 import java.time.LocalDateTime;
@@ -54,6 +55,18 @@ public interface MatchDAO extends GenericDAO<Match, Long> {
      */
     List<Match> findMatchsTermines();
     
+    /**
+     * Récupère le résumé de tous les matchs
+     * @return Liste des résumés, par date
+     */
+    List<MatchResumeDTO> findResumes();
+    
+    /**
+     * Récupère le résumé des matchs à venir
+     * @return Liste des résumés des matchs à venir, par date
+     */
+    List<MatchResumeDTO> findResumesAVenir();
+    
     /**
      * Recherche les matchs par stade
      * @param stade Le nom du stade
@@ -99,8 +112,17 @@ public interface MatchDAO extends GenericDAO<Match, Long> {
     /**
      * Décrémente le nombre de tickets disponibles
      * @param matchId L'identifiant du match
+     * @return true si un ticket était disponible et a été décompté
+     */
+    boolean decrementerTicketsDisponibles(Long matchId);
+    
+    /**
+     * Fixe le nombre de tickets disponibles d'un match ; seul ce match
+     * est évincé du cache de second niveau
+     * @param matchId L'identifiant du match
+     * @param ticketsDisponibles Le nouveau nombre de tickets disponibles
      */
-    void decrementerTicketsDisponibles(Long matchId);
+    void updateTicketsDisponibles(Long matchId, int ticketsDisponibles);
     
     /**
      * Récupère les matchs du jour
@@ -55,9 +55,24 @@ public interface SpectateurDAO extends GenericDAO<Spectateur, Long> {
      */
     List<Spectateur> findByVille(String ville);
     
+    /**
+     * Recherche des spectateurs dont le nom, le prénom ou l'email contient un texte
+     * @param texte Le texte recherché, sans distinction de casse
+     * @param limite Le nombre maximal de spectateurs
+     * @return Les spectateurs trouvés, par identifiant
+     */
+    List<Spectateur> rechercher(String texte, int limite);
+    
     /**
      * Incrémente le nombre de tickets achetés
      * @param id L'identifiant du spectateur
      */
     void incrementerNombreTickets(Long id);
+    
+    /**
+     * Incrémente le nombre de tickets achetés d'une quantité donnée
+     * @param id L'identifiant du spectateur
+     * @param quantite Le nombre de tickets ajoutés
+     */
+    void incrementerNombreTickets(Long id, int quantite);
 }
@@ -1,9 +1,13 @@
 package com.mondial2030.dao.interfaces;
 
+import com.mondial2030.dto.TicketLigneDTO;
+import com.mondial2030.dto.VentesMatchDTO;
 import com.mondial2030.entity.Ticket;
 import com.mondial2030.entity.StatutTicket;
 import com.mondial2030.entity.CategorieTicket;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -104,4 +108,76 @@ public interface TicketDAO extends GenericDAO<Ticket, Long> {
      * @return Le total des revenus
      */
     Double calculerRevenusMatch(Long matchId);
+    
+    /**
+     * Calcule la somme des prix des tickets ayant l'un des statuts donnés
+     * @param statuts Les statuts retenus
+     * @return Le chiffre d'affaires
+     */
+    double calculerChiffreAffaires(Collection<StatutTicket> statuts);
+    
+    /**
+     * Compte les tickets de chaque catégorie
+     * @return Nombre de tickets par catégorie
+     */
+    Map<CategorieTicket, Long> countParCategorie();
+    
+    /**
+     * Récupère les matchs ayant le plus de tickets
+     * @param limite Le nombre de matchs
+     * @return Les ventes par match, du plus au moins vendu
+     */
+    List<VentesMatchDTO> findMeilleuresVentes(int limite);
+    
+    /**
+     * Récupère une page de lignes de tableau, par clé (identifiant du ticket)
+     * @param apresId Identifiant après lequel commence la page (null pour la première)
+     * @param limite Le nombre maximal de lignes
+     * @param tri L'ordre des identifiants
+     * @return Les lignes de la page
+     */
+    List<TicketLigneDTO> findLignesPage(Long apresId, int limite, Tri tri);
+    
+    /**
+     * Récupère les lignes de tableau des tickets d'un spectateur
+     * @param spectateurId L'identifiant du spectateur
+     * @return Les lignes, du ticket le plus récent au plus ancien
+     */
+    List<TicketLigneDTO> findLignesBySpectateurId(Long spectateurId);
+    
+    /**
+     * Compte les tickets d'un spectateur
+     * @param spectateurId L'identifiant du spectateur
+     * @return Le nombre de tickets
+     */
+    long countBySpectateurId(Long spectateurId);
+    
+    /**
+     * Compte, pour chaque match, les tickets qui occupent une place
+     * (tous statuts sauf annulé et remboursé)
+     * @return Nombre de places occupées par identifiant de match
+     */
+    Map<Long, Long> countPlacesOccupeesParMatch();
+    
+    /**
+     * Compte en une requête les places occupées dans chaque zone
+     * (tous statuts sauf annulé et remboursé, zone du ticket ou de son siège)
+     * @return Nombre de places occupées par identifiant de zone
+     */
+    Map<Long, Long> countPlacesOccupeesParZone();
+    
+    /**
+     * Récupère l'identifiant, le code QR et le statut des tickets valides
+     * ou utilisés d'un match (chargement de l'index de contrôle d'accès)
+     * @param matchId L'identifiant du match
+     * @return Lignes [id, codeQR, statut]
+     */
+    List<Object[]> findEtatsControleParMatch(Long matchId);
+    
+    /**
+     * Passe au statut UTILISE les tickets encore valides parmi ceux donnés
+     * @param ticketIds Les identifiants des tickets
+     * @return Le nombre de tickets modifiés
+     */
+    int marquerUtilises(Collection<Long> ticketIds);
 }
@@ -53,6 +53,13 @@ public interface UtilisateurDAO extends GenericDAO<Utilisateur, Long> {
      */
     void updateDerniereConnexion(Long id);
     
+    /**
+     * Remplace le mot de passe haché d'un utilisateur
+     * @param id L'identifiant de l'utilisateur
+     * @param hache Le nouveau haché
+     */
+    void updateMotDePasse(Long id, String hache);
+    
     /**
      * Active ou désactive un utilisateur
      * @param id L'identifiant de l'utilisateur
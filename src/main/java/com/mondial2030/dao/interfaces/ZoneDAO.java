@@ -48,7 +48,8 @@ public interface ZoneDAO extends GenericDAO<Zone, Long> {
     List<Zone> findWithPlacesDisponibles(Long matchId);
     
     /**
-     * Met à jour le nombre de places disponibles
+     * Met à jour le nombre de places disponibles ; seule cette zone est
+     * évincée du cache de second niveau
      * @param zoneId L'identifiant de la zone
      * @param places Le nouveau nombre de places
      */
@@ -0,0 +1,86 @@
+package com.mondial2030.dto;
+
+import com.mondial2030.entity.NiveauAlerte;
+import com.mondial2030.entity.TypeAlerte;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne du tableau des alertes d'un spectateur : contenu de l'alerte et
+ * réponse de l'administrateur, sans le match, la zone ni les utilisateurs liés.
+ * Projection en lecture seule, sans entité.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class AlerteLigneDTO {
+
+    private final Long id;
+    private final String titre;
+    private final String message;
+    private final TypeAlerte typeAlerte;
+    private final NiveauAlerte niveau;
+    private final LocalDateTime dateCreation;
+    private final Boolean lueParAdmin;
+    private final String reponseAdmin;
+    private final LocalDateTime dateReponse;
+
+    public AlerteLigneDTO(Long id, String titre, String message, TypeAlerte typeAlerte, NiveauAlerte niveau,
+                          LocalDateTime dateCreation, Boolean lueParAdmin, String reponseAdmin,
+                          LocalDateTime dateReponse) {
+        this.id = id;
+        this.titre = titre;
+        this.message = message;
+        this.typeAlerte = typeAlerte;
+        this.niveau = niveau;
+        this.dateCreation = dateCreation;
+        this.lueParAdmin = lueParAdmin;
+        this.reponseAdmin = reponseAdmin;
+        this.dateReponse = dateReponse;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitre() {
+        return titre;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public TypeAlerte getTypeAlerte() {
+        return typeAlerte;
+    }
+
+    public NiveauAlerte getNiveau() {
+        return niveau;
+    }
+
+    public LocalDateTime getDateCreation() {
+        return dateCreation;
+    }
+
+    public String getReponseAdmin() {
+        return reponseAdmin;
+    }
+
+    public LocalDateTime getDateReponse() {
+        return dateReponse;
+    }
+
+    public boolean estLue() {
+        return Boolean.TRUE.equals(lueParAdmin);
+    }
+
+    public boolean aReponse() {
+        return reponseAdmin != null && !reponseAdmin.trim().isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "AlerteLigneDTO{id=" + id + ", titre='" + titre + "'}";
+    }
+}
@@ -0,0 +1,80 @@
+package com.mondial2030.dto;
+
+/**
+ * État instantané d'une zone suivie en mémoire par les compteurs de
+ * tourniquets : occupation, densité et débit d'entrée lissé.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class EtatZoneDTO {
+
+    private final Long zoneId;
+    private final String nomZone;
+    private final int capacite;
+    private final int occupation;
+    private final Double densite;
+    private final double densiteMax;
+    private final double debitEntrees;
+
+    public EtatZoneDTO(Long zoneId, String nomZone, int capacite, int occupation, Double densite,
+                       double densiteMax, double debitEntrees) {
+        this.zoneId = zoneId;
+        this.nomZone = nomZone;
+        this.capacite = capacite;
+        this.occupation = occupation;
+        this.densite = densite;
+        this.densiteMax = densiteMax;
+        this.debitEntrees = debitEntrees;
+    }
+
+    public Long getZoneId() {
+        return zoneId;
+    }
+
+    public String getNomZone() {
+        return nomZone;
+    }
+
+    public int getCapacite() {
+        return capacite;
+    }
+
+    public int getOccupation() {
+        return occupation;
+    }
+
+    /**
+     * Densité actuelle en %, ou null si la capacité de la zone est inconnue
+     */
+    public Double getDensite() {
+        return densite;
+    }
+
+    /**
+     * Densité la plus haute atteinte depuis le chargement des compteurs (%)
+     */
+    public double getDensiteMax() {
+        return densiteMax;
+    }
+
+    /**
+     * Débit d'entrée lissé (moyenne mobile exponentielle), en entrées par minute
+     */
+    public double getDebitEntrees() {
+        return debitEntrees;
+    }
+
+    /**
+     * Mêmes seuils que FluxSpectateurs.estEnSurpopulation
+     */
+    public boolean estEnSurpopulation() {
+        return densite != null && densite > 90;
+    }
+
+    @Override
+    public String toString() {
+        return "EtatZoneDTO{zone=" + nomZone + ", occupation=" + occupation + "/" + capacite +
+                ", debitEntrees=" + String.format("%.1f", debitEntrees) + "/min}";
+    }
+}
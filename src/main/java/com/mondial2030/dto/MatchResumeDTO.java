@@ -0,0 +1,96 @@
+package com.mondial2030.dto;
+
+import com.mondial2030.entity.PhaseMatch;
+
+import java.time.LocalDateTime;
+
+/**
+ * Résumé d'un match pour les listes : noms des équipes, date, lieu, phase
+ * et places disponibles, sans les entités Equipe ni les collections du match.
+ * Projection en lecture seule, sans entité.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class MatchResumeDTO {
+
+    private final Long id;
+    private final String equipeDomicile;
+    private final String equipeExterieur;
+    private final LocalDateTime dateHeure;
+    private final String stade;
+    private final String ville;
+    private final PhaseMatch phase;
+    private final String groupe;
+    private final Boolean termine;
+    private final Integer ticketsDisponibles;
+
+    public MatchResumeDTO(Long id, String equipeDomicile, String equipeExterieur, LocalDateTime dateHeure,
+                          String stade, String ville, PhaseMatch phase, String groupe,
+                          Boolean termine, Integer ticketsDisponibles) {
+        this.id = id;
+        this.equipeDomicile = equipeDomicile;
+        this.equipeExterieur = equipeExterieur;
+        this.dateHeure = dateHeure;
+        this.stade = stade;
+        this.ville = ville;
+        this.phase = phase;
+        this.groupe = groupe;
+        this.termine = termine;
+        this.ticketsDisponibles = ticketsDisponibles;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getEquipeDomicile() {
+        return equipeDomicile;
+    }
+
+    public String getEquipeExterieur() {
+        return equipeExterieur;
+    }
+
+    public LocalDateTime getDateHeure() {
+        return dateHeure;
+    }
+
+    public String getStade() {
+        return stade;
+    }
+
+    public String getVille() {
+        return ville;
+    }
+
+    public PhaseMatch getPhase() {
+        return phase;
+    }
+
+    public String getGroupe() {
+        return groupe;
+    }
+
+    public boolean isTermine() {
+        return Boolean.TRUE.equals(termine);
+    }
+
+    public int getPlacesDisponibles() {
+        return ticketsDisponibles != null ? ticketsDisponibles : 0;
+    }
+
+    /**
+     * Libellé du match (équipe domicile vs équipe extérieur)
+     */
+    public String getLibelleMatch() {
+        String domicile = equipeDomicile != null ? equipeDomicile : "TBD";
+        String exterieur = equipeExterieur != null ? equipeExterieur : "TBD";
+        return domicile + " vs " + exterieur;
+    }
+
+    @Override
+    public String toString() {
+        return getLibelleMatch() + " - " + (dateHeure != null ? dateHeure.toString() : "Date TBD");
+    }
+}
@@ -0,0 +1,66 @@
+package com.mondial2030.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Point d'une série d'occupation (une zone ou un match entier) sur une
+ * fenêtre de temps. Projection en lecture seule, sans entité.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class PointFluxDTO {
+
+    private final LocalDateTime debut;
+    private final long entrees;
+    private final long sorties;
+    private final double occupation;
+    private final long occupationMax;
+    private final long capacite;
+
+    public PointFluxDTO(Long debut, Long entrees, Long sorties, Double occupation,
+                        Long occupationMax, Long capacite) {
+        this.debut = LocalDateTime.ofInstant(Instant.ofEpochSecond(debut), ZoneId.systemDefault());
+        this.entrees = entrees != null ? entrees : 0;
+        this.sorties = sorties != null ? sorties : 0;
+        this.occupation = occupation != null ? occupation : 0;
+        this.occupationMax = occupationMax != null ? occupationMax : 0;
+        this.capacite = capacite != null ? capacite : 0;
+    }
+
+    public LocalDateTime getDebut() {
+        return debut;
+    }
+
+    public long getEntrees() {
+        return entrees;
+    }
+
+    public long getSorties() {
+        return sorties;
+    }
+
+    /**
+     * Occupation moyenne sur la fenêtre
+     */
+    public double getOccupation() {
+        return occupation;
+    }
+
+    public long getOccupationMax() {
+        return occupationMax;
+    }
+
+    public long getCapacite() {
+        return capacite;
+    }
+
+    /**
+     * Densité moyenne sur la fenêtre, en pourcentage de la capacité
+     */
+    public double getDensite() {
+        return capacite > 0 ? occupation / capacite * 100 : 0;
+    }
+}
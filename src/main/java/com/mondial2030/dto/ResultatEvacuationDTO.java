@@ -0,0 +1,79 @@
+package com.mondial2030.dto;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Résultat d'une simulation d'évacuation pour un scénario : temps total,
+ * temps de vidage de chaque zone et goulets d'étranglement.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class ResultatEvacuationDTO {
+
+    private final String scenario;
+    private final int nombreSpectateurs;
+    private final boolean complete;
+    private final int tempsTotal;
+    private final Map<String, Integer> tempsParZone;
+    private final List<String> goulets;
+
+    public ResultatEvacuationDTO(String scenario, int nombreSpectateurs, boolean complete, int tempsTotal,
+                                 Map<String, Integer> tempsParZone, List<String> goulets) {
+        this.scenario = scenario;
+        this.nombreSpectateurs = nombreSpectateurs;
+        this.complete = complete;
+        this.tempsTotal = tempsTotal;
+        this.tempsParZone = Collections.unmodifiableMap(tempsParZone);
+        this.goulets = Collections.unmodifiableList(goulets);
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public int getNombreSpectateurs() {
+        return nombreSpectateurs;
+    }
+
+    /**
+     * Faux si des spectateurs restent dans le stade à la fin de la durée simulée
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Temps de sortie du dernier spectateur, en secondes
+     */
+    public int getTempsTotal() {
+        return tempsTotal;
+    }
+
+    public int getTempsTotalMinutes() {
+        return (int) Math.ceil(tempsTotal / 60.0);
+    }
+
+    /**
+     * Temps de vidage des gradins de chaque zone, en secondes, par nom de zone
+     */
+    public Map<String, Integer> getTempsParZone() {
+        return tempsParZone;
+    }
+
+    /**
+     * Éléments du réseau restés saturés le plus longtemps, du plus au moins long
+     */
+    public List<String> getGoulets() {
+        return goulets;
+    }
+
+    @Override
+    public String toString() {
+        return "ResultatEvacuationDTO{" + scenario + ", spectateurs=" + nombreSpectateurs +
+                ", temps=" + getTempsTotalMinutes() + " min" + (complete ? "" : " (incomplète)") +
+                ", goulets=" + goulets + '}';
+    }
+}
@@ -0,0 +1,82 @@
+package com.mondial2030.dto;
+
+import com.mondial2030.entity.CategorieTicket;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indicateurs du tableau de bord administrateur, calculés par agrégats SQL :
+ * totaux, chiffre d'affaires, tickets par catégorie et matchs les plus vendus.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class TableauDeBordDTO {
+
+    private final long totalMatchs;
+    private final long totalTickets;
+    private final long totalSpectateurs;
+    private final long totalAlertes;
+    private final double chiffreAffaires;
+    private final Map<CategorieTicket, Long> ticketsParCategorie;
+    private final List<VentesMatchDTO> meilleuresVentes;
+
+    public TableauDeBordDTO(long totalMatchs, long totalTickets, long totalSpectateurs, long totalAlertes,
+                            double chiffreAffaires, Map<CategorieTicket, Long> ticketsParCategorie,
+                            List<VentesMatchDTO> meilleuresVentes) {
+        this.totalMatchs = totalMatchs;
+        this.totalTickets = totalTickets;
+        this.totalSpectateurs = totalSpectateurs;
+        this.totalAlertes = totalAlertes;
+        this.chiffreAffaires = chiffreAffaires;
+        this.ticketsParCategorie = Collections.unmodifiableMap(ticketsParCategorie);
+        this.meilleuresVentes = Collections.unmodifiableList(meilleuresVentes);
+    }
+
+    public long getTotalMatchs() {
+        return totalMatchs;
+    }
+
+    public long getTotalTickets() {
+        return totalTickets;
+    }
+
+    public long getTotalSpectateurs() {
+        return totalSpectateurs;
+    }
+
+    /**
+     * Nombre d'alertes non résolues
+     */
+    public long getTotalAlertes() {
+        return totalAlertes;
+    }
+
+    /**
+     * Somme des prix des tickets valides ou utilisés
+     */
+    public double getChiffreAffaires() {
+        return chiffreAffaires;
+    }
+
+    public Map<CategorieTicket, Long> getTicketsParCategorie() {
+        return ticketsParCategorie;
+    }
+
+    /**
+     * Matchs ayant le plus de tickets, du plus au moins vendu
+     */
+    public List<VentesMatchDTO> getMeilleuresVentes() {
+        return meilleuresVentes;
+    }
+
+    @Override
+    public String toString() {
+        return "TableauDeBordDTO{matchs=" + totalMatchs + ", tickets=" + totalTickets +
+                ", spectateurs=" + totalSpectateurs + ", alertes=" + totalAlertes +
+                ", chiffreAffaires=" + chiffreAffaires + ", parCategorie=" + ticketsParCategorie +
+                ", meilleuresVentes=" + meilleuresVentes + '}';
+    }
+}
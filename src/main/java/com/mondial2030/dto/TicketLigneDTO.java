@@ -0,0 +1,142 @@
+package com.mondial2030.dto;
+
+import com.mondial2030.entity.CategorieTicket;
+import com.mondial2030.entity.StatutTicket;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ligne d'un tableau de tickets : colonnes du ticket, de son match, de sa
+ * place et de son propriétaire, lues en une seule requête.
+ * Projection en lecture seule, sans entité.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class TicketLigneDTO {
+
+    private final Long id;
+    private final String numeroTicket;
+    private final String codeQR;
+    private final Long matchId;
+    private final String equipeDomicile;
+    private final String equipeExterieur;
+    private final LocalDateTime dateMatch;
+    private final String stade;
+    private final String zone;
+    private final String siege;
+    private final String nomProprietaire;
+    private final String prenomProprietaire;
+    private final CategorieTicket categorie;
+    private final StatutTicket statut;
+    private final Double prix;
+    private final Boolean transferable;
+
+    public TicketLigneDTO(Long id, String numeroTicket, String codeQR, Long matchId,
+                          String equipeDomicile, String equipeExterieur, LocalDateTime dateMatch, String stade,
+                          String zone, String siege, String nomProprietaire, String prenomProprietaire,
+                          CategorieTicket categorie, StatutTicket statut, Double prix, Boolean transferable) {
+        this.id = id;
+        this.numeroTicket = numeroTicket;
+        this.codeQR = codeQR;
+        this.matchId = matchId;
+        this.equipeDomicile = equipeDomicile;
+        this.equipeExterieur = equipeExterieur;
+        this.dateMatch = dateMatch;
+        this.stade = stade;
+        this.zone = zone;
+        this.siege = siege;
+        this.nomProprietaire = nomProprietaire;
+        this.prenomProprietaire = prenomProprietaire;
+        this.categorie = categorie;
+        this.statut = statut;
+        this.prix = prix;
+        this.transferable = transferable;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getNumeroTicket() {
+        return numeroTicket;
+    }
+
+    public String getCodeQR() {
+        return codeQR;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public String getEquipeDomicile() {
+        return equipeDomicile;
+    }
+
+    public String getEquipeExterieur() {
+        return equipeExterieur;
+    }
+
+    public LocalDateTime getDateMatch() {
+        return dateMatch;
+    }
+
+    public String getStade() {
+        return stade;
+    }
+
+    /**
+     * Nom de la zone du siège, null si aucun siège n'est assigné
+     */
+    public String getZone() {
+        return zone;
+    }
+
+    /**
+     * Numéro du siège, null si aucun siège n'est assigné
+     */
+    public String getSiege() {
+        return siege;
+    }
+
+    public CategorieTicket getCategorie() {
+        return categorie;
+    }
+
+    public StatutTicket getStatut() {
+        return statut;
+    }
+
+    public Double getPrix() {
+        return prix;
+    }
+
+    public boolean isTransferable() {
+        return Boolean.TRUE.equals(transferable);
+    }
+
+    /**
+     * Libellé du match (équipe domicile vs équipe extérieur)
+     */
+    public String getLibelleMatch() {
+        String domicile = equipeDomicile != null ? equipeDomicile : "TBD";
+        String exterieur = equipeExterieur != null ? equipeExterieur : "TBD";
+        return domicile + " vs " + exterieur;
+    }
+
+    /**
+     * Nom et prénom du propriétaire, chaîne vide si le ticket n'en a pas
+     */
+    public String getNomCompletProprietaire() {
+        if (nomProprietaire == null) {
+            return "";
+        }
+        return nomProprietaire + " " + prenomProprietaire;
+    }
+
+    @Override
+    public String toString() {
+        return "TicketLigneDTO{id=" + id + ", " + getLibelleMatch() + ", statut=" + statut + '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.mondial2030.dto;
+
+/**
+ * Nombre de tickets d'un match, avec les noms des deux équipes.
+ * Projection en lecture seule, sans entité.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class VentesMatchDTO {
+
+    private final Long matchId;
+    private final String equipeDomicile;
+    private final String equipeExterieur;
+    private final long nombreTickets;
+
+    public VentesMatchDTO(Long matchId, String equipeDomicile, String equipeExterieur, long nombreTickets) {
+        this.matchId = matchId;
+        this.equipeDomicile = equipeDomicile;
+        this.equipeExterieur = equipeExterieur;
+        this.nombreTickets = nombreTickets;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public String getEquipeDomicile() {
+        return equipeDomicile;
+    }
+
+    public String getEquipeExterieur() {
+        return equipeExterieur;
+    }
+
+    public long getNombreTickets() {
+        return nombreTickets;
+    }
+
+    /**
+     * Libellé court pour les graphiques : trois premières lettres de chaque équipe
+     */
+    public String getLibelleCourt() {
+        return abreger(equipeDomicile) + " vs " + abreger(equipeExterieur);
+    }
+
+    private static String abreger(String nom) {
+        return nom.length() > 3 ? nom.substring(0, 3) : nom;
+    }
+
+    @Override
+    public String toString() {
+        return "VentesMatchDTO{" + equipeDomicile + " vs " + equipeExterieur + ", tickets=" + nombreTickets + '}';
+    }
+}
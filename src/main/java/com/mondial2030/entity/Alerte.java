@@ -10,7 +10,13 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
-@Table(name = "alerte")
+@Table(name = "alerte", indexes = {
+    @Index(name = "idx_alerte_resolue_niveau_date", columnList = "resolue, niveau, date_creation"),
+    @Index(name = "idx_alerte_match_date", columnList = "match_id, date_creation"),
+    @Index(name = "idx_alerte_zone_date", columnList = "zone_id, date_creation"),
+    @Index(name = "idx_alerte_createur_date", columnList = "creee_par_id, date_creation"),
+    @Index(name = "idx_alerte_date", columnList = "date_creation")
+})
 public class Alerte {
 
     @Id
@@ -44,6 +50,12 @@ public class Alerte {
     @Column(name = "source", length = 100)
     private String source;
 
+    @Column(name = "nombre_occurrences")
+    private Integer nombreOccurrences;
+
+    @Column(name = "date_derniere_occurrence")
+    private LocalDateTime dateDerniereOccurrence;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "match_id")
     private Match match;
@@ -85,6 +97,8 @@ public class Alerte {
         this.dateCreation = LocalDateTime.now();
         this.resolue = false;
         this.lueParAdmin = false;
+        this.nombreOccurrences = 1;
+        this.dateDerniereOccurrence = this.dateCreation;
     }
 
     // Constructeur avec paramètres
@@ -169,6 +183,22 @@ public class Alerte {
         this.source = source;
     }
 
+    public Integer getNombreOccurrences() {
+        return nombreOccurrences;
+    }
+
+    public void setNombreOccurrences(Integer nombreOccurrences) {
+        this.nombreOccurrences = nombreOccurrences;
+    }
+
+    public LocalDateTime getDateDerniereOccurrence() {
+        return dateDerniereOccurrence;
+    }
+
+    public void setDateDerniereOccurrence(LocalDateTime dateDerniereOccurrence) {
+        this.dateDerniereOccurrence = dateDerniereOccurrence;
+    }
+
     public Match getMatch() {
         return match;
     }
@@ -0,0 +1,195 @@
+package com.mondial2030.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Échantillon d'occupation d'une zone sur une fenêtre de temps.
+ * Série temporelle en ajout seul : une ligne par zone, résolution (1 s,
+ * 1 min ou 15 min) et début de fenêtre. Les identifiants sont de simples
+ * colonnes (pas d'association) et le début est stocké en secondes epoch,
+ * pour garder des lignes compactes.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+@Entity
+@Table(name = "flux_echantillon", indexes = {
+    @Index(name = "idx_echantillon_zone", columnList = "zone_id, resolution, debut"),
+    @Index(name = "idx_echantillon_match", columnList = "match_id, resolution, debut")
+})
+@IdClass(EchantillonFlux.Cle.class)
+public class EchantillonFlux {
+
+    /**
+     * Résolutions de la série, en secondes
+     */
+    public static final int RESOLUTION_SECONDE = 1;
+    public static final int RESOLUTION_MINUTE = 60;
+    public static final int RESOLUTION_QUART_HEURE = 900;
+
+    @Id
+    @Column(name = "zone_id")
+    private Long zoneId;
+
+    @Id
+    @Column(name = "resolution")
+    private Integer resolution;
+
+    @Id
+    @Column(name = "debut")
+    private Long debut;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(name = "entrees")
+    private Integer entrees;
+
+    @Column(name = "sorties")
+    private Integer sorties;
+
+    @Column(name = "occupation")
+    private Double occupation;
+
+    @Column(name = "occupation_max")
+    private Integer occupationMax;
+
+    @Column(name = "capacite")
+    private Integer capacite;
+
+    // Constructeur par défaut
+    public EchantillonFlux() {
+    }
+
+    /**
+     * Échantillon à la seconde : occupation relevée à l'instant debut
+     */
+    public EchantillonFlux(Long matchId, Long zoneId, long debut, int entrees, int sorties,
+                           int occupation, int capacite) {
+        this.matchId = matchId;
+        this.zoneId = zoneId;
+        this.resolution = RESOLUTION_SECONDE;
+        this.debut = debut;
+        this.entrees = entrees;
+        this.sorties = sorties;
+        this.occupation = (double) occupation;
+        this.occupationMax = occupation;
+        this.capacite = capacite;
+    }
+
+    // Getters et Setters
+
+    public Long getZoneId() {
+        return zoneId;
+    }
+
+    public void setZoneId(Long zoneId) {
+        this.zoneId = zoneId;
+    }
+
+    public Integer getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(Integer resolution) {
+        this.resolution = resolution;
+    }
+
+    public Long getDebut() {
+        return debut;
+    }
+
+    public void setDebut(Long debut) {
+        this.debut = debut;
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public void setMatchId(Long matchId) {
+        this.matchId = matchId;
+    }
+
+    public Integer getEntrees() {
+        return entrees;
+    }
+
+    public void setEntrees(Integer entrees) {
+        this.entrees = entrees;
+    }
+
+    public Integer getSorties() {
+        return sorties;
+    }
+
+    public void setSorties(Integer sorties) {
+        this.sorties = sorties;
+    }
+
+    public Double getOccupation() {
+        return occupation;
+    }
+
+    public void setOccupation(Double occupation) {
+        this.occupation = occupation;
+    }
+
+    public Integer getOccupationMax() {
+        return occupationMax;
+    }
+
+    public void setOccupationMax(Integer occupationMax) {
+        this.occupationMax = occupationMax;
+    }
+
+    public Integer getCapacite() {
+        return capacite;
+    }
+
+    public void setCapacite(Integer capacite) {
+        this.capacite = capacite;
+    }
+
+    /**
+     * Clé de la série : zone, résolution et début de fenêtre
+     */
+    public static class Cle implements Serializable {
+
+        private Long zoneId;
+        private Integer resolution;
+        private Long debut;
+
+        public Cle() {
+        }
+
+        public Cle(Long zoneId, Integer resolution, Long debut) {
+            this.zoneId = zoneId;
+            this.resolution = resolution;
+            this.debut = debut;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Cle)) return false;
+            Cle cle = (Cle) o;
+            return Objects.equals(zoneId, cle.zoneId)
+                    && Objects.equals(resolution, cle.resolution)
+                    && Objects.equals(debut, cle.debut);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(zoneId, resolution, debut);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EchantillonFlux{zone=" + zoneId + ", resolution=" + resolution + "s, debut=" + debut +
+                ", occupation=" + occupation + "/" + capacite + '}';
+    }
+}
@@ -11,7 +11,11 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
-@Table(name = "flux_spectateurs")
+@Table(name = "flux_spectateurs", indexes = {
+    @Index(name = "idx_flux_zone_horodatage", columnList = "zone_id, horodatage"),
+    @Index(name = "idx_flux_match_zone_horodatage", columnList = "match_id, zone_id, horodatage"),
+    @Index(name = "idx_flux_horodatage", columnList = "horodatage")
+})
 public class FluxSpectateurs {
 
     @Id
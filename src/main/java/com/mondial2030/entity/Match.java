@@ -1,6 +1,8 @@
 package com.mondial2030.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,8 +15,19 @@ import java.util.List;
  */
 @Entity
 @Table(name = "match_football")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(name = Match.PLAN_EQUIPES, attributeNodes = {
+    @NamedAttributeNode("equipeDomicile"),
+    @NamedAttributeNode("equipeExterieur")
+})
 public class Match {
 
+    /**
+     * Plan de chargement : le match et ses deux équipes (affichage du libellé)
+     */
+    public static final String PLAN_EQUIPES = "Match.equipes";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id")
@@ -23,11 +36,11 @@ public class Match {
     @Column(name = "numero_match", unique = true, length = 20)
     private String numeroMatch;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "equipe_domicile_id")
     private Equipe equipeDomicile;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "equipe_exterieur_id")
     private Equipe equipeExterieur;
 
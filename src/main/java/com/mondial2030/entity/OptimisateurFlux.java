@@ -200,9 +200,17 @@ public class OptimisateurFlux {
             }
         }
 
-        this.densiteMoyenne = totalDensite / fluxList.size();
-        this.densiteMax = maxDensite;
-        this.zonesCritiques = String.join(", ", zonesCritiquesListe);
+        appliquerAgregats(totalDensite / fluxList.size(), maxDensite, zonesCritiquesListe);
+    }
+
+    /**
+     * Termine l'analyse à partir d'agrégats déjà calculés (densités des
+     * zones et zones en surpopulation) : score et recommandations.
+     */
+    public void appliquerAgregats(double densiteMoyenne, double densiteMax, List<String> zonesCritiques) {
+        this.densiteMoyenne = densiteMoyenne;
+        this.densiteMax = densiteMax;
+        this.zonesCritiques = String.join(", ", zonesCritiques);
 
         // Calcul du score d'efficacité
         this.scoreEfficacite = calculerScoreEfficacite();
@@ -259,15 +267,6 @@ public class OptimisateurFlux {
         this.recommandations = reco.toString();
     }
 
-    /**
-     * Estime le temps d'évacuation en minutes
-     */
-    public void estimerTempsEvacuation(int nombreSpectateurs, int nombrePortes) {
-        // Estimation: 50 personnes par minute par porte
-        int capaciteEvacuation = nombrePortes * 50;
-        this.tempsEvacuationEstime = (int) Math.ceil((double) nombreSpectateurs / capaciteEvacuation);
-    }
-
     @Override
     public String toString() {
         return "OptimisateurFlux{" +
@@ -1,6 +1,8 @@
 package com.mondial2030.entity;
 
+import com.mondial2030.util.IdentifiantPreAlloueGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
@@ -11,11 +13,36 @@ import java.util.UUID;
  * @version 1.0
  */
 @Entity
-@Table(name = "ticket")
+@Table(name = "ticket", indexes = {
+    @Index(name = "idx_ticket_match_statut", columnList = "match_id, statut"),
+    @Index(name = "idx_ticket_proprietaire_date", columnList = "proprietaire_id, date_achat"),
+    @Index(name = "idx_ticket_statut_prix", columnList = "statut, prix"),
+    @Index(name = "idx_ticket_categorie", columnList = "categorie")
+})
+@NamedEntityGraph(name = Ticket.PLAN_COMPLET, attributeNodes = {
+    @NamedAttributeNode(value = "match", subgraph = "match"),
+    @NamedAttributeNode("zone"),
+    @NamedAttributeNode(value = "siege", subgraph = "siege")
+}, subgraphs = {
+    @NamedSubgraph(name = "match", attributeNodes = {
+        @NamedAttributeNode("equipeDomicile"),
+        @NamedAttributeNode("equipeExterieur")
+    }),
+    @NamedSubgraph(name = "siege", attributeNodes = @NamedAttributeNode("zone"))
+})
 public class Ticket {
 
+    /**
+     * Plan de chargement : le ticket avec son match et ses équipes, son
+     * siège et sa zone (affichage complet, PDF, transfert, annulation).
+     * Le propriétaire reste paresseux : sa jointure (héritage JOINED) ferait
+     * matérialiser par SQLite toute la table spectateur à chaque lecture.
+     */
+    public static final String PLAN_COMPLET = "Ticket.complet";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "ticket_id")
+    @GenericGenerator(name = "ticket_id", type = IdentifiantPreAlloueGenerator.class)
     @Column(name = "id")
     private Long id;
 
@@ -25,18 +52,22 @@ public class Ticket {
     @Column(name = "code_qr", unique = true, length = 255)
     private String codeQR;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "match_id", nullable = false)
     private Match match;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "proprietaire_id")
     private Spectateur proprietaire;
 
-    @OneToOne(fetch = FetchType.EAGER)
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "siege_id")
     private Siege siege;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "zone_id")
+    private Zone zone;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "categorie")
     private CategorieTicket categorie;
@@ -148,6 +179,10 @@ public class Ticket {
         this.siege = siege;
     }
 
+    public void setZone(Zone zone) {
+        this.zone = zone;
+    }
+
     public CategorieTicket getCategorie() {
         return categorie;
     }
@@ -273,9 +308,12 @@ public class Ticket {
     }
 
     /**
-     * Retourne la zone du ticket (via le siège s'il existe)
+     * Retourne la zone du ticket (celle de l'achat, sinon celle du siège)
      */
     public Zone getZone() {
+        if (zone != null) {
+            return zone;
+        }
         return siege != null ? siege.getZone() : null;
     }
 
@@ -290,7 +328,7 @@ public class Ticket {
     public String toString() {
         return "Ticket{" +
                 "numero='" + numeroTicket + '\'' +
-                ", match=" + (match != null ? match.getLibelleMatch() : "N/A") +
+                ", match=" + (match != null ? match.getId() : "N/A") +
                 ", statut=" + statut +
                 ", prix=" + prix +
                 '}';
@@ -1,6 +1,8 @@
 package com.mondial2030.entity;
 
+import com.mondial2030.util.IdentifiantPreAlloueGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.GenericGenerator;
 import java.time.LocalDateTime;
 
 /**
@@ -10,22 +12,29 @@ import java.time.LocalDateTime;
  * @version 1.0
  */
 @Entity
-@Table(name = "transaction_paiement")
+@Table(name = "transaction_paiement", indexes = {
+    @Index(name = "idx_transaction_spectateur_date", columnList = "spectateur_id, date_creation"),
+    @Index(name = "idx_transaction_ticket", columnList = "ticket_id"),
+    @Index(name = "idx_transaction_statut_date", columnList = "statut, date_creation"),
+    @Index(name = "idx_transaction_type_date", columnList = "type_transaction, date_creation"),
+    @Index(name = "idx_transaction_date", columnList = "date_creation")
+})
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "transaction_id")
+    @GenericGenerator(name = "transaction_id", type = IdentifiantPreAlloueGenerator.class)
     @Column(name = "id")
     private Long id;
 
     @Column(name = "numero_transaction", unique = true, nullable = false, length = 50)
     private String numeroTransaction;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "spectateur_id")
     private Spectateur spectateur;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "ticket_id")
     private Ticket ticket;
 
@@ -1,6 +1,10 @@
 package com.mondial2030.entity;
 
+import com.mondial2030.util.IdentifiantPreAlloueGenerator;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,11 +15,16 @@ import java.util.List;
  * @version 1.0
  */
 @Entity
-@Table(name = "zone")
+@Table(name = "zone", indexes = {
+    @Index(name = "idx_zone_match", columnList = "match_id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 public class Zone {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = "zone_id")
+    @GenericGenerator(name = "zone_id", type = IdentifiantPreAlloueGenerator.class)
     @Column(name = "id")
     private Long id;
 
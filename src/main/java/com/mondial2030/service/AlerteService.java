@@ -6,28 +6,67 @@ import com.mondial2030.dao.impl.FluxSpectateurDAOImpl;
 import com.mondial2030.dao.interfaces.AlerteDAO;
 import com.mondial2030.dao.interfaces.ZoneDAO;
 import com.mondial2030.dao.interfaces.FluxSpectateurDAO;
+import com.mondial2030.dto.AlerteLigneDTO;
 import com.mondial2030.entity.*;
+import com.mondial2030.util.ConfigUtil;
+import com.mondial2030.util.HibernateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Service de gestion des alertes.
+ * Les alertes de zone et de match sont regroupées par (match, zone, type,
+ * niveau) : tant qu'une alerte de même clé est ouverte, un nouveau signal
+ * incrémente son nombre d'occurrences et sa date de dernière occurrence au
+ * lieu d'insérer une ligne. Ces compteurs sont tenus en mémoire et écrits
+ * toutes les alert.coalescence.intervalle ms.
+ * L'escalade et l'hystérésis sont gérées en mémoire : un niveau supérieur
+ * ouvre aussitôt une alerte à ce niveau, alors qu'un niveau inférieur est
+ * compté sur l'alerte du niveau courant tant que celui-ci a été signalé
+ * depuis moins de alert.hysteresis ms.
+ * Chaque création, mise à jour, lecture ou résolution est publiée sur le
+ * BusAlertes, qui garde aussi les alertes récentes en mémoire.
  * 
  * @author Mondial 2030 Team
  * @version 1.0
  */
 public class AlerteService {
     
+    private static final Logger logger = LoggerFactory.getLogger(AlerteService.class);
     private static AlerteService instance;
     private final AlerteDAO alerteDAO;
     private final ZoneDAO zoneDAO;
     private final FluxSpectateurDAO fluxDAO;
+    private final BusAlertes bus;
+    
+    // Alertes ouvertes par (match, zone, type, niveau)
+    private final Map<CleAlerte, AlerteOuverte> alertesOuvertes = new ConcurrentHashMap<>();
+    // Dernier niveau signalé par (match, zone, type), clé sans niveau
+    private final Map<CleAlerte, NiveauCourant> niveauxCourants = new ConcurrentHashMap<>();
+    
+    private final long intervalleEcriture;
+    private final long delaiHysteresis;
+    private ScheduledExecutorService planificateur;
     
     private AlerteService() {
         this.alerteDAO = new AlerteDAOImpl();
         this.zoneDAO = new ZoneDAOImpl();
         this.fluxDAO = new FluxSpectateurDAOImpl();
+        this.bus = BusAlertes.getInstance();
+        this.intervalleEcriture = Math.max(ConfigUtil.getLong("alert.coalescence.intervalle", 5000), 100);
+        this.delaiHysteresis = Math.max(ConfigUtil.getLong("alert.hysteresis", 300000), 0);
     }
     
     public static synchronized AlerteService getInstance() {
@@ -37,36 +76,65 @@ public class AlerteService {
         return instance;
     }
     
+    /**
+     * Charge les alertes récentes et démarre l'écriture périodique des
+     * occurrences des alertes ouvertes. Appelé au démarrage de l'application.
+     */
+    public synchronized void demarrer() {
+        if (planificateur == null) {
+            chargerAlertesRecentes();
+            planificateur = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "alertes-occurrences");
+                thread.setDaemon(true);
+                return thread;
+            });
+            planificateur.scheduleWithFixedDelay(this::ecrireOccurrencesSansErreur,
+                    intervalleEcriture, intervalleEcriture, TimeUnit.MILLISECONDS);
+            logger.info("Regroupement des alertes démarré (écriture toutes les {} ms).", intervalleEcriture);
+        }
+    }
+    
+    /**
+     * Arrête l'écriture périodique et écrit les dernières occurrences.
+     * Doit être appelé avant la fermeture de la SessionFactory.
+     */
+    public synchronized void arreter() {
+        if (planificateur != null) {
+            planificateur.shutdown();
+            try {
+                planificateur.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            planificateur = null;
+        }
+        ecrireOccurrencesSansErreur();
+    }
+    
     /**
      * Crée une nouvelle alerte
      */
     public Alerte creerAlerte(String titre, String message, TypeAlerte type, NiveauAlerte niveau) {
         Alerte alerte = new Alerte(titre, message, type, niveau);
         alerteDAO.save(alerte);
+        publierCreation(alerte);
         return alerte;
     }
     
     /**
-     * Crée une alerte pour une zone
+     * Signale une alerte pour une zone : une alerte ouverte de même clé est
+     * mise à jour, sinon une nouvelle alerte est créée
      */
     public Alerte creerAlerteZone(Zone zone, String titre, String message, TypeAlerte type, NiveauAlerte niveau) {
-        Alerte alerte = new Alerte(titre, message, type, niveau);
-        alerte.setZone(zone);
-        if (zone.getMatch() != null) {
-            alerte.setMatch(zone.getMatch());
-        }
-        alerteDAO.save(alerte);
-        return alerte;
+        return signaler(zone.getMatch(), zone, titre, message, type, niveau);
     }
     
     /**
-     * Crée une alerte pour un match
+     * Signale une alerte pour un match : une alerte ouverte de même clé est
+     * mise à jour, sinon une nouvelle alerte est créée
      */
     public Alerte creerAlerteMatch(Match match, String titre, String message, TypeAlerte type, NiveauAlerte niveau) {
-        Alerte alerte = new Alerte(titre, message, type, niveau);
-        alerte.setMatch(match);
-        alerteDAO.save(alerte);
-        return alerte;
+        return signaler(match, null, titre, message, type, niveau);
     }
     
     /**
@@ -74,6 +142,8 @@ public class AlerteService {
      */
     public void resoudreAlerte(Long alerteId, Administrateur admin, String commentaire) {
         alerteDAO.resoudre(alerteId, admin.getId(), commentaire);
+        oublierAlerte(alerteId);
+        publierEtat(alerteId, EvenementAlerte.Type.RESOLUE);
     }
     
     /**
@@ -90,6 +160,29 @@ public class AlerteService {
         return alerteDAO.findNonResolues();
     }
     
+    /**
+     * Récupère les alertes récentes (alert.recentes.capacite au plus), de la
+     * plus récente à la plus ancienne, sans lecture en base
+     */
+    public List<Alerte> getAlertesRecentes() {
+        if (!bus.estInitialise()) {
+            chargerAlertesRecentes();
+        }
+        return bus.getAlertesRecentes();
+    }
+    
+    /**
+     * Abonne un observateur aux changements des alertes (appelé dans le
+     * thread qui modifie l'alerte)
+     */
+    public void abonner(Consumer<EvenementAlerte> abonne) {
+        bus.abonner(abonne);
+    }
+    
+    public void desabonner(Consumer<EvenementAlerte> abonne) {
+        bus.desabonner(abonne);
+    }
+    
     /**
      * Récupère les alertes critiques non résolues
      */
@@ -115,52 +208,53 @@ public class AlerteService {
      * Vérifie la surpopulation dans les zones et crée des alertes si nécessaire
      */
     public void verifierSurpopulation(Long matchId) {
-        List<Zone> zones = zoneDAO.findByMatchId(matchId);
+        HibernateUtil.runInTransaction(session -> {
+            List<Zone> zones = zoneDAO.findByMatchId(matchId);
         
-        for (Zone zone : zones) {
-            double tauxOccupation = zone.getTauxOccupation();
+            for (Zone zone : zones) {
+                double tauxOccupation = zone.getTauxOccupation();
             
-            if (tauxOccupation > 95) {
-                // Alerte critique
-                String titre = "Surpopulation critique - " + zone.getNom();
-                String message = String.format("La zone %s a atteint %.1f%% de sa capacité. Action immédiate requise!", 
-                                               zone.getNom(), tauxOccupation);
-                creerAlerteZone(zone, titre, message, TypeAlerte.SURPOPULATION, NiveauAlerte.CRITIQUE);
-            } else if (tauxOccupation > 85) {
-                // Alerte élevée
-                String titre = "Surpopulation - " + zone.getNom();
-                String message = String.format("La zone %s a atteint %.1f%% de sa capacité.", 
-                                               zone.getNom(), tauxOccupation);
-                creerAlerteZone(zone, titre, message, TypeAlerte.SURPOPULATION, NiveauAlerte.ELEVE);
-            } else if (tauxOccupation > 75) {
-                // Alerte moyenne
-                String titre = "Zone densément peuplée - " + zone.getNom();
-                String message = String.format("La zone %s a atteint %.1f%% de sa capacité.", 
-                                               zone.getNom(), tauxOccupation);
-                creerAlerteZone(zone, titre, message, TypeAlerte.SURPOPULATION, NiveauAlerte.MOYEN);
+                if (tauxOccupation > 95) {
+                    // Alerte critique
+                    String titre = "Surpopulation critique - " + zone.getNom();
+                    String message = String.format("La zone %s a atteint %.1f%% de sa capacité. Action immédiate requise!", 
+                                                   zone.getNom(), tauxOccupation);
+                    creerAlerteZone(zone, titre, message, TypeAlerte.SURPOPULATION, NiveauAlerte.CRITIQUE);
+                } else if (tauxOccupation > 85) {
+                    // Alerte élevée
+                    String titre = "Surpopulation - " + zone.getNom();
+                    String message = String.format("La zone %s a atteint %.1f%% de sa capacité.", 
+                                                   zone.getNom(), tauxOccupation);
+                    creerAlerteZone(zone, titre, message, TypeAlerte.SURPOPULATION, NiveauAlerte.ELEVE);
+                } else if (tauxOccupation > 75) {
+                    // Alerte moyenne
+                    String titre = "Zone densément peuplée - " + zone.getNom();
+                    String message = String.format("La zone %s a atteint %.1f%% de sa capacité.", 
+                                                   zone.getNom(), tauxOccupation);
+                    creerAlerteZone(zone, titre, message, TypeAlerte.SURPOPULATION, NiveauAlerte.MOYEN);
+                }
             }
-        }
+        });
     }
     
     /**
      * Vérifie les flux de spectateurs et génère des alertes
      */
     public void verifierFluxSpectateurs(Long matchId) {
-        List<FluxSpectateurs> flux = fluxDAO.findByMatchId(matchId);
-        
-        for (FluxSpectateurs f : flux) {
-            if (f.estCapaciteCritique()) {
-                String titre = "Flux critique détecté";
-                String message = String.format("Zone %s: densité %.1f%%, temps d'attente estimé: %d minutes",
-                                               f.getZone() != null ? f.getZone().getNom() : "Inconnue",
-                                               f.getDensite(),
-                                               f.getTempsAttenteMoyen() != null ? f.getTempsAttenteMoyen() : 0);
-                Alerte alerte = new Alerte(titre, message, TypeAlerte.SURPOPULATION, NiveauAlerte.CRITIQUE);
-                alerte.setMatch(f.getMatch());
-                alerte.setZone(f.getZone());
-                alerteDAO.save(alerte);
+        HibernateUtil.runInTransaction(session -> {
+            List<FluxSpectateurs> flux = fluxDAO.findByMatchId(matchId);
+        
+            for (FluxSpectateurs f : flux) {
+                if (f.estCapaciteCritique()) {
+                    String titre = "Flux critique détecté";
+                    String message = String.format("Zone %s: densité %.1f%%, temps d'attente estimé: %d minutes",
+                                                   f.getZone() != null ? f.getZone().getNom() : "Inconnue",
+                                                   f.getDensite(),
+                                                   f.getTempsAttenteMoyen() != null ? f.getTempsAttenteMoyen() : 0);
+                    signaler(f.getMatch(), f.getZone(), titre, message, TypeAlerte.SURPOPULATION, NiveauAlerte.CRITIQUE);
+                }
             }
-        }
+        });
     }
     
     /**
@@ -208,6 +302,7 @@ public class AlerteService {
         alerte.setCreeePar(spectateur);
         alerte.setSource("Utilisateur: " + spectateur.getNom() + " " + spectateur.getPrenom());
         alerteDAO.save(alerte);
+        publierCreation(alerte);
         return alerte;
     }
     
@@ -218,6 +313,13 @@ public class AlerteService {
         return alerteDAO.findBySpectateurId(spectateurId);
     }
     
+    /**
+     * Récupère les lignes de tableau des alertes d'un spectateur
+     */
+    public List<AlerteLigneDTO> getLignesAlertesSpectateur(Long spectateurId) {
+        return alerteDAO.findLignesBySpectateurId(spectateurId);
+    }
+    
     /**
      * Récupère toutes les alertes créées par des utilisateurs
      */
@@ -237,6 +339,7 @@ public class AlerteService {
      */
     public void marquerCommeLue(Long alerteId, Administrateur admin) {
         alerteDAO.marquerCommeLue(alerteId, admin.getId());
+        publierEtat(alerteId, EvenementAlerte.Type.LUE);
     }
     
     /**
@@ -244,6 +347,8 @@ public class AlerteService {
      */
     public void repondreAlerte(Long alerteId, Administrateur admin, String reponse) {
         alerteDAO.repondre(alerteId, admin.getId(), reponse);
+        oublierAlerte(alerteId);
+        publierEtat(alerteId, EvenementAlerte.Type.RESOLUE);
     }
     
     /**
@@ -252,4 +357,260 @@ public class AlerteService {
     public long compterAlertesUtilisateursNonLues() {
         return alerteDAO.countAlertesUtilisateursNonLues();
     }
+    
+    // ===== REGROUPEMENT DES ALERTES SYSTÈME =====
+    
+    /**
+     * Compte un signal sur l'alerte ouverte de même clé ou crée l'alerte.
+     * Aucun verrou n'est tenu pendant les accès à la base : le premier
+     * signal d'une clé réserve l'entrée, les signaux concurrents y sont
+     * simplement comptés. Une alerte créée n'est publiée qu'après la
+     * validation de la transaction de l'appelant ; si elle est annulée,
+     * l'entrée réservée est libérée.
+     */
+    private Alerte signaler(Match match, Zone zone, String titre, String message, TypeAlerte type, NiveauAlerte niveau) {
+        Long matchId = match != null ? match.getId() : null;
+        Long zoneId = zone != null ? zone.getId() : null;
+        
+        // Hystérésis : un niveau inférieur est compté sur l'alerte du niveau courant
+        NiveauAlerte effectif = niveauEffectif(new CleAlerte(matchId, zoneId, type, null), niveau);
+        AlerteOuverte ouverte = alertesOuvertes.get(new CleAlerte(matchId, zoneId, type, effectif));
+        if (ouverte == null) {
+            effectif = niveau;
+        }
+        CleAlerte cle = new CleAlerte(matchId, zoneId, type, effectif);
+        if (ouverte == null) {
+            ouverte = alertesOuvertes.get(cle);
+        }
+        if (ouverte != null) {
+            ouverte.occurrence(message);
+            return ouverte.alerte;
+        }
+        
+        Alerte alerte = new Alerte(titre, message, type, niveau);
+        alerte.setMatch(match);
+        alerte.setZone(zone);
+        AlerteOuverte nouvelle = new AlerteOuverte(alerte);
+        ouverte = alertesOuvertes.putIfAbsent(cle, nouvelle);
+        if (ouverte != null) {
+            ouverte.occurrence(message);
+            return ouverte.alerte;
+        }
+        try {
+            Optional<Alerte> enBase = alerteDAO.findOuverte(matchId, zoneId, type, niveau);
+            if (enBase.isPresent()) {
+                nouvelle.rattacher(enBase.get(), message);
+            } else {
+                alerteDAO.save(alerte);
+                // Comptée en base et publiée seulement si la transaction de l'appelant est validée
+                HibernateUtil.apresTransaction(() -> {
+                    nouvelle.enregistree();
+                    bus.publier(new EvenementAlerte(EvenementAlerte.Type.CREEE, alerte));
+                }, () -> alertesOuvertes.remove(cle, nouvelle));
+            }
+        } catch (RuntimeException e) {
+            alertesOuvertes.remove(cle, nouvelle);
+            throw e;
+        }
+        return nouvelle.alerte;
+    }
+    
+    /**
+     * Niveau sur lequel compter un signal : le niveau courant s'il est
+     * supérieur et a été signalé depuis moins de alert.hysteresis ms,
+     * sinon le niveau signalé, qui devient le niveau courant
+     */
+    private NiveauAlerte niveauEffectif(CleAlerte cle, NiveauAlerte niveau) {
+        long maintenant = System.currentTimeMillis();
+        NiveauCourant courant = niveauxCourants.get(cle);
+        if (courant != null && courant.niveau.compareTo(niveau) > 0
+                && maintenant - courant.dernierSignal < delaiHysteresis) {
+            return courant.niveau;
+        }
+        niveauxCourants.put(cle, new NiveauCourant(niveau, maintenant));
+        return niveau;
+    }
+    
+    /**
+     * Écrit en une transaction les occurrences comptées depuis la dernière
+     * écriture. Les alertes résolues entre-temps sont oubliées.
+     */
+    public void ecrireOccurrences() {
+        List<AlerteOuverte> modifiees = new ArrayList<>();
+        List<Object[]> valeurs = new ArrayList<>();
+        for (AlerteOuverte ouverte : alertesOuvertes.values()) {
+            Object[] valeur = ouverte.prelever();
+            if (valeur != null) {
+                modifiees.add(ouverte);
+                valeurs.add(valeur);
+            }
+        }
+        if (modifiees.isEmpty()) {
+            return;
+        }
+        
+        List<AlerteOuverte> resolues = new ArrayList<>();
+        try {
+            HibernateUtil.runInTransaction(session -> {
+                for (int i = 0; i < modifiees.size(); i++) {
+                    Object[] valeur = valeurs.get(i);
+                    int lignes = alerteDAO.mettreAJourOccurrences(modifiees.get(i).alerte.getId(),
+                            (Integer) valeur[0], (LocalDateTime) valeur[1], (String) valeur[2]);
+                    if (lignes == 0) {
+                        resolues.add(modifiees.get(i));
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            modifiees.forEach(AlerteOuverte::aEcrire);
+            throw e;
+        }
+        alertesOuvertes.values().removeAll(resolues);
+        for (AlerteOuverte ouverte : modifiees) {
+            if (!resolues.contains(ouverte)) {
+                bus.publier(new EvenementAlerte(EvenementAlerte.Type.MISE_A_JOUR, ouverte.alerte));
+            }
+        }
+    }
+    
+    private void ecrireOccurrencesSansErreur() {
+        try {
+            ecrireOccurrences();
+        } catch (Exception e) {
+            logger.error("Échec de l'écriture des occurrences d'alertes", e);
+        }
+    }
+    
+    /**
+     * Publie une alerte créée, après la validation de la transaction en cours
+     */
+    private void publierCreation(Alerte alerte) {
+        HibernateUtil.apresTransaction(() -> bus.publier(new EvenementAlerte(EvenementAlerte.Type.CREEE, alerte)), () -> { });
+    }
+    
+    /**
+     * Relit une alerte modifiée en base et publie son nouvel état
+     */
+    private void publierEtat(Long alerteId, EvenementAlerte.Type type) {
+        alerteDAO.findByIdAvecCreateur(alerteId)
+                .ifPresent(alerte -> bus.publier(new EvenementAlerte(type, alerte)));
+    }
+    
+    private void chargerAlertesRecentes() {
+        bus.initialiser(alerteDAO.findDernieresAlertes(bus.getCapacite()));
+    }
+    
+    /**
+     * Retire une alerte résolue du regroupement : le prochain signal de même
+     * clé ouvrira une nouvelle alerte
+     */
+    private void oublierAlerte(Long alerteId) {
+        alertesOuvertes.values().removeIf(ouverte -> alerteId.equals(ouverte.alerte.getId()));
+    }
+    
+    /**
+     * Clé de regroupement : match, zone, type et niveau (null pour la clé
+     * du niveau courant)
+     */
+    private static final class CleAlerte {
+        
+        private final Long matchId;
+        private final Long zoneId;
+        private final TypeAlerte type;
+        private final NiveauAlerte niveau;
+        
+        CleAlerte(Long matchId, Long zoneId, TypeAlerte type, NiveauAlerte niveau) {
+            this.matchId = matchId;
+            this.zoneId = zoneId;
+            this.type = type;
+            this.niveau = niveau;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof CleAlerte)) return false;
+            CleAlerte cle = (CleAlerte) o;
+            return Objects.equals(matchId, cle.matchId) && Objects.equals(zoneId, cle.zoneId)
+                    && type == cle.type && niveau == cle.niveau;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(matchId, zoneId, type, niveau);
+        }
+    }
+    
+    private static final class NiveauCourant {
+        
+        private final NiveauAlerte niveau;
+        private final long dernierSignal;
+        
+        NiveauCourant(NiveauAlerte niveau, long dernierSignal) {
+            this.niveau = niveau;
+            this.dernierSignal = dernierSignal;
+        }
+    }
+    
+    /**
+     * Alerte ouverte et occurrences comptées en mémoire. L'alerte n'est
+     * écrite qu'une fois enregistrée (ou retrouvée) en base.
+     */
+    private static final class AlerteOuverte {
+        
+        private volatile Alerte alerte;
+        private boolean enBase;
+        private boolean modifiee;
+        private int occurrences = 1;
+        private LocalDateTime derniereOccurrence;
+        private String message;
+        
+        AlerteOuverte(Alerte alerte) {
+            this.alerte = alerte;
+            this.derniereOccurrence = alerte.getDateCreation();
+            this.message = alerte.getMessage();
+        }
+        
+        synchronized void occurrence(String message) {
+            occurrences++;
+            derniereOccurrence = LocalDateTime.now();
+            this.message = message;
+            modifiee = true;
+        }
+        
+        synchronized void enregistree() {
+            enBase = true;
+        }
+        
+        /**
+         * Reprend une alerte déjà ouverte en base (après un redémarrage)
+         */
+        synchronized void rattacher(Alerte existante, String message) {
+            int enregistrees = existante.getNombreOccurrences() != null ? existante.getNombreOccurrences() : 1;
+            occurrences += enregistrees;
+            derniereOccurrence = LocalDateTime.now();
+            this.message = message;
+            alerte = existante;
+            enBase = true;
+            modifiee = true;
+        }
+        
+        /**
+         * Occurrences à écrire (nombre, date, message), ou null si rien n'a changé
+         */
+        synchronized Object[] prelever() {
+            if (!enBase || !modifiee) {
+                return null;
+            }
+            modifiee = false;
+            alerte.setNombreOccurrences(occurrences);
+            alerte.setDateDerniereOccurrence(derniereOccurrence);
+            alerte.setMessage(message);
+            return new Object[] { occurrences, derniereOccurrence, message };
+        }
+        
+        synchronized void aEcrire() {
+            modifiee = true;
+        }
+    }
 }
@@ -0,0 +1,186 @@
+package com.mondial2030.service;
+
+import com.mondial2030.dao.impl.MatchDAOImpl;
+import com.mondial2030.dao.impl.OptimisateurFluxDAOImpl;
+import com.mondial2030.dao.interfaces.MatchDAO;
+import com.mondial2030.dao.interfaces.OptimisateurFluxDAO;
+import com.mondial2030.dto.EtatZoneDTO;
+import com.mondial2030.dto.ResultatEvacuationDTO;
+import com.mondial2030.entity.Match;
+import com.mondial2030.entity.OptimisateurFlux;
+import com.mondial2030.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service d'analyse incrémentale des flux.
+ * L'analyse d'un match se calcule en O(zones) à partir de l'état en mémoire
+ * des compteurs de tourniquets (densités, densité maximale, débits d'entrée
+ * lissés), sans relire les relevés en base ; le temps d'évacuation vient
+ * de la simulation du scénario nominal (SimulateurEvacuationService).
+ * Une analyse n'est enregistrée que si son résultat a changé depuis la
+ * précédente : à la demande, et toutes les flux.analyse.interval ms pour
+ * les matchs suivis.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class AnalyseurFluxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyseurFluxService.class);
+    private static AnalyseurFluxService instance;
+
+    private final OptimisateurFluxDAO optimisateurDAO;
+    private final MatchDAO matchDAO;
+    private final CompteurFluxService compteurs;
+    private final SimulateurEvacuationService simulateur;
+
+    // Résumé de la dernière analyse enregistrée, par match
+    private final Map<Long, String> dernieresSignatures = new ConcurrentHashMap<>();
+
+    private final long intervalle;
+    private ScheduledExecutorService planificateur;
+
+    private AnalyseurFluxService() {
+        this.optimisateurDAO = new OptimisateurFluxDAOImpl();
+        this.matchDAO = new MatchDAOImpl();
+        this.compteurs = CompteurFluxService.getInstance();
+        this.simulateur = SimulateurEvacuationService.getInstance();
+        this.intervalle = Math.max(ConfigUtil.getLong("flux.analyse.interval", 60000), 1000);
+    }
+
+    public static synchronized AnalyseurFluxService getInstance() {
+        if (instance == null) {
+            instance = new AnalyseurFluxService();
+        }
+        return instance;
+    }
+
+    /**
+     * Démarre l'enregistrement périodique des analyses.
+     * Appelé au démarrage de l'application, après CompteurFluxService.
+     */
+    public synchronized void demarrer() {
+        if (planificateur == null) {
+            planificateur = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "flux-analyse");
+                thread.setDaemon(true);
+                return thread;
+            });
+            planificateur.scheduleWithFixedDelay(this::analyserMatchsSuivisSansErreur,
+                    intervalle, intervalle, TimeUnit.MILLISECONDS);
+            logger.info("Analyse des flux démarrée (enregistrement toutes les {} ms).", intervalle);
+        }
+    }
+
+    /**
+     * Arrête l'enregistrement périodique.
+     * Doit être appelé avant la fermeture de la SessionFactory.
+     */
+    public synchronized void arreter() {
+        if (planificateur != null) {
+            planificateur.shutdown();
+            try {
+                planificateur.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            planificateur = null;
+        }
+    }
+
+    /**
+     * Calcule l'analyse courante d'un match, sans l'enregistrer
+     */
+    public OptimisateurFlux analyser(Match match) {
+        OptimisateurFlux optimisateur = new OptimisateurFlux(match);
+        List<EtatZoneDTO> etats = compteurs.getEtatsMatch(match.getId());
+        if (etats.isEmpty()) {
+            optimisateur.setStatutAnalyse("AUCUNE_DONNEE");
+            return optimisateur;
+        }
+
+        double sommeDensites = 0;
+        double densiteMax = 0;
+        double debit = 0;
+        List<String> zonesCritiques = new ArrayList<>();
+        for (EtatZoneDTO etat : etats) {
+            double densite = etat.getDensite() != null ? etat.getDensite() : 0;
+            sommeDensites += densite;
+            densiteMax = Math.max(densiteMax, densite);
+            debit += etat.getDebitEntrees();
+            if (etat.estEnSurpopulation() && etat.getNomZone() != null) {
+                zonesCritiques.add(etat.getNomZone());
+            }
+        }
+
+        optimisateur.appliquerAgregats(sommeDensites / etats.size(), densiteMax, zonesCritiques);
+        optimisateur.setFluxMoyenParMinute(debit);
+
+        // Temps d'évacuation et goulets du scénario nominal
+        ResultatEvacuationDTO evacuation = simulateur.simuler(match.getId(), etats, ScenarioEvacuation.nominal());
+        optimisateur.setTempsEvacuationEstime(evacuation.getTempsTotalMinutes());
+        optimisateur.setPointsCongestion(String.join(", ", evacuation.getGoulets()));
+        return optimisateur;
+    }
+
+    /**
+     * Calcule l'analyse courante d'un match et l'enregistre si elle diffère
+     * de la dernière analyse enregistrée pour ce match
+     */
+    public OptimisateurFlux analyserEtEnregistrer(Match match) {
+        OptimisateurFlux optimisateur = analyser(match);
+        enregistrerSiChange(optimisateur);
+        return optimisateur;
+    }
+
+    private synchronized void enregistrerSiChange(OptimisateurFlux optimisateur) {
+        if (!"TERMINE".equals(optimisateur.getStatutAnalyse())) {
+            return;
+        }
+        Long matchId = optimisateur.getMatch().getId();
+        String signature = signature(optimisateur);
+        if (!signature.equals(dernieresSignatures.get(matchId))) {
+            optimisateurDAO.save(optimisateur);
+            dernieresSignatures.put(matchId, signature);
+        }
+    }
+
+    /**
+     * Analyse les matchs suivis par les compteurs et enregistre les analyses modifiées
+     */
+    private void analyserMatchsSuivis() {
+        for (Long matchId : compteurs.getMatchsSuivis()) {
+            matchDAO.findById(matchId).ifPresent(this::analyserEtEnregistrer);
+        }
+    }
+
+    private void analyserMatchsSuivisSansErreur() {
+        try {
+            analyserMatchsSuivis();
+        } catch (Exception e) {
+            logger.error("Échec de l'analyse périodique des flux", e);
+        }
+    }
+
+    /**
+     * Résumé d'une analyse : score arrondi, zones critiques, recommandations
+     * et temps d'évacuation. Deux analyses de même résumé ne sont pas
+     * enregistrées deux fois.
+     */
+    private static String signature(OptimisateurFlux optimisateur) {
+        return Math.round(optimisateur.getScoreEfficacite()) + "|"
+                + Objects.toString(optimisateur.getTempsEvacuationEstime()) + "|"
+                + optimisateur.getZonesCritiques() + "|"
+                + optimisateur.getRecommandations();
+    }
+}
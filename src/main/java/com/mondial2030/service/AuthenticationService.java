@@ -2,31 +2,78 @@ package com.mondial2030.service;
 
 import com.mondial2030.dao.impl.AdministrateurDAOImpl;
 import com.mondial2030.dao.impl.SpectateurDAOImpl;
+import com.mondial2030.dao.impl.UtilisateurDAOImpl;
 import com.mondial2030.dao.interfaces.AdministrateurDAO;
 import com.mondial2030.dao.interfaces.SpectateurDAO;
+import com.mondial2030.dao.interfaces.UtilisateurDAO;
 import com.mondial2030.entity.Administrateur;
 import com.mondial2030.entity.Spectateur;
 import com.mondial2030.entity.Utilisateur;
+import com.mondial2030.util.ConfigUtil;
+import com.mondial2030.util.MotDePasseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service de gestion de l'authentification.
+ * Une connexion lit l'utilisateur par email en une seule requête
+ * polymorphe (administrateur ou spectateur), puis vérifie le mot de passe
+ * dans le pool de HachageService : ni le thread JavaFX ni les threads de
+ * lecture ne font de calcul BCrypt. Un mot de passe haché à un autre coût
+ * que le coût courant est haché de nouveau après une connexion réussie.
+ * Les tentatives sont limitées par email (security.max_login_attempts) et
+ * les échecs par source, c'est-à-dire par poste
+ * (security.login.max_par_source), sur une fenêtre glissante de
+ * security.login.fenetre secondes : au-delà, elles sont refusées avant
+ * toute lecture en base et tout calcul BCrypt. Une connexion réussie
+ * n'est pas comptée contre son poste, qu'un guichet partagé par de
+ * nombreux utilisateurs ne soit pas bloqué.
  * 
  * @author Mondial 2030 Team
  * @version 1.0
  */
 public class AuthenticationService {
     
+    private static final Logger logger = LoggerFactory.getLogger(AuthenticationService.class);
+    
+    /**
+     * Source des connexions faites depuis l'interface de ce poste
+     */
+    public static final String SOURCE_LOCALE = "local";
+    
     private static AuthenticationService instance;
     private final AdministrateurDAO adminDAO;
     private final SpectateurDAO spectateurDAO;
-    private Utilisateur utilisateurConnecte;
+    private final UtilisateurDAO utilisateurDAO;
+    private final HachageService hachageService;
+    // Lectures et mises à jour des comptes à la connexion, au plus une par connexion de lecture
+    private final ExecutorService comptes;
+    private final LimiteurConnexions limiteurEmails;
+    private final LimiteurConnexions limiteurSources;
+    private volatile Utilisateur utilisateurConnecte;
     
     private AuthenticationService() {
         this.adminDAO = new AdministrateurDAOImpl();
         this.spectateurDAO = new SpectateurDAOImpl();
+        this.utilisateurDAO = new UtilisateurDAOImpl();
+        this.hachageService = HachageService.getInstance();
+        AtomicInteger numero = new AtomicInteger();
+        this.comptes = Executors.newFixedThreadPool(Math.max(ConfigUtil.getInt("db.pool.lecteurs", 4), 1), r -> {
+            Thread thread = new Thread(r, "authentification-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long fenetre = ConfigUtil.getLong("security.login.fenetre", 900);
+        this.limiteurEmails = new LimiteurConnexions(ConfigUtil.getInt("security.max_login_attempts", 5), fenetre);
+        this.limiteurSources = new LimiteurConnexions(ConfigUtil.getInt("security.login.max_par_source", 50), fenetre);
     }
     
     /**
@@ -40,29 +87,87 @@ public class AuthenticationService {
     }
     
     /**
-     * Authentifie un utilisateur (admin ou spectateur)
+     * Authentifie un utilisateur (admin ou spectateur) ; bloque jusqu'au
+     * résultat, à ne pas appeler depuis le thread JavaFX
      * @param email Email de l'utilisateur
      * @param motDePasse Mot de passe
      * @return L'utilisateur connecté ou empty
      */
     public Optional<Utilisateur> authentifier(String email, String motDePasse) {
-        // D'abord essayer comme administrateur
-        Optional<Administrateur> admin = adminDAO.authentifier(email, motDePasse);
-        if (admin.isPresent()) {
-            utilisateurConnecte = admin.get();
-            utilisateurConnecte.setDerniereConnexion(LocalDateTime.now());
-            return Optional.of(utilisateurConnecte);
+        try {
+            return authentifierAsync(email, motDePasse).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException("Erreur lors de l'authentification: " + e.getCause().getMessage(), e.getCause());
         }
-        
-        // Sinon essayer comme spectateur
-        Optional<Spectateur> spectateur = spectateurDAO.authentifier(email, motDePasse);
-        if (spectateur.isPresent()) {
-            utilisateurConnecte = spectateur.get();
-            utilisateurConnecte.setDerniereConnexion(LocalDateTime.now());
-            return Optional.of(utilisateurConnecte);
+    }
+    
+    /**
+     * Authentifie un utilisateur (admin ou spectateur) depuis ce poste sans
+     * bloquer l'appelant
+     * @param email Email de l'utilisateur
+     * @param motDePasse Mot de passe
+     * @return L'utilisateur connecté ou empty, à terme
+     */
+    public CompletableFuture<Optional<Utilisateur>> authentifierAsync(String email, String motDePasse) {
+        return authentifierAsync(email, motDePasse, SOURCE_LOCALE);
+    }
+    
+    /**
+     * Authentifie un utilisateur (admin ou spectateur) sans bloquer l'appelant.
+     * Le résultat est complété dans un thread de hachage ; il échoue
+     * (IllegalStateException) si l'email a dépassé son nombre de tentatives,
+     * la source son nombre d'échecs, ou si trop de vérifications sont déjà
+     * en attente.
+     * @param email Email de l'utilisateur
+     * @param motDePasse Mot de passe
+     * @param source Origine de la tentative (poste, adresse...)
+     * @return L'utilisateur connecté ou empty, à terme
+     */
+    public CompletableFuture<Optional<Utilisateur>> authentifierAsync(String email, String motDePasse, String source) {
+        String cleEmail = email != null ? email.trim().toLowerCase() : "";
+        // Source d'abord : une source bloquée ne crée plus de compteurs d'email
+        if (!limiteurSources.tenter(source) || !limiteurEmails.tenter(cleEmail)) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Trop de tentatives de connexion, veuillez réessayer dans "
+                    + limiteurEmails.getFenetreMinutes() + " minutes."));
         }
-        
-        return Optional.empty();
+        return CompletableFuture.supplyAsync(() -> utilisateurDAO.findByEmail(email), comptes)
+                .thenCompose(utilisateur -> {
+                    if (utilisateur.isEmpty()) {
+                        return CompletableFuture.completedFuture(Optional.<Utilisateur>empty());
+                    }
+                    return hachageService.verifier(motDePasse, utilisateur.get().getMotDePasse())
+                            .thenApply(valide -> valide ? utilisateur : Optional.<Utilisateur>empty());
+                })
+                .thenApply(utilisateur -> {
+                    utilisateur.ifPresent(u -> {
+                        limiteurEmails.effacer(cleEmail);
+                        limiteurSources.rembourser(source);
+                        u.setDerniereConnexion(LocalDateTime.now());
+                        utilisateurConnecte = u;
+                        if (MotDePasseUtil.doitRehacher(u.getMotDePasse())) {
+                            rehacher(u, motDePasse);
+                        }
+                    });
+                    return utilisateur;
+                });
+    }
+    
+    /**
+     * Remplace en arrière-plan le haché d'un utilisateur par un haché au
+     * coût courant ; la connexion n'attend pas ce calcul
+     */
+    private void rehacher(Utilisateur utilisateur, String motDePasse) {
+        hachageService.hacher(motDePasse)
+                .thenAcceptAsync(hache -> {
+                    utilisateurDAO.updateMotDePasse(utilisateur.getId(), hache);
+                    utilisateur.setMotDePasse(hache);
+                }, comptes)
+                .exceptionally(e -> {
+                    logger.warn("Mot de passe de l'utilisateur {} non haché de nouveau: {}",
+                            utilisateur.getId(), e.getMessage());
+                    return null;
+                });
     }
     
     /**
@@ -73,8 +178,7 @@ public class AuthenticationService {
     public boolean inscrireSpectateur(Spectateur spectateur) {
         try {
             // Vérifier si l'email existe déjà
-            if (spectateurDAO.findByEmail(spectateur.getEmail()).isPresent() ||
-                adminDAO.findByEmail(spectateur.getEmail()).isPresent()) {
+            if (utilisateurDAO.emailExists(spectateur.getEmail())) {
                 return false;
             }
             spectateurDAO.save(spectateur);
@@ -93,8 +197,7 @@ public class AuthenticationService {
     public boolean inscrireAdministrateur(Administrateur admin) {
         try {
             // Vérifier si l'email existe déjà
-            if (spectateurDAO.findByEmail(admin.getEmail()).isPresent() ||
-                adminDAO.findByEmail(admin.getEmail()).isPresent()) {
+            if (utilisateurDAO.emailExists(admin.getEmail())) {
                 return false;
             }
             adminDAO.save(admin);
@@ -164,8 +267,7 @@ public class AuthenticationService {
      * Vérifie si un email est déjà utilisé
      */
     public boolean emailExiste(String email) {
-        return spectateurDAO.findByEmail(email).isPresent() ||
-               adminDAO.findByEmail(email).isPresent();
+        return utilisateurDAO.emailExists(email);
     }
 
     /**
@@ -174,6 +276,13 @@ public class AuthenticationService {
     public java.util.List<Spectateur> getAllSpectateurs() {
         return spectateurDAO.findAll();
     }
+    
+    /**
+     * Recherche des spectateurs par nom, prénom ou email (au plus limite résultats)
+     */
+    public java.util.List<Spectateur> rechercherSpectateurs(String texte, int limite) {
+        return spectateurDAO.rechercher(texte, limite);
+    }
 
     /**
      * Met à jour le profil d'un spectateur
@@ -215,8 +324,8 @@ public class AuthenticationService {
             if (spectateurOpt.isPresent()) {
                 Spectateur spectateur = spectateurOpt.get();
                 // Vérifier l'ancien mot de passe
-                if (org.mindrot.jbcrypt.BCrypt.checkpw(ancienMdp, spectateur.getMotDePasse())) {
-                    spectateur.setMotDePasse(org.mindrot.jbcrypt.BCrypt.hashpw(nouveauMdp, org.mindrot.jbcrypt.BCrypt.gensalt()));
+                if (MotDePasseUtil.verifier(ancienMdp, spectateur.getMotDePasse())) {
+                    spectateur.setMotDePasse(MotDePasseUtil.hacher(nouveauMdp));
                     spectateurDAO.update(spectateur);
                     return true;
                 }
@@ -225,8 +334,8 @@ public class AuthenticationService {
             Optional<Administrateur> adminOpt = adminDAO.findById(userId);
             if (adminOpt.isPresent()) {
                 Administrateur admin = adminOpt.get();
-                if (org.mindrot.jbcrypt.BCrypt.checkpw(ancienMdp, admin.getMotDePasse())) {
-                    admin.setMotDePasse(org.mindrot.jbcrypt.BCrypt.hashpw(nouveauMdp, org.mindrot.jbcrypt.BCrypt.gensalt()));
+                if (MotDePasseUtil.verifier(ancienMdp, admin.getMotDePasse())) {
+                    admin.setMotDePasse(MotDePasseUtil.hacher(nouveauMdp));
                     adminDAO.update(admin);
                     return true;
                 }
@@ -0,0 +1,119 @@
+package com.mondial2030.service;
+
+import com.mondial2030.entity.Alerte;
+import com.mondial2030.util.ConfigUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Bus des alertes, en mémoire.
+ * AlerteService y publie la création, la mise à jour, la lecture et la
+ * résolution des alertes ; les abonnés (tableau de bord administrateur)
+ * sont appelés dans le thread qui publie et doivent donc rendre la main
+ * aussitôt. Le bus garde aussi les alert.recentes.capacite alertes les plus
+ * récentes, dans leur dernier état connu, pour un affichage sans lecture
+ * en base.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class BusAlertes {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusAlertes.class);
+    private static BusAlertes instance;
+
+    private final List<Consumer<EvenementAlerte>> abonnes = new CopyOnWriteArrayList<>();
+    private final int capacite;
+    // Alertes récentes par identifiant, de la plus ancienne à la plus récente
+    private final Map<Long, Alerte> recentes;
+    private boolean initialise;
+
+    private BusAlertes() {
+        this.capacite = Math.max(ConfigUtil.getInt("alert.recentes.capacite", 500), 1);
+        this.recentes = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Alerte> plusAncienne) {
+                return size() > capacite;
+            }
+        };
+    }
+
+    public static synchronized BusAlertes getInstance() {
+        if (instance == null) {
+            instance = new BusAlertes();
+        }
+        return instance;
+    }
+
+    public int getCapacite() {
+        return capacite;
+    }
+
+    public void abonner(Consumer<EvenementAlerte> abonne) {
+        abonnes.add(abonne);
+    }
+
+    public void desabonner(Consumer<EvenementAlerte> abonne) {
+        abonnes.remove(abonne);
+    }
+
+    /**
+     * Mémorise l'état de l'alerte puis prévient les abonnés
+     */
+    public void publier(EvenementAlerte evenement) {
+        Alerte alerte = evenement.getAlerte();
+        if (alerte.getId() != null) {
+            synchronized (this) {
+                if (evenement.getType() == EvenementAlerte.Type.CREEE) {
+                    recentes.put(alerte.getId(), alerte);
+                } else {
+                    recentes.replace(alerte.getId(), alerte);
+                }
+            }
+        }
+        for (Consumer<EvenementAlerte> abonne : abonnes) {
+            try {
+                abonne.accept(evenement);
+            } catch (Exception e) {
+                logger.error("Échec de la diffusion de {}", evenement, e);
+            }
+        }
+    }
+
+    /**
+     * Remplit les alertes récentes à partir des dernières alertes en base
+     *
+     * @param alertes Les dernières alertes, de la plus récente à la plus ancienne
+     */
+    public synchronized void initialiser(List<Alerte> alertes) {
+        Map<Long, Alerte> publiees = new LinkedHashMap<>(recentes);
+        recentes.clear();
+        for (int i = alertes.size() - 1; i >= 0; i--) {
+            recentes.put(alertes.get(i).getId(), alertes.get(i));
+        }
+        // Les alertes publiées pendant le chargement gardent leur dernier état
+        recentes.putAll(publiees);
+        initialise = true;
+    }
+
+    public synchronized boolean estInitialise() {
+        return initialise;
+    }
+
+    /**
+     * Retourne les alertes récentes, de la plus récente à la plus ancienne
+     */
+    public synchronized List<Alerte> getAlertesRecentes() {
+        List<Alerte> alertes = new ArrayList<>(recentes.values());
+        Collections.reverse(alertes);
+        return alertes;
+    }
+}
@@ -0,0 +1,528 @@
+package com.mondial2030.service;
+
+import com.mondial2030.dao.impl.FluxSpectateurDAOImpl;
+import com.mondial2030.dao.impl.ZoneDAOImpl;
+import com.mondial2030.dao.interfaces.FluxSpectateurDAO;
+import com.mondial2030.dao.interfaces.ZoneDAO;
+import com.mondial2030.dto.EtatZoneDTO;
+import com.mondial2030.entity.EchantillonFlux;
+import com.mondial2030.entity.FluxSpectateurs;
+import com.mondial2030.entity.NiveauAlerte;
+import com.mondial2030.entity.TypeAlerte;
+import com.mondial2030.util.ConfigUtil;
+import com.mondial2030.util.HibernateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service des compteurs de tourniquets.
+ * Tient en mémoire, pour chaque zone, les entrées et les sorties dans des
+ * compteurs répartis (LongAdder) : un passage est un simple incrément, sans
+ * verrou ni accès à la base. L'occupation et la densité sont déduites de
+ * ces compteurs ; le relevé FluxSpectateurs de la zone est réécrit toutes
+ * les flux.update.interval ms s'il a changé.
+ * Les passages signalés par lots (soumettre) transitent par une file bornée :
+ * à chaque cycle de flux.evenements.intervalle ms, ils sont regroupés par
+ * zone, appliqués aux compteurs puis écrits en une seule transaction. Quand
+ * la base ne suit plus, la file se remplit et les portes sont ralenties,
+ * puis refusées, au lieu d'accumuler des écritures en attente.
+ * Chaque zone tient aussi sa densité la plus haute et, à chaque relevé à la
+ * seconde, un débit d'entrée lissé (moyenne mobile exponentielle de
+ * constante flux.analyse.lissage s) : l'état d'un match (getEtatsMatch) se
+ * lit en O(zones), sans requête.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class CompteurFluxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompteurFluxService.class);
+    private static CompteurFluxService instance;
+
+    private static final int NIVEAU_NORMAL = 0;
+    private static final int NIVEAU_ELEVE = 1;
+    private static final int NIVEAU_CRITIQUE = 2;
+
+    private final FluxSpectateurDAO fluxDAO;
+    private final ZoneDAO zoneDAO;
+    private final AlerteService alerteService;
+    private final Map<Long, CompteurZone> compteursParZone = new ConcurrentHashMap<>();
+    private final Map<Long, Long> zonesSansReleve = new ConcurrentHashMap<>();
+    private final Set<Long> matchsCharges = ConcurrentHashMap.newKeySet();
+
+    private final BlockingQueue<EvenementPorte> evenements;
+    private final AtomicLong evenementsRefuses = new AtomicLong();
+
+    private final long intervalleEcriture;
+    private final long intervalleEvenements;
+    private final long attenteMaximale;
+    private final double constanteLissage;
+    private ScheduledExecutorService planificateur;
+
+    // Seconde du relevé précédent (thread d'échantillonnage uniquement)
+    private long derniereSecondeEchantillonnee;
+
+    private CompteurFluxService() {
+        this.fluxDAO = new FluxSpectateurDAOImpl();
+        this.zoneDAO = new ZoneDAOImpl();
+        this.alerteService = AlerteService.getInstance();
+        this.evenements = new ArrayBlockingQueue<>(Math.max(ConfigUtil.getInt("flux.evenements.capacite", 65536), 1));
+        this.intervalleEcriture = Math.max(ConfigUtil.getLong("flux.update.interval", 5000), 1);
+        this.intervalleEvenements = Math.max(ConfigUtil.getLong("flux.evenements.intervalle", 100), 1);
+        this.attenteMaximale = Math.max(ConfigUtil.getLong("flux.evenements.attente_max", 1000), 0);
+        this.constanteLissage = Math.max(ConfigUtil.getLong("flux.analyse.lissage", 60), 1);
+    }
+
+    public static synchronized CompteurFluxService getInstance() {
+        if (instance == null) {
+            instance = new CompteurFluxService();
+        }
+        return instance;
+    }
+
+    /**
+     * Démarre le traitement des passages soumis par lots et l'écriture
+     * périodique des relevés de flux. Appelé au démarrage de l'application.
+     */
+    public synchronized void demarrer() {
+        if (planificateur == null) {
+            planificateur = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "flux-compteurs-ecriture");
+                thread.setDaemon(true);
+                return thread;
+            });
+            planificateur.scheduleWithFixedDelay(this::traiterEvenementsSansErreur,
+                    intervalleEvenements, intervalleEvenements, TimeUnit.MILLISECONDS);
+            planificateur.scheduleWithFixedDelay(this::persisterSansErreur,
+                    intervalleEcriture, intervalleEcriture, TimeUnit.MILLISECONDS);
+            logger.info("Compteurs de flux démarrés (lots toutes les {} ms, écriture toutes les {} ms).",
+                    intervalleEvenements, intervalleEcriture);
+        }
+    }
+
+    /**
+     * Arrête les traitements périodiques, applique les derniers passages
+     * soumis et écrit les derniers relevés.
+     * Doit être appelé avant la fermeture de la SessionFactory.
+     */
+    public synchronized void arreter() {
+        if (planificateur != null) {
+            planificateur.shutdown();
+            try {
+                planificateur.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            planificateur = null;
+        }
+        traiterEvenementsSansErreur();
+        persisterSansErreur();
+    }
+
+    /**
+     * Compte une entrée dans une zone. Une alerte de surpopulation est créée
+     * si la zone franchit un seuil (ELEVE au-delà de 90 %, CRITIQUE au-delà de 95 %).
+     */
+    public void enregistrerEntree(Long matchId, Long zoneId) {
+        CompteurZone compteur = charger(matchId, zoneId);
+        if (compteur != null) {
+            compteur.entrees.increment();
+            signalerSurpopulation(zoneId, compteur);
+        }
+    }
+
+    /**
+     * Compte une sortie d'une zone
+     */
+    public void enregistrerSortie(Long matchId, Long zoneId) {
+        CompteurZone compteur = charger(matchId, zoneId);
+        if (compteur != null) {
+            compteur.sorties.increment();
+            compteur.actualiserNiveau();
+        }
+    }
+
+    /**
+     * Place des passages dans la file de traitement par lots.
+     * Si la file est pleine, l'appelant attend au plus flux.evenements.attente_max
+     * ms qu'elle se libère ; les événements restants sont alors refusés.
+     *
+     * @param lot Les passages signalés par une ou plusieurs portes
+     * @return Le nombre d'événements acceptés (les premiers du lot)
+     */
+    public int soumettre(List<EvenementPorte> lot) {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(attenteMaximale);
+        int acceptes = 0;
+        try {
+            for (EvenementPorte evenement : lot) {
+                if (!evenements.offer(evenement)) {
+                    long restant = limite - System.nanoTime();
+                    if (restant <= 0 || !evenements.offer(evenement, restant, TimeUnit.NANOSECONDS)) {
+                        break;
+                    }
+                }
+                acceptes++;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (acceptes < lot.size()) {
+            evenementsRefuses.addAndGet(lot.size() - acceptes);
+            logger.warn("File des passages pleine : {} événement(s) refusé(s).", lot.size() - acceptes);
+        }
+        return acceptes;
+    }
+
+    /**
+     * Retourne le nombre d'événements en attente de traitement
+     */
+    public int getNombreEvenementsEnAttente() {
+        return evenements.size();
+    }
+
+    /**
+     * Retourne le nombre d'événements refusés depuis le démarrage (file pleine)
+     */
+    public long getNombreEvenementsRefuses() {
+        return evenementsRefuses.get();
+    }
+
+    /**
+     * Applique les passages en file : ils sont regroupés par zone, ajoutés
+     * aux compteurs, puis les relevés modifiés sont écrits en une transaction.
+     */
+    public void traiterEvenements() {
+        List<EvenementPorte> lot = new ArrayList<>();
+        evenements.drainTo(lot);
+        if (lot.isEmpty()) {
+            return;
+        }
+
+        // Cumul des entrées et sorties par (match, zone)
+        Map<List<Long>, int[]> cumuls = new HashMap<>();
+        for (EvenementPorte evenement : lot) {
+            int[] cumul = cumuls.computeIfAbsent(List.of(evenement.getMatchId(), evenement.getZoneId()),
+                    cle -> new int[2]);
+            cumul[evenement.getSens() == EvenementPorte.Sens.ENTREE ? 0 : 1] += evenement.getNombre();
+        }
+
+        for (Map.Entry<List<Long>, int[]> cumul : cumuls.entrySet()) {
+            Long zoneId = cumul.getKey().get(1);
+            CompteurZone compteur = charger(cumul.getKey().get(0), zoneId);
+            if (compteur != null) {
+                compteur.entrees.add(cumul.getValue()[0]);
+                compteur.sorties.add(cumul.getValue()[1]);
+                signalerSurpopulation(zoneId, compteur);
+            }
+        }
+        persister();
+    }
+
+    private void traiterEvenementsSansErreur() {
+        try {
+            traiterEvenements();
+        } catch (Exception e) {
+            logger.error("Échec du traitement des passages aux portes", e);
+        }
+    }
+
+    /**
+     * Retourne l'occupation en mémoire d'une zone, ou null si elle n'est pas suivie
+     */
+    public Integer getOccupation(Long zoneId) {
+        CompteurZone compteur = compteursParZone.get(zoneId);
+        return compteur != null ? compteur.occupation() : null;
+    }
+
+    /**
+     * Retourne la densité en mémoire d'une zone (en %), ou null si elle n'est pas suivie
+     */
+    public Double getDensite(Long zoneId) {
+        CompteurZone compteur = compteursParZone.get(zoneId);
+        return compteur != null ? compteur.densite() : null;
+    }
+
+    /**
+     * Retourne l'état en mémoire des zones d'un match. Les compteurs des
+     * zones sont chargés au premier appel pour ce match ; les appels suivants
+     * ne font aucune requête.
+     */
+    public List<EtatZoneDTO> getEtatsMatch(Long matchId) {
+        if (matchsCharges.add(matchId)) {
+            try {
+                zoneDAO.findByMatchId(matchId).forEach(zone -> charger(matchId, zone.getId()));
+            } catch (RuntimeException e) {
+                matchsCharges.remove(matchId);
+                throw e;
+            }
+        }
+        List<EtatZoneDTO> etats = new ArrayList<>();
+        for (Map.Entry<Long, CompteurZone> entree : compteursParZone.entrySet()) {
+            CompteurZone compteur = entree.getValue();
+            if (compteur.matchId.equals(matchId)) {
+                int occupation = compteur.occupation();
+                etats.add(new EtatZoneDTO(entree.getKey(), compteur.nomZone, compteur.capaciteMax, occupation,
+                        compteur.densite(occupation), compteur.densiteMax(), compteur.debitEntrees));
+            }
+        }
+        return etats;
+    }
+
+    /**
+     * Retourne les matchs dont au moins une zone est suivie en mémoire
+     */
+    public Set<Long> getMatchsSuivis() {
+        Set<Long> matchs = new HashSet<>();
+        compteursParZone.values().forEach(compteur -> matchs.add(compteur.matchId));
+        return matchs;
+    }
+
+    /**
+     * Relève un échantillon à la seconde pour chaque zone occupée ou ayant
+     * eu des passages depuis le relevé précédent, et met à jour le débit
+     * d'entrée lissé de chaque zone.
+     * Appelé une fois par seconde par HistoriqueFluxService (un seul thread).
+     *
+     * @param debut La seconde relevée (secondes epoch)
+     */
+    public List<EchantillonFlux> echantillonner(long debut) {
+        long ecart = derniereSecondeEchantillonnee > 0 ? Math.max(debut - derniereSecondeEchantillonnee, 1) : 1;
+        derniereSecondeEchantillonnee = debut;
+        double poids = 1 - Math.exp(-ecart / constanteLissage);
+
+        List<EchantillonFlux> echantillons = new ArrayList<>();
+        for (Map.Entry<Long, CompteurZone> entree : compteursParZone.entrySet()) {
+            CompteurZone compteur = entree.getValue();
+            long entrees = compteur.entrees.sum();
+            long sorties = compteur.sorties.sum();
+            int occupation = compteur.occupation(entrees, sorties);
+            int nouvellesEntrees = (int) (entrees - compteur.entreesEchantillonnees);
+            int nouvellesSorties = (int) (sorties - compteur.sortiesEchantillonnees);
+            compteur.entreesEchantillonnees = entrees;
+            compteur.sortiesEchantillonnees = sorties;
+            compteur.debitEntrees += poids * (nouvellesEntrees * 60.0 / ecart - compteur.debitEntrees);
+            if (occupation > 0 || nouvellesEntrees > 0 || nouvellesSorties > 0) {
+                echantillons.add(new EchantillonFlux(compteur.matchId, entree.getKey(), debut,
+                        nouvellesEntrees, nouvellesSorties, occupation, compteur.capaciteMax));
+            }
+        }
+        return echantillons;
+    }
+
+    /**
+     * Écrit les relevés en cours puis oublie les compteurs d'un match
+     * (par exemple avant de créer de nouveaux relevés pour ses zones).
+     */
+    public void oublierMatch(Long matchId) {
+        persisterSansErreur();
+        compteursParZone.values().removeIf(compteur -> compteur.matchId.equals(matchId));
+        zonesSansReleve.values().removeIf(matchId::equals);
+        matchsCharges.remove(matchId);
+    }
+
+    /**
+     * Écrit en base, en une seule transaction, les relevés des zones dont
+     * les compteurs ont changé depuis la dernière écriture.
+     */
+    public synchronized void persister() {
+        List<CompteurZone> modifies = new ArrayList<>();
+        List<long[]> valeurs = new ArrayList<>();
+        for (CompteurZone compteur : compteursParZone.values()) {
+            long entrees = compteur.entrees.sum();
+            long sorties = compteur.sorties.sum();
+            if (entrees + sorties != compteur.dernierTotalEcrit) {
+                modifies.add(compteur);
+                valeurs.add(new long[] { entrees, sorties });
+            }
+        }
+        if (modifies.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime maintenant = LocalDateTime.now();
+        HibernateUtil.runInTransaction(session -> {
+            for (int i = 0; i < modifies.size(); i++) {
+                CompteurZone compteur = modifies.get(i);
+                long[] valeur = valeurs.get(i);
+                int occupation = compteur.occupation(valeur[0], valeur[1]);
+                fluxDAO.mettreAJourCompteurs(compteur.fluxId,
+                        (int) (compteur.entreesInitiales + valeur[0]),
+                        (int) (compteur.sortiesInitiales + valeur[1]),
+                        occupation, compteur.densite(occupation), maintenant);
+            }
+        });
+        for (int i = 0; i < modifies.size(); i++) {
+            long[] valeur = valeurs.get(i);
+            modifies.get(i).dernierTotalEcrit = valeur[0] + valeur[1];
+        }
+    }
+
+    private void persisterSansErreur() {
+        try {
+            persister();
+        } catch (Exception e) {
+            logger.error("Échec de l'écriture des relevés de flux", e);
+        }
+    }
+
+    /**
+     * Crée une alerte si la zone vient de franchir un seuil de surpopulation
+     */
+    private void signalerSurpopulation(Long zoneId, CompteurZone compteur) {
+        NiveauAlerte niveau = compteur.actualiserNiveau();
+        if (niveau == null) {
+            return;
+        }
+        zoneDAO.findById(zoneId).ifPresent(zone -> alerteService.creerAlerteZone(
+                zone,
+                "Surpopulation détectée",
+                String.format("La zone %s atteint %.1f%% de sa capacité", zone.getNom(), compteur.densite()),
+                TypeAlerte.SURPOPULATION,
+                niveau));
+    }
+
+    /**
+     * Retourne les compteurs d'une zone, initialisés au premier passage depuis
+     * son dernier relevé. Retourne null si la zone n'a pas de relevé pour ce match.
+     * Le relevé est lu hors de la table (pas de requête sous son verrou) et
+     * une zone sans relevé est retenue jusqu'à oublierMatch, pour ne pas
+     * relancer la requête à chaque passage.
+     */
+    private CompteurZone charger(Long matchId, Long zoneId) {
+        CompteurZone compteur = compteursParZone.get(zoneId);
+        if (compteur == null) {
+            if (zonesSansReleve.containsKey(zoneId)) {
+                return null;
+            }
+            FluxSpectateurs flux = fluxDAO.findDernierFluxByZone(zoneId);
+            if (flux == null) {
+                zonesSansReleve.put(zoneId, matchId);
+                return null;
+            }
+            CompteurZone charge = new CompteurZone(flux);
+            compteur = compteursParZone.putIfAbsent(zoneId, charge);
+            if (compteur == null) {
+                compteur = charge;
+            }
+        }
+        return compteur.matchId.equals(matchId) ? compteur : null;
+    }
+
+    /**
+     * Compteurs d'une zone : valeurs du relevé au chargement, plus les
+     * passages comptés depuis.
+     */
+    private static class CompteurZone {
+
+        private final Long fluxId;
+        private final Long matchId;
+        private final String nomZone;
+        private final int capaciteMax;
+        private final int entreesInitiales;
+        private final int sortiesInitiales;
+        private final int occupationInitiale;
+
+        private final LongAdder entrees = new LongAdder();
+        private final LongAdder sorties = new LongAdder();
+        private final AtomicInteger niveau = new AtomicInteger(NIVEAU_NORMAL);
+        private final AtomicInteger occupationMax = new AtomicInteger();
+        private volatile double debitEntrees;
+        private volatile long dernierTotalEcrit;
+        private long entreesEchantillonnees;
+        private long sortiesEchantillonnees;
+
+        CompteurZone(FluxSpectateurs flux) {
+            this.fluxId = flux.getId();
+            this.matchId = flux.getMatch().getId();
+            this.nomZone = flux.getZone() != null ? flux.getZone().getNom() : null;
+            this.capaciteMax = flux.getCapaciteMax() != null ? flux.getCapaciteMax() : 0;
+            this.entreesInitiales = valeur(flux.getNombreEntrees());
+            this.sortiesInitiales = valeur(flux.getNombreSorties());
+            this.occupationInitiale = valeur(flux.getOccupationActuelle());
+            this.niveau.set(niveauPour(densite(occupationInitiale)));
+            this.occupationMax.set(occupationInitiale);
+        }
+
+        int occupation() {
+            return occupation(entrees.sum(), sorties.sum());
+        }
+
+        /**
+         * Occupation du relevé plus les entrées moins les sorties, jamais négative
+         */
+        int occupation(long nouvellesEntrees, long nouvellesSorties) {
+            return (int) Math.max(0, occupationInitiale + nouvellesEntrees - nouvellesSorties);
+        }
+
+        Double densite() {
+            return densite(occupation());
+        }
+
+        Double densite(int occupation) {
+            return capaciteMax > 0 ? (double) occupation / capaciteMax * 100 : null;
+        }
+
+        double densiteMax() {
+            Double densite = densite(occupationMax.get());
+            return densite != null ? densite : 0;
+        }
+
+        /**
+         * Recalcule le niveau de la zone ; retourne le niveau d'alerte
+         * s'il vient d'augmenter, null sinon
+         */
+        NiveauAlerte actualiserNiveau() {
+            int occupation = occupation();
+            if (occupation > occupationMax.get()) {
+                occupationMax.accumulateAndGet(occupation, Math::max);
+            }
+            int nouveau = niveauPour(densite(occupation));
+            while (true) {
+                int courant = niveau.get();
+                if (courant == nouveau) {
+                    return null;
+                }
+                if (niveau.compareAndSet(courant, nouveau)) {
+                    if (nouveau < courant) {
+                        return null;
+                    }
+                    return nouveau == NIVEAU_CRITIQUE ? NiveauAlerte.CRITIQUE : NiveauAlerte.ELEVE;
+                }
+            }
+        }
+
+        /**
+         * Mêmes seuils que FluxSpectateurs.estEnSurpopulation / estCapaciteCritique
+         */
+        private static int niveauPour(Double densite) {
+            if (densite == null) {
+                return NIVEAU_NORMAL;
+            }
+            if (densite > 95) {
+                return NIVEAU_CRITIQUE;
+            }
+            return densite > 90 ? NIVEAU_ELEVE : NIVEAU_NORMAL;
+        }
+
+        private static int valeur(Integer valeur) {
+            return valeur != null ? valeur : 0;
+        }
+    }
+}
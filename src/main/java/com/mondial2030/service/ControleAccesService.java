@@ -0,0 +1,378 @@
+package com.mondial2030.service;
+
+import com.mondial2030.dao.impl.MatchDAOImpl;
+import com.mondial2030.dao.impl.TicketDAOImpl;
+import com.mondial2030.dao.interfaces.MatchDAO;
+import com.mondial2030.dao.interfaces.TicketDAO;
+import com.mondial2030.entity.Match;
+import com.mondial2030.entity.StatutTicket;
+import com.mondial2030.entity.Ticket;
+import com.mondial2030.util.ConfigUtil;
+import com.mondial2030.util.HibernateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Service de contrôle d'accès aux portes du stade.
+ * Tient, pour chaque match ouvert, un index en mémoire des codes QR
+ * (code QR → position) et un bitset atomique des tickets déjà utilisés :
+ * un scan est un simple compare-and-set, sans accès à la base, et un
+ * même ticket ne peut être accepté qu'une seule fois.
+ * Les passages au statut UTILISE sont écrits en base par lots, en tâche
+ * de fond.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class ControleAccesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ControleAccesService.class);
+    private static ControleAccesService instance;
+
+    private final TicketDAO ticketDAO;
+    private final MatchDAO matchDAO;
+
+    private final Map<Long, IndexMatch> indexParMatch = new ConcurrentHashMap<>();
+    private final Queue<Long> utilisesAPersister = new ConcurrentLinkedQueue<>();
+
+    private final long intervallePersistance;
+    private final long intervalleOuverture;
+    private final int tailleLot;
+    private ScheduledExecutorService planificateur;
+
+    private ControleAccesService() {
+        this.ticketDAO = new TicketDAOImpl();
+        this.matchDAO = new MatchDAOImpl();
+        this.intervallePersistance = ConfigUtil.getLong("controle.persistance.interval", 500);
+        this.intervalleOuverture = Math.max(ConfigUtil.getLong("controle.ouverture.interval", 300), 1);
+        this.tailleLot = Math.max(ConfigUtil.getInt("controle.persistance.lot", 500), 1);
+    }
+
+    public static synchronized ControleAccesService getInstance() {
+        if (instance == null) {
+            instance = new ControleAccesService();
+        }
+        return instance;
+    }
+
+    /**
+     * Démarre l'écriture périodique des tickets utilisés et ouvre les portes
+     * des matchs du jour (au démarrage puis toutes les
+     * controle.ouverture.interval secondes, pour suivre le changement de jour).
+     * Appelé au démarrage de l'application.
+     */
+    public synchronized void demarrer() {
+        if (planificateur == null) {
+            planificateur = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "controle-acces");
+                thread.setDaemon(true);
+                return thread;
+            });
+            planificateur.scheduleWithFixedDelay(this::persister,
+                    intervallePersistance, intervallePersistance, TimeUnit.MILLISECONDS);
+            planificateur.scheduleWithFixedDelay(this::ouvrirPortesDuJour,
+                    0, intervalleOuverture, TimeUnit.SECONDS);
+            logger.info("Contrôle d'accès démarré (écriture toutes les {} ms).", intervallePersistance);
+        }
+    }
+
+    /**
+     * Arrête l'écriture périodique et écrit les derniers tickets utilisés.
+     * Doit être appelé avant la fermeture de la SessionFactory.
+     */
+    public synchronized void arreter() {
+        if (planificateur != null) {
+            planificateur.shutdown();
+            try {
+                planificateur.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            planificateur = null;
+        }
+        persister();
+    }
+
+    /**
+     * Charge l'index d'un match avant l'ouverture des portes
+     * @return true si le match est ouvert au contrôle
+     */
+    public boolean ouvrirPortes(Long matchId) {
+        return charger(matchId) != null;
+    }
+
+    /**
+     * Ouvre les portes des matchs du jour qui ne le sont pas encore
+     */
+    public void ouvrirPortesDuJour() {
+        try {
+            for (Match match : matchDAO.findMatchsDuJour()) {
+                if (!indexParMatch.containsKey(match.getId()) && ouvrirPortes(match.getId())) {
+                    logger.info("Portes ouvertes pour le match {}", match.getId());
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Ouverture des portes du jour reportée: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Écrit les tickets utilisés puis libère l'index d'un match
+     */
+    public void fermerPortes(Long matchId) {
+        persister();
+        indexParMatch.remove(matchId);
+    }
+
+    /**
+     * Valide un ticket scanné à une porte, quel que soit le match
+     * @return true si le ticket est accepté (premier scan d'un ticket valide)
+     */
+    public boolean validerTicket(String codeQR) {
+        for (IndexMatch index : indexParMatch.values()) {
+            Integer position = index.positions.get(codeQR);
+            if (position != null) {
+                return utiliser(index, position);
+            }
+        }
+        return validerHorsIndex(codeQR, null);
+    }
+
+    /**
+     * Valide un ticket scanné à une porte d'un match donné
+     * @return true si le ticket est accepté (premier scan d'un ticket valide)
+     */
+    public boolean validerTicket(Long matchId, String codeQR) {
+        IndexMatch index = charger(matchId);
+        if (index == null) {
+            return false;
+        }
+        Integer position = index.positions.get(codeQR);
+        if (position != null) {
+            return utiliser(index, position);
+        }
+        return validerHorsIndex(codeQR, matchId);
+    }
+
+    /**
+     * Ajoute un ticket nouvellement vendu à l'index de son match, s'il est chargé
+     */
+    public void enregistrerTicket(Ticket ticket) {
+        if (ticket.getMatch() == null || ticket.getStatut() != StatutTicket.VALIDE) {
+            return;
+        }
+        IndexMatch index = indexParMatch.get(ticket.getMatch().getId());
+        if (index != null) {
+            index.ajouter(ticket.getId(), ticket.getCodeQR(), false);
+        }
+    }
+
+    /**
+     * Retire un code QR de l'index pour l'annulation du ticket, dans l'unité
+     * de travail de l'annulation. Le ticket est aussitôt marqué comme
+     * consommé pour qu'un scan concurrent échoue ; le code n'est retiré
+     * qu'après la validation, et le ticket redevient valide à la porte si
+     * l'annulation échoue.
+     * @return false si le ticket a déjà été scanné (annulation impossible)
+     */
+    public boolean retirerTicket(Long matchId, String codeQR) {
+        IndexMatch index = indexParMatch.get(matchId);
+        if (index == null || codeQR == null) {
+            return true;
+        }
+        Integer position = index.positions.get(codeQR);
+        if (position == null) {
+            return true;
+        }
+        if (!index.marquerUtilise(position)) {
+            return false;
+        }
+        HibernateUtil.apresTransaction(() -> index.positions.remove(codeQR, position),
+                () -> index.liberer(position));
+        return true;
+    }
+
+    /**
+     * Remplace le code QR d'un ticket transféré ; l'ancien code est refusé
+     */
+    public void changerCodeQR(Long matchId, String ancienCodeQR, String nouveauCodeQR) {
+        IndexMatch index = indexParMatch.get(matchId);
+        if (index == null || ancienCodeQR == null) {
+            return;
+        }
+        Integer position = index.positions.remove(ancienCodeQR);
+        if (position != null && nouveauCodeQR != null) {
+            index.positions.put(nouveauCodeQR, position);
+        }
+    }
+
+    /**
+     * Retourne le nombre de passages acceptés en attente d'écriture
+     */
+    public int getNombreEnAttente() {
+        return utilisesAPersister.size();
+    }
+
+    /**
+     * Écrit en base, par lots, les tickets utilisés en attente.
+     * En cas d'échec, les identifiants sont remis en file pour le passage suivant.
+     */
+    public synchronized void persister() {
+        List<Long> enAttente = new ArrayList<>();
+        Long ticketId;
+        while ((ticketId = utilisesAPersister.poll()) != null) {
+            enAttente.add(ticketId);
+        }
+        for (int debut = 0; debut < enAttente.size(); debut += tailleLot) {
+            List<Long> lot = enAttente.subList(debut, Math.min(debut + tailleLot, enAttente.size()));
+            try {
+                ticketDAO.marquerUtilises(lot);
+            } catch (Exception e) {
+                logger.warn("Écriture des tickets utilisés reportée: {}", e.getMessage());
+                utilisesAPersister.addAll(enAttente.subList(debut, enAttente.size()));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retourne l'index d'un match, chargé depuis la base au premier appel.
+     * Retourne null si le match n'existe pas ou est terminé.
+     */
+    private IndexMatch charger(Long matchId) {
+        IndexMatch index = indexParMatch.get(matchId);
+        if (index != null) {
+            return index;
+        }
+        return indexParMatch.computeIfAbsent(matchId, this::construireIndex);
+    }
+
+    private IndexMatch construireIndex(Long matchId) {
+        Optional<Match> match = matchDAO.findById(matchId);
+        if (match.isEmpty() || Boolean.TRUE.equals(match.get().getTermine())) {
+            return null;
+        }
+        List<Object[]> lignes = ticketDAO.findEtatsControleParMatch(matchId);
+        int capacite = match.get().getCapaciteStade() != null ? match.get().getCapaciteStade() : 0;
+        IndexMatch index = new IndexMatch(capacite + lignes.size());
+        for (Object[] ligne : lignes) {
+            index.ajouter((Long) ligne[0], (String) ligne[1], ligne[2] == StatutTicket.UTILISE);
+        }
+        logger.info("Index de contrôle chargé pour le match {} ({} tickets).", matchId, lignes.size());
+        return index;
+    }
+
+    /**
+     * Passe un ticket de l'index à l'état utilisé et planifie son écriture
+     */
+    private boolean utiliser(IndexMatch index, int position) {
+        if (!index.marquerUtilise(position)) {
+            return false;
+        }
+        utilisesAPersister.add(index.ticketIds[position]);
+        return true;
+    }
+
+    /**
+     * Code QR absent de l'index : le ticket est lu en base puis ajouté à
+     * l'index de son match avant d'être validé. Si l'index est plein, le
+     * passage est écrit directement en base de façon conditionnelle.
+     */
+    private boolean validerHorsIndex(String codeQR, Long matchAttendu) {
+        Optional<Ticket> ticketOpt = ticketDAO.findByCodeQR(codeQR);
+        if (ticketOpt.isEmpty()) {
+            return false;
+        }
+        Ticket ticket = ticketOpt.get();
+        Long matchId = ticket.getMatch().getId();
+        if (ticket.getStatut() != StatutTicket.VALIDE
+                || (matchAttendu != null && !matchAttendu.equals(matchId))) {
+            return false;
+        }
+
+        IndexMatch index = charger(matchId);
+        if (index == null) {
+            return false;
+        }
+        int position = index.ajouter(ticket.getId(), codeQR, false);
+        if (position >= 0) {
+            return utiliser(index, position);
+        }
+        return ticketDAO.marquerUtilises(List.of(ticket.getId())) == 1;
+    }
+
+    /**
+     * Index d'un match : position de chaque code QR, identifiant du ticket
+     * à cette position et bitset des positions déjà utilisées.
+     */
+    private static class IndexMatch {
+
+        private final Map<String, Integer> positions = new ConcurrentHashMap<>();
+        private final long[] ticketIds;
+        private final AtomicLongArray utilises;
+        private final AtomicInteger taille = new AtomicInteger();
+
+        IndexMatch(int capacite) {
+            this.ticketIds = new long[capacite];
+            this.utilises = new AtomicLongArray((capacite + 63) / 64);
+        }
+
+        /**
+         * Ajoute un code QR ; retourne sa position, ou -1 si l'index est plein
+         */
+        int ajouter(long ticketId, String codeQR, boolean utilise) {
+            Integer existante = positions.get(codeQR);
+            if (existante != null) {
+                return existante;
+            }
+            int position = taille.getAndIncrement();
+            if (position >= ticketIds.length) {
+                return -1;
+            }
+            ticketIds[position] = ticketId;
+            if (utilise) {
+                marquerUtilise(position);
+            }
+            // La publication dans la map rend ticketIds[position] visible aux autres threads
+            Integer concurrente = positions.putIfAbsent(codeQR, position);
+            return concurrente != null ? concurrente : position;
+        }
+
+        /**
+         * Efface le bit d'une position
+         */
+        void liberer(int position) {
+            utilises.getAndUpdate(position >>> 6, valeur -> valeur & ~(1L << position));
+        }
+
+        /**
+         * Positionne le bit d'une position ; false s'il l'était déjà
+         */
+        boolean marquerUtilise(int position) {
+            int mot = position >>> 6;
+            long bit = 1L << position;
+            while (true) {
+                long valeur = utilises.get(mot);
+                if ((valeur & bit) != 0) {
+                    return false;
+                }
+                if (utilises.compareAndSet(mot, valeur, valeur | bit)) {
+                    return true;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.mondial2030.service;
+
+import com.mondial2030.entity.Alerte;
+
+/**
+ * Changement d'une alerte publié sur le bus des alertes : l'alerte porte
+ * son état après le changement.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class EvenementAlerte {
+
+    /**
+     * Nature du changement
+     */
+    public enum Type {
+        CREEE,
+        MISE_A_JOUR,
+        LUE,
+        RESOLUE
+    }
+
+    private final Type type;
+    private final Alerte alerte;
+
+    public EvenementAlerte(Type type, Alerte alerte) {
+        if (type == null || alerte == null) {
+            throw new IllegalArgumentException("Événement d'alerte invalide");
+        }
+        this.type = type;
+        this.alerte = alerte;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public Alerte getAlerte() {
+        return alerte;
+    }
+
+    @Override
+    public String toString() {
+        return "EvenementAlerte{" + type + ", alerte=" + alerte.getId() + '}';
+    }
+}
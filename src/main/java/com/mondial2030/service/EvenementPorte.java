@@ -0,0 +1,67 @@
+package com.mondial2030.service;
+
+/**
+ * Passage(s) signalé(s) par une porte : un nombre d'entrées ou de sorties
+ * d'une zone pour un match.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class EvenementPorte {
+
+    /**
+     * Sens du passage
+     */
+    public enum Sens {
+        ENTREE,
+        SORTIE
+    }
+
+    private final Long matchId;
+    private final Long zoneId;
+    private final Sens sens;
+    private final int nombre;
+
+    public EvenementPorte(Long matchId, Long zoneId, Sens sens) {
+        this(matchId, zoneId, sens, 1);
+    }
+
+    public EvenementPorte(Long matchId, Long zoneId, Sens sens, int nombre) {
+        if (matchId == null || zoneId == null || sens == null || nombre < 0) {
+            throw new IllegalArgumentException("Événement de porte invalide");
+        }
+        this.matchId = matchId;
+        this.zoneId = zoneId;
+        this.sens = sens;
+        this.nombre = nombre;
+    }
+
+    public static EvenementPorte entree(Long matchId, Long zoneId) {
+        return new EvenementPorte(matchId, zoneId, Sens.ENTREE);
+    }
+
+    public static EvenementPorte sortie(Long matchId, Long zoneId) {
+        return new EvenementPorte(matchId, zoneId, Sens.SORTIE);
+    }
+
+    public Long getMatchId() {
+        return matchId;
+    }
+
+    public Long getZoneId() {
+        return zoneId;
+    }
+
+    public Sens getSens() {
+        return sens;
+    }
+
+    public int getNombre() {
+        return nombre;
+    }
+
+    @Override
+    public String toString() {
+        return "EvenementPorte{match=" + matchId + ", zone=" + zoneId + ", " + sens + " x" + nombre + '}';
+    }
+}
@@ -2,8 +2,12 @@ package com.mondial2030.service;
 
 import com.mondial2030.dao.impl.*;
 import com.mondial2030.dao.interfaces.*;
+import com.mondial2030.dto.PointFluxDTO;
+import com.mondial2030.dto.ResultatEvacuationDTO;
 import com.mondial2030.entity.*;
+import com.mondial2030.util.HibernateUtil;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,12 +24,18 @@ public class FluxService {
     private final OptimisateurFluxDAO optimisateurDAO;
     private final ZoneDAO zoneDAO;
     private final AlerteService alerteService;
+    private final CompteurFluxService compteurs;
+    private final HistoriqueFluxService historique;
+    private final AnalyseurFluxService analyseur;
     
     private FluxService() {
         this.fluxDAO = new FluxSpectateurDAOImpl();
         this.optimisateurDAO = new OptimisateurFluxDAOImpl();
         this.zoneDAO = new ZoneDAOImpl();
         this.alerteService = AlerteService.getInstance();
+        this.compteurs = CompteurFluxService.getInstance();
+        this.historique = HistoriqueFluxService.getInstance();
+        this.analyseur = AnalyseurFluxService.getInstance();
     }
     
     public static synchronized FluxService getInstance() {
@@ -39,40 +49,48 @@ public class FluxService {
      * Initialise le suivi des flux pour un match
      */
     public void initialiserFluxMatch(Match match) {
-        List<Zone> zones = zoneDAO.findByMatchId(match.getId());
-        
-        for (Zone zone : zones) {
-            FluxSpectateurs flux = new FluxSpectateurs(match, zone, zone.getCapacite());
-            flux.setPorteEntree("Porte " + zone.getTypeZone().name().substring(0, 1));
-            fluxDAO.save(flux);
-        }
+        // Les compteurs en mémoire repartiront des nouveaux relevés
+        compteurs.oublierMatch(match.getId());
+        HibernateUtil.runInTransaction(session -> {
+            List<Zone> zones = zoneDAO.findByMatchId(match.getId());
+            
+            for (Zone zone : zones) {
+                FluxSpectateurs flux = new FluxSpectateurs(match, zone, zone.getCapacite());
+                flux.setPorteEntree("Porte " + zone.getTypeZone().name().substring(0, 1));
+                fluxDAO.save(flux);
+            }
+        });
+        // Et de nouveau une fois les relevés validés, pour les passages
+        // comptés pendant leur création
+        compteurs.oublierMatch(match.getId());
     }
     
     /**
-     * Enregistre une entrée de spectateur
+     * Enregistre une entrée de spectateur.
+     * Le passage est compté en mémoire (CompteurFluxService) ; une alerte
+     * n'est créée que lorsque la zone franchit un seuil de surpopulation.
      */
     public void enregistrerEntree(Long matchId, Long zoneId) {
-        fluxDAO.enregistrerEntree(matchId, zoneId);
-        
-        // Vérifier si une alerte doit être générée
-        FluxSpectateurs flux = fluxDAO.findDernierFluxByZone(zoneId);
-        if (flux != null && flux.estEnSurpopulation()) {
-            alerteService.creerAlerteZone(
-                flux.getZone(),
-                "Surpopulation détectée",
-                String.format("La zone %s atteint %.1f%% de sa capacité", 
-                              flux.getZone().getNom(), flux.getDensite()),
-                TypeAlerte.SURPOPULATION,
-                flux.estCapaciteCritique() ? NiveauAlerte.CRITIQUE : NiveauAlerte.ELEVE
-            );
-        }
+        compteurs.enregistrerEntree(matchId, zoneId);
     }
     
     /**
      * Enregistre une sortie de spectateur
      */
     public void enregistrerSortie(Long matchId, Long zoneId) {
-        fluxDAO.enregistrerSortie(matchId, zoneId);
+        compteurs.enregistrerSortie(matchId, zoneId);
+    }
+    
+    /**
+     * Enregistre des passages signalés par lots par les portes.
+     * Les événements sont regroupés par zone et appliqués en une transaction
+     * à chaque cycle ; si le traitement prend du retard, l'appel attend puis
+     * refuse les événements en excès.
+     *
+     * @return Le nombre d'événements acceptés ; les suivants sont à renvoyer
+     */
+    public int enregistrerEvenements(List<EvenementPorte> evenements) {
+        return compteurs.soumettre(evenements);
     }
     
     /**
@@ -104,23 +122,42 @@ public class FluxService {
     }
     
     /**
-     * Lance une analyse d'optimisation des flux
+     * Lance une analyse d'optimisation des flux.
+     * L'analyse est calculée en mémoire à partir des compteurs
+     * (AnalyseurFluxService) et n'est enregistrée que si elle a changé.
      */
     public OptimisateurFlux analyserFlux(Match match) {
-        OptimisateurFlux optimisateur = new OptimisateurFlux(match);
-        
-        List<FluxSpectateurs> fluxList = fluxDAO.findByMatchId(match.getId());
-        optimisateur.analyserFlux(fluxList);
-        
-        // Estimer le temps d'évacuation
-        Integer occupation = calculerOccupationTotale(match.getId());
-        if (occupation != null) {
-            optimisateur.estimerTempsEvacuation(occupation, 8); // 8 portes par défaut
-        }
-        
-        optimisateurDAO.save(optimisateur);
-        
-        return optimisateur;
+        return analyseur.analyserEtEnregistrer(match);
+    }
+    
+    /**
+     * Simule l'évacuation d'un match avec l'occupation actuelle, pour le
+     * scénario nominal, la priorité PMR et chaque porte fermée
+     */
+    public List<ResultatEvacuationDTO> simulerEvacuation(Match match) {
+        SimulateurEvacuationService simulateur = SimulateurEvacuationService.getInstance();
+        return simulateur.simuler(match, simulateur.scenariosParDefaut());
+    }
+    
+    /**
+     * Récupère l'historique d'occupation d'un match (zones cumulées)
+     */
+    public List<PointFluxDTO> getSerieOccupation(Long matchId, LocalDateTime debut, LocalDateTime fin) {
+        return historique.getSerieMatch(matchId, debut, fin);
+    }
+    
+    /**
+     * Récupère l'historique d'occupation d'une zone
+     */
+    public List<PointFluxDTO> getSerieOccupationZone(Long zoneId, LocalDateTime debut, LocalDateTime fin) {
+        return historique.getSerieZone(zoneId, debut, fin);
+    }
+    
+    /**
+     * Récupère les matchs ayant un historique d'occupation sur une période
+     */
+    public List<Long> getMatchsSuivis(LocalDateTime debut, LocalDateTime fin) {
+        return historique.getMatchsSuivis(debut, fin);
     }
     
     /**
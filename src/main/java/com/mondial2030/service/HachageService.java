@@ -0,0 +1,77 @@
+package com.mondial2030.service;
+
+import com.mondial2030.util.ConfigUtil;
+import com.mondial2030.util.MotDePasseUtil;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Service de hachage des mots de passe (BCrypt, voir MotDePasseUtil).
+ * Les calculs, coûteux par construction, sont faits par un pool de
+ * security.hachage.threads threads (un par processeur par défaut) avec une
+ * file d'attente bornée à security.hachage.file demandes : une rafale de
+ * connexions occupe les processeurs sans bloquer le thread JavaFX ni les
+ * autres pools, et les demandes au-delà de la file sont refusées au lieu
+ * de s'accumuler.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class HachageService {
+
+    private static HachageService instance;
+    private final ThreadPoolExecutor executeur;
+
+    private HachageService() {
+        int threads = ConfigUtil.getInt("security.hachage.threads", 0);
+        int taille = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int file = Math.max(ConfigUtil.getInt("security.hachage.file", 256), 1);
+        AtomicInteger numero = new AtomicInteger();
+        this.executeur = new ThreadPoolExecutor(taille, taille, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(file), r -> {
+                    Thread thread = new Thread(r, "hachage-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Retourne l'instance singleton du service
+     */
+    public static synchronized HachageService getInstance() {
+        if (instance == null) {
+            instance = new HachageService();
+        }
+        return instance;
+    }
+
+    /**
+     * Vérifie un mot de passe contre son haché ; faux si le haché est
+     * absent ou n'est pas un haché BCrypt
+     */
+    public CompletableFuture<Boolean> verifier(String motDePasse, String hache) {
+        return soumettre(() -> MotDePasseUtil.verifier(motDePasse, hache));
+    }
+
+    /**
+     * Hache un mot de passe au coût courant avec un nouveau sel
+     */
+    public CompletableFuture<String> hacher(String motDePasse) {
+        return soumettre(() -> MotDePasseUtil.hacher(motDePasse));
+    }
+
+    private <T> CompletableFuture<T> soumettre(Supplier<T> calcul) {
+        try {
+            return CompletableFuture.supplyAsync(calcul, executeur);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(
+                    new IllegalStateException("Trop de connexions en cours, veuillez réessayer.", e));
+        }
+    }
+}
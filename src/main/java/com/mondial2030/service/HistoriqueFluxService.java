@@ -0,0 +1,279 @@
+package com.mondial2030.service;
+
+import com.mondial2030.dao.impl.EchantillonFluxDAOImpl;
+import com.mondial2030.dao.interfaces.EchantillonFluxDAO;
+import com.mondial2030.dto.PointFluxDTO;
+import com.mondial2030.entity.EchantillonFlux;
+import com.mondial2030.util.ConfigUtil;
+import com.mondial2030.util.HibernateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Service d'historique de l'occupation des zones.
+ * Chaque seconde, les compteurs de CompteurFluxService sont relevés dans
+ * la série temporelle flux_echantillon (ajout seul). Le relevé a son propre
+ * thread et chaque échantillon porte la seconde de l'horloge à laquelle il
+ * est pris : une écriture lente ne décale pas les relevés. Les échantillons
+ * sont écrits par lots (une clé déjà en base, après un redémarrage dans la
+ * même seconde, est ignorée), puis agrégés automatiquement en fenêtres d'une minute
+ * et de 15 minutes ; chaque résolution a sa propre durée de conservation.
+ * La file d'attente est bornée à flux.historique.file échantillons et un
+ * lot qui échoue flux.historique.tentatives fois de suite est abandonné :
+ * une base indisponible ne fait pas grossir la mémoire sans limite.
+ * Les lectures choisissent la résolution adaptée à la période demandée.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class HistoriqueFluxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoriqueFluxService.class);
+    private static HistoriqueFluxService instance;
+
+    /**
+     * Nombre maximal de points visé pour une série lue
+     */
+    private static final long POINTS_MAX = 900;
+
+    private final EchantillonFluxDAO echantillonDAO;
+    private final CompteurFluxService compteurs;
+    private final BlockingQueue<EchantillonFlux> aEcrire;
+    private final AtomicLong echantillonsPerdus = new AtomicLong();
+
+    private final long intervalleEcriture;
+    private final int tentativesMax;
+    private final long retentionSeconde;
+    private final long retentionMinute;
+    private final long retentionQuartHeure;
+
+    // Fin des fenêtres déjà agrégées, en secondes epoch (thread d'écriture uniquement)
+    private long agregeMinute;
+    private long agregeQuartHeure;
+
+    // Lot en échec à réécrire et nombre d'échecs consécutifs (thread d'écriture uniquement)
+    private List<EchantillonFlux> aReecrire = new ArrayList<>();
+    private int echecs;
+
+    // Dernière seconde relevée (thread de relevé uniquement) : deux relevés n'ont jamais la même clé
+    private long derniereSeconde;
+
+    private ScheduledExecutorService echantillonneur;
+    private ScheduledExecutorService planificateur;
+
+    private HistoriqueFluxService() {
+        this.echantillonDAO = new EchantillonFluxDAOImpl();
+        this.compteurs = CompteurFluxService.getInstance();
+        this.intervalleEcriture = Math.max(ConfigUtil.getLong("flux.historique.ecriture.interval", 5000), 1000);
+        this.aEcrire = new LinkedBlockingQueue<>(Math.max(ConfigUtil.getInt("flux.historique.file", 100000), 1));
+        this.tentativesMax = Math.max(ConfigUtil.getInt("flux.historique.tentatives", 3), 1);
+        this.retentionSeconde = ConfigUtil.getLong("flux.historique.retention.seconde", 7200);
+        this.retentionMinute = ConfigUtil.getLong("flux.historique.retention.minute", 604800);
+        this.retentionQuartHeure = ConfigUtil.getLong("flux.historique.retention.quart_heure", 31536000);
+    }
+
+    public static synchronized HistoriqueFluxService getInstance() {
+        if (instance == null) {
+            instance = new HistoriqueFluxService();
+        }
+        return instance;
+    }
+
+    /**
+     * Démarre l'échantillonnage à la seconde et l'écriture périodique.
+     * Appelé au démarrage de l'application, après CompteurFluxService.
+     */
+    public synchronized void demarrer() {
+        if (planificateur == null) {
+            Long dernierMinute = echantillonDAO.findDernierDebut(EchantillonFlux.RESOLUTION_MINUTE);
+            Long dernierQuart = echantillonDAO.findDernierDebut(EchantillonFlux.RESOLUTION_QUART_HEURE);
+            agregeMinute = dernierMinute != null ? dernierMinute : 0;
+            agregeQuartHeure = dernierQuart != null ? dernierQuart : 0;
+
+            echantillonneur = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "flux-historique-releve");
+                thread.setDaemon(true);
+                return thread;
+            });
+            planificateur = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "flux-historique");
+                thread.setDaemon(true);
+                return thread;
+            });
+            echantillonneur.scheduleAtFixedRate(this::echantillonner, 1, 1, TimeUnit.SECONDS);
+            planificateur.scheduleWithFixedDelay(this::ecrireSansErreur,
+                    intervalleEcriture, intervalleEcriture, TimeUnit.MILLISECONDS);
+            logger.info("Historique des flux démarré (écriture toutes les {} ms).", intervalleEcriture);
+        }
+    }
+
+    /**
+     * Arrête l'échantillonnage et écrit les derniers échantillons.
+     * Doit être appelé avant la fermeture de la SessionFactory.
+     */
+    public synchronized void arreter() {
+        if (planificateur != null) {
+            echantillonneur.shutdown();
+            planificateur.shutdown();
+            try {
+                echantillonneur.awaitTermination(5, TimeUnit.SECONDS);
+                planificateur.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            echantillonneur = null;
+            planificateur = null;
+            echantillonner();
+        }
+        ecrireSansErreur();
+    }
+
+    /**
+     * Série d'occupation d'un match (zones cumulées) sur une période
+     */
+    public List<PointFluxDTO> getSerieMatch(Long matchId, LocalDateTime debut, LocalDateTime fin) {
+        long debutSecondes = enSecondes(debut);
+        long finSecondes = enSecondes(fin);
+        return echantillonDAO.findSerieMatch(matchId, choisirResolution(debutSecondes, finSecondes),
+                debutSecondes, finSecondes);
+    }
+
+    /**
+     * Série d'occupation d'une zone sur une période
+     */
+    public List<PointFluxDTO> getSerieZone(Long zoneId, LocalDateTime debut, LocalDateTime fin) {
+        long debutSecondes = enSecondes(debut);
+        long finSecondes = enSecondes(fin);
+        return echantillonDAO.findSerieZone(zoneId, choisirResolution(debutSecondes, finSecondes),
+                debutSecondes, finSecondes);
+    }
+
+    /**
+     * Identifiants des matchs ayant un historique sur une période
+     */
+    public List<Long> getMatchsSuivis(LocalDateTime debut, LocalDateTime fin) {
+        long debutSecondes = enSecondes(debut);
+        long finSecondes = enSecondes(fin);
+        return echantillonDAO.findMatchIds(choisirResolution(debutSecondes, finSecondes),
+                debutSecondes, finSecondes);
+    }
+
+    /**
+     * Relève les compteurs de la seconde écoulée. Un relevé qui tombe dans
+     * une seconde déjà relevée (retard rattrapé, horloge reculée) est
+     * ignoré : ses passages sont comptés dans le relevé suivant.
+     */
+    private void echantillonner() {
+        try {
+            long seconde = System.currentTimeMillis() / 1000;
+            if (seconde <= derniereSeconde) {
+                return;
+            }
+            derniereSeconde = seconde;
+            for (EchantillonFlux echantillon : compteurs.echantillonner(seconde)) {
+                if (!aEcrire.offer(echantillon)) {
+                    echantillonsPerdus.incrementAndGet();
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Échec de l'échantillonnage des flux", e);
+        }
+    }
+
+    /**
+     * Écrit les échantillons en attente en une transaction, puis agrège les
+     * fenêtres terminées et applique la conservation de chaque résolution.
+     * Un lot en échec est repris à l'écriture suivante, au plus
+     * tentativesMax fois.
+     */
+    private void ecrire() {
+        long perdus = echantillonsPerdus.getAndSet(0);
+        if (perdus > 0) {
+            logger.warn("File de l'historique pleine : {} échantillon(s) perdu(s).", perdus);
+        }
+        List<EchantillonFlux> lot = aReecrire;
+        aReecrire = new ArrayList<>();
+        aEcrire.drainTo(lot);
+        try {
+            echantillonDAO.insererSansDoublon(lot);
+            echecs = 0;
+        } catch (RuntimeException e) {
+            if (++echecs < tentativesMax) {
+                aReecrire = lot;
+            } else {
+                logger.error("{} échantillon(s) de flux abandonné(s) après {} échecs d'écriture.", lot.size(), echecs);
+                echecs = 0;
+            }
+            throw e;
+        }
+
+        // Une fenêtre n'est agrégée qu'une fois tous ses échantillons écrits
+        long maintenant = System.currentTimeMillis() / 1000;
+        long marge = intervalleEcriture / 1000 + 2;
+        long finMinute = debutFenetre(maintenant - marge, EchantillonFlux.RESOLUTION_MINUTE);
+        long finQuartHeure = debutFenetre(finMinute, EchantillonFlux.RESOLUTION_QUART_HEURE);
+
+        HibernateUtil.runInTransaction(session -> {
+            if (finMinute > agregeMinute) {
+                echantillonDAO.agreger(EchantillonFlux.RESOLUTION_SECONDE, EchantillonFlux.RESOLUTION_MINUTE,
+                        agregeMinute, finMinute);
+            }
+            if (finQuartHeure > agregeQuartHeure) {
+                echantillonDAO.agreger(EchantillonFlux.RESOLUTION_MINUTE, EchantillonFlux.RESOLUTION_QUART_HEURE,
+                        agregeQuartHeure, finQuartHeure);
+            }
+            // Les échantillons pas encore agrégés sont conservés
+            echantillonDAO.supprimerAvant(EchantillonFlux.RESOLUTION_SECONDE,
+                    Math.min(maintenant - retentionSeconde, finMinute));
+            echantillonDAO.supprimerAvant(EchantillonFlux.RESOLUTION_MINUTE,
+                    Math.min(maintenant - retentionMinute, finQuartHeure));
+            echantillonDAO.supprimerAvant(EchantillonFlux.RESOLUTION_QUART_HEURE,
+                    maintenant - retentionQuartHeure);
+        });
+        agregeMinute = Math.max(agregeMinute, finMinute);
+        agregeQuartHeure = Math.max(agregeQuartHeure, finQuartHeure);
+    }
+
+    private void ecrireSansErreur() {
+        try {
+            ecrire();
+        } catch (Exception e) {
+            logger.error("Échec de l'écriture de l'historique des flux", e);
+        }
+    }
+
+    /**
+     * Résolution la plus fine encore conservée au début de la période et
+     * donnant au plus POINTS_MAX points
+     */
+    private int choisirResolution(long debut, long fin) {
+        long age = System.currentTimeMillis() / 1000 - debut;
+        long duree = Math.max(fin - debut, 0);
+        if (age <= retentionSeconde && duree <= POINTS_MAX * EchantillonFlux.RESOLUTION_SECONDE) {
+            return EchantillonFlux.RESOLUTION_SECONDE;
+        }
+        if (age <= retentionMinute && duree <= POINTS_MAX * EchantillonFlux.RESOLUTION_MINUTE) {
+            return EchantillonFlux.RESOLUTION_MINUTE;
+        }
+        return EchantillonFlux.RESOLUTION_QUART_HEURE;
+    }
+
+    private static long debutFenetre(long seconde, int resolution) {
+        return Math.floorDiv(seconde, resolution) * resolution;
+    }
+
+    private static long enSecondes(LocalDateTime date) {
+        return date.atZone(ZoneId.systemDefault()).toEpochSecond();
+    }
+}
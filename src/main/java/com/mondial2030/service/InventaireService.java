@@ -0,0 +1,371 @@
+package com.mondial2030.service;
+
+import com.mondial2030.dao.impl.MatchDAOImpl;
+import com.mondial2030.dao.impl.TicketDAOImpl;
+import com.mondial2030.dao.impl.ZoneDAOImpl;
+import com.mondial2030.dao.interfaces.MatchDAO;
+import com.mondial2030.dao.interfaces.TicketDAO;
+import com.mondial2030.dao.interfaces.ZoneDAO;
+import com.mondial2030.entity.Match;
+import com.mondial2030.entity.StatutTicket;
+import com.mondial2030.entity.Zone;
+import com.mondial2030.util.ConfigUtil;
+import com.mondial2030.util.HibernateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service d'inventaire des places en mémoire.
+ * Tient un compteur atomique de places disponibles par match et par zone :
+ * une réservation est un simple compare-and-set, sans accès à la base, et
+ * ne peut jamais descendre sous zéro (pas de survente).
+ * Les compteurs modifiés sont recopiés périodiquement (write-behind) dans
+ * les tables match_football et zone.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class InventaireService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventaireService.class);
+    private static InventaireService instance;
+
+    private final MatchDAO matchDAO;
+    private final ZoneDAO zoneDAO;
+    private final TicketDAO ticketDAO;
+
+    private final Map<Long, AtomicInteger> disponiblesParMatch = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicInteger> disponiblesParZone = new ConcurrentHashMap<>();
+    private final Set<Long> matchsModifies = ConcurrentHashMap.newKeySet();
+    private final Set<Long> zonesModifiees = ConcurrentHashMap.newKeySet();
+
+    private final long intervalleSynchronisation;
+    private ScheduledExecutorService planificateur;
+
+    private InventaireService() {
+        this.matchDAO = new MatchDAOImpl();
+        this.zoneDAO = new ZoneDAOImpl();
+        this.ticketDAO = new TicketDAOImpl();
+        this.intervalleSynchronisation = ConfigUtil.getLong("inventaire.synchronisation.interval", 1000);
+    }
+
+    public static synchronized InventaireService getInstance() {
+        if (instance == null) {
+            instance = new InventaireService();
+        }
+        return instance;
+    }
+
+    /**
+     * Réconcilie l'inventaire avec la base puis démarre la synchronisation
+     * périodique. Appelé au démarrage de l'application.
+     */
+    public synchronized void demarrer() {
+        reconcilier();
+        if (planificateur == null) {
+            planificateur = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "inventaire-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            planificateur.scheduleWithFixedDelay(this::synchroniserSansErreur,
+                    intervalleSynchronisation, intervalleSynchronisation, TimeUnit.MILLISECONDS);
+            logger.info("Inventaire démarré (synchronisation toutes les {} ms).", intervalleSynchronisation);
+        }
+    }
+
+    /**
+     * Arrête la synchronisation périodique et écrit les derniers compteurs.
+     * Doit être appelé avant la fermeture de la SessionFactory.
+     */
+    public synchronized void arreter() {
+        if (planificateur != null) {
+            planificateur.shutdown();
+            try {
+                planificateur.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            planificateur = null;
+        }
+        synchroniserSansErreur();
+    }
+
+    /**
+     * Recharge tous les compteurs depuis la base.
+     * Les places disponibles d'un match et de chacune de ses zones sont
+     * recalculées à partir des tickets réellement vendus ; tout écart avec
+     * les colonnes tickets_disponibles et places_disponibles est corrigé à la
+     * prochaine synchronisation.
+     */
+    public void reconcilier() {
+        HibernateUtil.runInTransaction(session -> {
+            Map<Long, Long> occupees = ticketDAO.countPlacesOccupeesParMatch();
+            for (Match match : matchDAO.findAll()) {
+                int disponibles = disponiblesReconcilies(match, occupees.getOrDefault(match.getId(), 0L));
+                disponiblesParMatch.put(match.getId(), new AtomicInteger(disponibles));
+                if (match.getTicketsDisponibles() == null || match.getTicketsDisponibles() != disponibles) {
+                    logger.info("Inventaire match {} corrigé: {} -> {}",
+                            match.getId(), match.getTicketsDisponibles(), disponibles);
+                    matchsModifies.add(match.getId());
+                }
+            }
+            Map<Long, Long> occupeesParZone = ticketDAO.countPlacesOccupeesParZone();
+            for (Zone zone : zoneDAO.findAll()) {
+                int disponibles = disponiblesZoneReconcilies(zone, occupeesParZone.getOrDefault(zone.getId(), 0L));
+                disponiblesParZone.put(zone.getId(), new AtomicInteger(disponibles));
+                if (zone.getPlacesDisponibles() == null || zone.getPlacesDisponibles() != disponibles) {
+                    logger.info("Inventaire zone {} corrigé: {} -> {}",
+                            zone.getId(), zone.getPlacesDisponibles(), disponibles);
+                    zonesModifiees.add(zone.getId());
+                }
+            }
+        });
+        logger.info("Inventaire réconcilié: {} match(s), {} zone(s).",
+                disponiblesParMatch.size(), disponiblesParZone.size());
+    }
+
+    /**
+     * Réserve des places pour un match, et dans une zone si elle est précisée.
+     * La réservation est tout ou rien : si la zone n'a pas assez de places,
+     * les places du match sont restituées.
+     *
+     * @param matchId L'identifiant du match
+     * @param zoneId L'identifiant de la zone, ou null
+     * @param quantite Le nombre de places
+     * @return true si les places ont été réservées
+     */
+    public boolean reserver(Long matchId, Long zoneId, int quantite) {
+        if (quantite <= 0) {
+            return false;
+        }
+        AtomicInteger compteurMatch = compteurMatch(matchId);
+        if (compteurMatch == null || !retirer(compteurMatch, quantite)) {
+            return false;
+        }
+        if (zoneId != null) {
+            AtomicInteger compteurZone = compteurZone(zoneId);
+            if (compteurZone == null || !retirer(compteurZone, quantite)) {
+                compteurMatch.addAndGet(quantite);
+                return false;
+            }
+            zonesModifiees.add(zoneId);
+        }
+        matchsModifies.add(matchId);
+        return true;
+    }
+
+    /**
+     * Restitue des places précédemment réservées (échec de paiement, annulation)
+     *
+     * @param matchId L'identifiant du match
+     * @param zoneId L'identifiant de la zone, ou null
+     * @param quantite Le nombre de places
+     */
+    public void liberer(Long matchId, Long zoneId, int quantite) {
+        if (quantite <= 0) {
+            return;
+        }
+        AtomicInteger compteurMatch = compteurMatch(matchId);
+        if (compteurMatch != null) {
+            compteurMatch.addAndGet(quantite);
+            matchsModifies.add(matchId);
+        }
+        if (zoneId != null) {
+            AtomicInteger compteurZone = compteurZone(zoneId);
+            if (compteurZone != null) {
+                compteurZone.addAndGet(quantite);
+                zonesModifiees.add(zoneId);
+            }
+        }
+    }
+
+    /**
+     * Retourne le nombre de places disponibles d'un match selon l'inventaire
+     */
+    public int getDisponiblesMatch(Long matchId) {
+        AtomicInteger compteur = compteurMatch(matchId);
+        return compteur != null ? compteur.get() : 0;
+    }
+
+    /**
+     * Retourne le nombre de places disponibles d'une zone selon l'inventaire
+     */
+    public int getDisponiblesZone(Long zoneId) {
+        AtomicInteger compteur = compteurZone(zoneId);
+        return compteur != null ? compteur.get() : 0;
+    }
+
+    /**
+     * Force la réécriture du compteur d'un match à la prochaine synchronisation,
+     * par exemple après une mise à jour complète de l'entité.
+     */
+    public void marquerModifie(Long matchId) {
+        if (disponiblesParMatch.containsKey(matchId)) {
+            matchsModifies.add(matchId);
+        }
+    }
+
+    /**
+     * Oublie un match supprimé et ses zones
+     */
+    public void oublier(Long matchId, List<Long> zoneIds) {
+        disponiblesParMatch.remove(matchId);
+        matchsModifies.remove(matchId);
+        for (Long zoneId : zoneIds) {
+            disponiblesParZone.remove(zoneId);
+            zonesModifiees.remove(zoneId);
+        }
+    }
+
+    /**
+     * Écrit en base les compteurs modifiés depuis la dernière synchronisation,
+     * en une seule transaction.
+     */
+    public void synchroniser() {
+        List<Long> matchs = drainer(matchsModifies);
+        List<Long> zones = drainer(zonesModifiees);
+        if (matchs.isEmpty() && zones.isEmpty()) {
+            return;
+        }
+        try {
+            HibernateUtil.runInTransaction(session -> {
+                for (Long matchId : matchs) {
+                    AtomicInteger compteur = disponiblesParMatch.get(matchId);
+                    if (compteur != null) {
+                        matchDAO.updateTicketsDisponibles(matchId, compteur.get());
+                    }
+                }
+                for (Long zoneId : zones) {
+                    AtomicInteger compteur = disponiblesParZone.get(zoneId);
+                    if (compteur != null) {
+                        zoneDAO.updatePlacesDisponibles(zoneId, compteur.get());
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Les compteurs restent à écrire au prochain passage
+            matchsModifies.addAll(matchs);
+            zonesModifiees.addAll(zones);
+            throw e;
+        }
+    }
+
+    private void synchroniserSansErreur() {
+        try {
+            synchroniser();
+        } catch (Exception e) {
+            logger.error("Échec de la synchronisation de l'inventaire", e);
+        }
+    }
+
+    /**
+     * Retourne le compteur d'un match, chargé depuis la base au premier accès
+     * (match créé après le démarrage).
+     */
+    private AtomicInteger compteurMatch(Long matchId) {
+        if (matchId == null) {
+            return null;
+        }
+        AtomicInteger compteur = disponiblesParMatch.get(matchId);
+        if (compteur != null) {
+            return compteur;
+        }
+        Optional<Match> match = matchDAO.findById(matchId);
+        if (match.isEmpty()) {
+            return null;
+        }
+        long occupees = ticketDAO.countByMatchId(matchId)
+                - ticketDAO.countByMatchIdAndStatut(matchId, StatutTicket.ANNULE)
+                - ticketDAO.countByMatchIdAndStatut(matchId, StatutTicket.REMBOURSE);
+        int disponibles = disponiblesReconcilies(match.get(), occupees);
+        return disponiblesParMatch.computeIfAbsent(matchId, id -> new AtomicInteger(disponibles));
+    }
+
+    /**
+     * Retourne le compteur d'une zone, chargé depuis la base au premier accès
+     */
+    private AtomicInteger compteurZone(Long zoneId) {
+        AtomicInteger compteur = disponiblesParZone.get(zoneId);
+        if (compteur != null) {
+            return compteur;
+        }
+        Optional<Zone> zone = zoneDAO.findById(zoneId);
+        if (zone.isEmpty()) {
+            return null;
+        }
+        int disponibles = disponiblesZone(zone.get());
+        return disponiblesParZone.computeIfAbsent(zoneId, id -> new AtomicInteger(disponibles));
+    }
+
+    /**
+     * Places disponibles d'un match : capacité moins places occupées,
+     * ou valeur stockée si la capacité est inconnue
+     */
+    private static int disponiblesReconcilies(Match match, long occupees) {
+        if (match.getCapaciteStade() != null) {
+            return (int) Math.max(0, match.getCapaciteStade() - occupees);
+        }
+        return Math.max(0, match.getTicketsDisponibles() != null ? match.getTicketsDisponibles() : 0);
+    }
+
+    /**
+     * Places disponibles d'une zone : capacité moins places occupées,
+     * ou valeur stockée si la capacité est inconnue
+     */
+    private static int disponiblesZoneReconcilies(Zone zone, long occupees) {
+        if (zone.getCapacite() != null) {
+            return (int) Math.max(0, zone.getCapacite() - occupees);
+        }
+        return disponiblesZone(zone);
+    }
+
+    /**
+     * Places disponibles d'une zone, bornées par sa capacité
+     */
+    private static int disponiblesZone(Zone zone) {
+        int disponibles = zone.getPlacesDisponibles() != null ? zone.getPlacesDisponibles() : 0;
+        if (zone.getCapacite() != null) {
+            disponibles = Math.min(disponibles, zone.getCapacite());
+        }
+        return Math.max(0, disponibles);
+    }
+
+    /**
+     * Retire des places d'un compteur par compare-and-set, sans jamais passer sous zéro
+     */
+    private static boolean retirer(AtomicInteger compteur, int quantite) {
+        int courant;
+        do {
+            courant = compteur.get();
+            if (courant < quantite) {
+                return false;
+            }
+        } while (!compteur.compareAndSet(courant, courant - quantite));
+        return true;
+    }
+
+    /**
+     * Vide un ensemble d'identifiants modifiés et retourne son contenu
+     */
+    private static List<Long> drainer(Set<Long> modifies) {
+        List<Long> ids = new ArrayList<>();
+        for (Long id : modifies) {
+            if (modifies.remove(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
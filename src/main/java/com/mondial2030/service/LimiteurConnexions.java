@@ -0,0 +1,156 @@
+package com.mondial2030.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limiteur de tentatives de connexion par clé (email, source...) sur une
+ * fenêtre glissante.
+ * La fenêtre est découpée en NOMBRE_SEAUX seaux de temps : chaque clé ne
+ * garde qu'un compteur par seau, remis à zéro quand son seau sort de la
+ * fenêtre, et les clés sans tentative dans la fenêtre sont évincées
+ * régulièrement. La mémoire reste ainsi proportionnelle au nombre de clés
+ * actives, quel que soit le nombre de tentatives.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class LimiteurConnexions {
+
+    /**
+     * Nombre de seaux par fenêtre (précision du glissement)
+     */
+    private static final int NOMBRE_SEAUX = 10;
+
+    /**
+     * Nombre de tentatives entre deux évictions des clés inactives
+     */
+    private static final int PERIODE_EVICTION = 256;
+
+    private final int maximum;
+    private final long dureeSeau;
+    private final Map<String, Fenetre> fenetres = new ConcurrentHashMap<>();
+    private final AtomicInteger tentatives = new AtomicInteger();
+
+    /**
+     * @param maximum Tentatives acceptées par clé sur la fenêtre
+     * @param fenetreSecondes Durée de la fenêtre glissante
+     */
+    public LimiteurConnexions(int maximum, long fenetreSecondes) {
+        this.maximum = Math.max(maximum, 1);
+        this.dureeSeau = Math.max(fenetreSecondes * 1000 / NOMBRE_SEAUX, 1);
+    }
+
+    /**
+     * Compte une tentative pour la clé si elle reste sous le maximum
+     * @return false si la clé a déjà atteint le maximum sur la fenêtre
+     */
+    public boolean tenter(String cle) {
+        long seau = seauCourant();
+        if (tentatives.incrementAndGet() % PERIODE_EVICTION == 0) {
+            evincer(seau);
+        }
+        boolean[] acceptee = new boolean[1];
+        fenetres.compute(cle, (k, fenetre) -> {
+            Fenetre courante = fenetre != null ? fenetre : new Fenetre(seau);
+            acceptee[0] = courante.ajouterSiSous(seau, maximum);
+            return courante;
+        });
+        return acceptee[0];
+    }
+
+    /**
+     * Retire une tentative comptée par tenter (la plus récente), par exemple
+     * quand seuls les échecs doivent compter
+     */
+    public void rembourser(String cle) {
+        long seau = seauCourant();
+        fenetres.computeIfPresent(cle, (k, fenetre) -> fenetre.retirer(seau) ? null : fenetre);
+    }
+
+    /**
+     * Oublie les tentatives d'une clé
+     */
+    public void effacer(String cle) {
+        fenetres.remove(cle);
+    }
+
+    /**
+     * Durée de la fenêtre, en minutes arrondies au supérieur
+     */
+    public long getFenetreMinutes() {
+        return (dureeSeau * NOMBRE_SEAUX + 59_999) / 60_000;
+    }
+
+    private void evincer(long seau) {
+        for (String cle : fenetres.keySet()) {
+            fenetres.computeIfPresent(cle, (k, fenetre) -> fenetre.estVide(seau) ? null : fenetre);
+        }
+    }
+
+    private long seauCourant() {
+        return Math.floorDiv(System.nanoTime() / 1_000_000, dureeSeau);
+    }
+
+    /**
+     * Compteurs d'une clé, un par seau, en anneau ; toujours modifiés sous
+     * le verrou de la clé (compute de la table)
+     */
+    private static class Fenetre {
+        private final int[] compteurs = new int[NOMBRE_SEAUX];
+        private long dernierSeau;
+
+        Fenetre(long seau) {
+            this.dernierSeau = seau;
+        }
+
+        boolean ajouterSiSous(long seau, int maximum) {
+            avancer(seau);
+            int total = 0;
+            for (int compteur : compteurs) {
+                total += compteur;
+            }
+            if (total >= maximum) {
+                return false;
+            }
+            compteurs[(int) Math.floorMod(seau, NOMBRE_SEAUX)]++;
+            return true;
+        }
+
+        // Retire la tentative la plus récente ; vrai si la fenêtre est alors vide
+        boolean retirer(long seau) {
+            avancer(seau);
+            for (int i = 0; i < NOMBRE_SEAUX; i++) {
+                int position = (int) Math.floorMod(seau - i, NOMBRE_SEAUX);
+                if (compteurs[position] > 0) {
+                    compteurs[position]--;
+                    break;
+                }
+            }
+            return estVide(seau);
+        }
+
+        boolean estVide(long seau) {
+            avancer(seau);
+            for (int compteur : compteurs) {
+                if (compteur != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Remet à zéro les seaux sortis de la fenêtre depuis la dernière tentative
+        private void avancer(long seau) {
+            long ecart = seau - dernierSeau;
+            if (ecart <= 0) {
+                return;
+            }
+            for (long i = 1; i <= Math.min(ecart, NOMBRE_SEAUX); i++) {
+                compteurs[(int) Math.floorMod(dernierSeau + i, NOMBRE_SEAUX)] = 0;
+            }
+            dernierSeau = seau;
+        }
+    }
+}
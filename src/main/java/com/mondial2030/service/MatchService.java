@@ -6,7 +6,9 @@ import com.mondial2030.dao.impl.ZoneDAOImpl;
 import com.mondial2030.dao.interfaces.MatchDAO;
 import com.mondial2030.dao.interfaces.EquipeDAO;
 import com.mondial2030.dao.interfaces.ZoneDAO;
+import com.mondial2030.dto.MatchResumeDTO;
 import com.mondial2030.entity.*;
+import com.mondial2030.util.HibernateUtil;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -53,10 +55,11 @@ public class MatchService {
             match.setGroupe(equipeDomicile.getGroupe());
         }
         
-        matchDAO.save(match);
-        
-        // Créer les zones du stade
-        creerZonesStade(match, capacite);
+        // Le match et ses zones sont créés dans la même unité de travail
+        HibernateUtil.runInTransaction(session -> {
+            matchDAO.save(match);
+            creerZonesStade(match, capacite);
+        });
         
         return match;
     }
@@ -72,41 +75,45 @@ public class MatchService {
      * Termine un match et met à jour les statistiques des équipes
      */
     public void terminerMatch(Long matchId, int scoreDomicile, int scoreExterieur) {
-        Optional<Match> matchOpt = matchDAO.findById(matchId);
-        if (matchOpt.isEmpty()) return;
-        
-        Match match = matchOpt.get();
-        match.setScoreDomicile(scoreDomicile);
-        match.setScoreExterieur(scoreExterieur);
-        match.setTermine(true);
-        matchDAO.update(match);
-        
-        // Mettre à jour les statistiques des équipes
-        if (match.getEquipeDomicile() != null && match.getEquipeExterieur() != null) {
-            Boolean victDomicile = null;
-            if (scoreDomicile > scoreExterieur) {
-                victDomicile = true;
-            } else if (scoreDomicile < scoreExterieur) {
-                victDomicile = false;
-            }
+        HibernateUtil.runInTransaction(session -> {
+            Optional<Match> matchOpt = matchDAO.findById(matchId);
+            if (matchOpt.isEmpty()) return;
             
-            // Équipe domicile
-            equipeDAO.updateStatistiques(
-                match.getEquipeDomicile().getId(),
-                victDomicile,
-                scoreDomicile,
-                scoreExterieur
-            );
+            Match match = matchOpt.get();
+            match.setScoreDomicile(scoreDomicile);
+            match.setScoreExterieur(scoreExterieur);
+            match.setTermine(true);
+            matchDAO.update(match);
             
-            // Équipe extérieur (inverse)
-            Boolean victExterieur = victDomicile == null ? null : !victDomicile;
-            equipeDAO.updateStatistiques(
-                match.getEquipeExterieur().getId(),
-                victExterieur,
-                scoreExterieur,
-                scoreDomicile
-            );
-        }
+            // Mettre à jour les statistiques des équipes
+            if (match.getEquipeDomicile() != null && match.getEquipeExterieur() != null) {
+                Boolean victDomicile = null;
+                if (scoreDomicile > scoreExterieur) {
+                    victDomicile = true;
+                } else if (scoreDomicile < scoreExterieur) {
+                    victDomicile = false;
+                }
+                
+                // Équipe domicile
+                equipeDAO.updateStatistiques(
+                    match.getEquipeDomicile().getId(),
+                    victDomicile,
+                    scoreDomicile,
+                    scoreExterieur
+                );
+                
+                // Équipe extérieur (inverse)
+                Boolean victExterieur = victDomicile == null ? null : !victDomicile;
+                equipeDAO.updateStatistiques(
+                    match.getEquipeExterieur().getId(),
+                    victExterieur,
+                    scoreExterieur,
+                    scoreDomicile
+                );
+            }
+        });
+        HibernateUtil.evincerCache(Match.class, Equipe.class);
+        ControleAccesService.getInstance().fermerPortes(matchId);
     }
     
     /**
@@ -116,6 +123,13 @@ public class MatchService {
         return matchDAO.findMatchsAVenir();
     }
     
+    /**
+     * Récupère le résumé des matchs à venir
+     */
+    public List<MatchResumeDTO> getResumesMatchsAVenir() {
+        return matchDAO.findResumesAVenir();
+    }
+    
     /**
      * Récupère tous les matchs terminés
      */
@@ -162,14 +176,21 @@ public class MatchService {
      * Recherche un match par son ID
      */
     public Optional<Match> findById(Long id) {
-        return matchDAO.findById(id);
+        return matchDAO.findById(id, Match.PLAN_EQUIPES);
     }
     
     /**
      * Récupère tous les matchs
      */
     public List<Match> getAllMatchs() {
-        return matchDAO.findAll();
+        return matchDAO.findAll(Match.PLAN_EQUIPES);
+    }
+    
+    /**
+     * Récupère le résumé de tous les matchs
+     */
+    public List<MatchResumeDTO> getResumesMatchs() {
+        return matchDAO.findResumes();
     }
     
     /**
@@ -177,20 +198,30 @@ public class MatchService {
      */
     public void updateMatch(Match match) {
         matchDAO.update(match);
+        HibernateUtil.evincerCache(Match.class);
+        // L'entité fusionnée peut porter un nombre de places périmé : l'inventaire fait foi
+        InventaireService.getInstance().marquerModifie(match.getId());
+        // Les zones suivent le match (cascade) : le réseau d'évacuation est reconstruit
+        SimulateurEvacuationService.getInstance().oublierMatch(match.getId());
     }
     
     /**
      * Supprime un match
      */
     public void deleteMatch(Long id) {
+        List<Long> zoneIds = zoneDAO.findByMatchId(id).stream().map(Zone::getId).toList();
         matchDAO.delete(id);
+        HibernateUtil.evincerCache(Match.class, Zone.class);
+        InventaireService.getInstance().oublier(id, zoneIds);
+        ControleAccesService.getInstance().fermerPortes(id);
+        SimulateurEvacuationService.getInstance().oublierMatch(id);
     }
 
     /**
      * Supprime un match (alias pour deleteMatch)
      */
     public void supprimerMatch(Long id) {
-        matchDAO.delete(id);
+        deleteMatch(id);
     }
     
     /**
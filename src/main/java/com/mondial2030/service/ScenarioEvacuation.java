@@ -0,0 +1,65 @@
+package com.mondial2030.service;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Hypothèse d'une simulation d'évacuation : portes fermées (numérotées à
+ * partir de 1) et priorité donnée aux zones accessibles PMR dans les
+ * coursives encombrées.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class ScenarioEvacuation {
+
+    private final String nom;
+    private final Set<Integer> portesFermees;
+    private final boolean prioritePmr;
+
+    public ScenarioEvacuation(String nom, Set<Integer> portesFermees, boolean prioritePmr) {
+        if (nom == null || portesFermees == null) {
+            throw new IllegalArgumentException("Scénario d'évacuation invalide");
+        }
+        this.nom = nom;
+        this.portesFermees = Collections.unmodifiableSet(new TreeSet<>(portesFermees));
+        this.prioritePmr = prioritePmr;
+    }
+
+    /**
+     * Toutes les portes ouvertes, sans priorité
+     */
+    public static ScenarioEvacuation nominal() {
+        return new ScenarioEvacuation("Nominal", Set.of(), false);
+    }
+
+    public static ScenarioEvacuation porteFermee(int porte) {
+        return new ScenarioEvacuation("Porte " + porte + " fermée", Set.of(porte), false);
+    }
+
+    public static ScenarioEvacuation prioritePmr() {
+        return new ScenarioEvacuation("Priorité PMR", Set.of(), true);
+    }
+
+    public String getNom() {
+        return nom;
+    }
+
+    public Set<Integer> getPortesFermees() {
+        return portesFermees;
+    }
+
+    public boolean isPrioritePmr() {
+        return prioritePmr;
+    }
+
+    public boolean estFermee(int porte) {
+        return portesFermees.contains(porte);
+    }
+
+    @Override
+    public String toString() {
+        return "ScenarioEvacuation{" + nom + ", portesFermees=" + portesFermees + ", prioritePmr=" + prioritePmr + '}';
+    }
+}
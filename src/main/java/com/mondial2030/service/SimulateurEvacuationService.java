@@ -0,0 +1,382 @@
+package com.mondial2030.service;
+
+import com.mondial2030.dao.impl.ZoneDAOImpl;
+import com.mondial2030.dao.interfaces.ZoneDAO;
+import com.mondial2030.dto.EtatZoneDTO;
+import com.mondial2030.dto.ResultatEvacuationDTO;
+import com.mondial2030.entity.Match;
+import com.mondial2030.entity.Zone;
+import com.mondial2030.util.ConfigUtil;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Service de simulation d'évacuation.
+ * Le stade est modélisé comme un réseau de flux : chaque zone se vide par
+ * ses sorties (débit proportionnel à sa capacité) dans la coursive de son
+ * niveau, les escaliers descendent de coursive en coursive jusqu'au hall,
+ * et chaque hall s'écoule par sa porte puis, sur l'anneau, par les portes
+ * voisines si elles ont du débit libre. Les zones sont réparties entre les
+ * portes en équilibrant les capacités.
+ * La simulation avance par pas d'une seconde et mesure le temps de vidage
+ * de chaque zone ainsi que les éléments restés saturés (goulets). Les
+ * scénarios (porte fermée, priorité PMR, ...) sont simulés en parallèle.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class SimulateurEvacuationService {
+
+    private static SimulateurEvacuationService instance;
+
+    /**
+     * Durée maximale simulée, en secondes
+     */
+    private static final int DUREE_MAX = 4 * 3600;
+
+    private static final double EPSILON = 1e-6;
+    private static final int GOULETS_MAX = 3;
+
+    private final ZoneDAO zoneDAO;
+    private final CompteurFluxService compteurs;
+    private final ForkJoinPool pool;
+    private final Map<Long, List<ZoneReseau>> reseaux = new ConcurrentHashMap<>();
+
+    private final int nombrePortes;
+    // Débits en personnes par seconde
+    private final double debitPorte;
+    private final double debitSortiesParMillePlaces;
+    private final double debitEscalier;
+    private final double capaciteCoursive;
+
+    private SimulateurEvacuationService() {
+        this.zoneDAO = new ZoneDAOImpl();
+        this.compteurs = CompteurFluxService.getInstance();
+        int parallelisme = ConfigUtil.getInt("flux.evacuation.parallelisme", 0);
+        this.pool = new ForkJoinPool(parallelisme > 0 ? parallelisme : Runtime.getRuntime().availableProcessors());
+        this.nombrePortes = Math.max(ConfigUtil.getInt("flux.evacuation.portes", 8), 1);
+        this.debitPorte = Math.max(ConfigUtil.getDouble("flux.evacuation.taux", 100), 1) / 60;
+        this.debitSortiesParMillePlaces = Math.max(ConfigUtil.getDouble("flux.evacuation.sorties.debit", 300), 1) / 60;
+        this.debitEscalier = Math.max(ConfigUtil.getDouble("flux.evacuation.escalier.debit", 1500), 1) / 60;
+        this.capaciteCoursive = Math.max(ConfigUtil.getDouble("flux.evacuation.coursive.capacite", 3000), 1);
+    }
+
+    public static synchronized SimulateurEvacuationService getInstance() {
+        if (instance == null) {
+            instance = new SimulateurEvacuationService();
+        }
+        return instance;
+    }
+
+    public int getNombrePortes() {
+        return nombrePortes;
+    }
+
+    /**
+     * Scénarios simulés par défaut : nominal, priorité PMR et chaque porte fermée
+     */
+    public List<ScenarioEvacuation> scenariosParDefaut() {
+        List<ScenarioEvacuation> scenarios = new ArrayList<>();
+        scenarios.add(ScenarioEvacuation.nominal());
+        scenarios.add(ScenarioEvacuation.prioritePmr());
+        for (int porte = 1; porte <= nombrePortes; porte++) {
+            scenarios.add(ScenarioEvacuation.porteFermee(porte));
+        }
+        return scenarios;
+    }
+
+    /**
+     * Simule l'évacuation d'un match avec l'occupation actuelle des zones
+     * (compteurs en mémoire), un résultat par scénario
+     */
+    public List<ResultatEvacuationDTO> simuler(Match match, List<ScenarioEvacuation> scenarios) {
+        List<ZoneReseau> reseau = getReseau(match.getId());
+        return simulerEnParallele(reseau, occupations(reseau, compteurs.getEtatsMatch(match.getId())), scenarios);
+    }
+
+    /**
+     * Simule l'évacuation d'un match avec toutes les zones pleines
+     */
+    public List<ResultatEvacuationDTO> simulerStadePlein(Match match, List<ScenarioEvacuation> scenarios) {
+        List<ZoneReseau> reseau = getReseau(match.getId());
+        double[] occupations = new double[reseau.size()];
+        for (int i = 0; i < occupations.length; i++) {
+            occupations[i] = reseau.get(i).capacite;
+        }
+        return simulerEnParallele(reseau, occupations, scenarios);
+    }
+
+    /**
+     * Simule un seul scénario, dans le thread appelant, à partir d'un état
+     * des zones déjà relevé
+     */
+    public ResultatEvacuationDTO simuler(Long matchId, List<EtatZoneDTO> etats, ScenarioEvacuation scenario) {
+        List<ZoneReseau> reseau = getReseau(matchId);
+        return simuler(reseau, occupations(reseau, etats), scenario);
+    }
+
+    /**
+     * Oublie le réseau mémorisé d'un match, après modification ou suppression
+     * de ses zones (MatchService.updateMatch et deleteMatch)
+     */
+    public void oublierMatch(Long matchId) {
+        reseaux.remove(matchId);
+    }
+
+    private List<ResultatEvacuationDTO> simulerEnParallele(List<ZoneReseau> reseau, double[] occupations,
+                                                            List<ScenarioEvacuation> scenarios) {
+        return pool.submit(() -> scenarios.parallelStream()
+                .map(scenario -> simuler(reseau, occupations, scenario))
+                .collect(Collectors.toList()))
+                .join();
+    }
+
+    /**
+     * Déroule la simulation d'un scénario, seconde par seconde
+     */
+    private ResultatEvacuationDTO simuler(List<ZoneReseau> reseau, double[] occupations, ScenarioEvacuation scenario) {
+        int nombreZones = reseau.size();
+        int niveaux = 1;
+        for (ZoneReseau zone : reseau) {
+            niveaux = Math.max(niveaux, zone.niveau + 1);
+        }
+        // Coursive (niveau > 0) ou hall (niveau 0) d'une porte : indice porte * niveaux + niveau
+        double[] coursives = new double[nombrePortes * niveaux];
+        double[] gradins = occupations.clone();
+        double[] debitsPortes = new double[nombrePortes];
+        for (int porte = 0; porte < nombrePortes; porte++) {
+            debitsPortes[porte] = scenario.estFermee(porte + 1) ? 0 : debitPorte;
+        }
+        List<List<Integer>> zonesParCoursive = new ArrayList<>();
+        for (int i = 0; i < coursives.length; i++) {
+            zonesParCoursive.add(new ArrayList<>());
+        }
+        double nombreSpectateurs = 0;
+        for (int z = 0; z < nombreZones; z++) {
+            ZoneReseau zone = reseau.get(z);
+            zonesParCoursive.get(zone.porte * niveaux + zone.niveau).add(z);
+            nombreSpectateurs += gradins[z];
+        }
+
+        int[] tempsZones = new int[nombreZones];
+        for (int z = 0; z < nombreZones; z++) {
+            tempsZones[z] = gradins[z] > EPSILON ? -1 : 0;
+        }
+        int[] saturationPortes = new int[nombrePortes];
+        int[] saturationEscaliers = new int[coursives.length];
+        int[] saturationCoursives = new int[coursives.length];
+        int[] saturationSorties = new int[nombreZones];
+        double[] disponible = new double[nombrePortes];
+        double[] demandes = new double[nombreZones];
+
+        int temps = 0;
+        double restant = nombreSpectateurs;
+        while (restant > EPSILON && temps < DUREE_MAX) {
+            temps++;
+
+            // 1. Halls vers les portes : d'abord la porte du secteur, puis les portes voisines
+            System.arraycopy(debitsPortes, 0, disponible, 0, nombrePortes);
+            for (int porte = 0; porte < nombrePortes; porte++) {
+                int hall = porte * niveaux;
+                double flux = Math.min(coursives[hall], disponible[porte]);
+                coursives[hall] -= flux;
+                disponible[porte] -= flux;
+            }
+            for (int porte = 0; porte < nombrePortes; porte++) {
+                int hall = porte * niveaux;
+                if (coursives[hall] <= EPSILON) {
+                    continue;
+                }
+                for (int voisine : new int[] { (porte + nombrePortes - 1) % nombrePortes, (porte + 1) % nombrePortes }) {
+                    double flux = Math.min(coursives[hall], disponible[voisine]);
+                    coursives[hall] -= flux;
+                    disponible[voisine] -= flux;
+                }
+                if (coursives[hall] > EPSILON) {
+                    saturationPortes[porte]++;
+                }
+            }
+
+            // 2. Escaliers : chaque coursive descend vers le niveau inférieur
+            for (int niveau = 1; niveau < niveaux; niveau++) {
+                for (int porte = 0; porte < nombrePortes; porte++) {
+                    int source = porte * niveaux + niveau;
+                    int cible = source - 1;
+                    double flux = Math.min(Math.min(coursives[source], debitEscalier),
+                            Math.max(capaciteCoursive - coursives[cible], 0));
+                    coursives[source] -= flux;
+                    coursives[cible] += flux;
+                    if (coursives[source] > EPSILON && flux >= debitEscalier - EPSILON) {
+                        saturationEscaliers[source]++;
+                    }
+                }
+            }
+
+            // 3. Gradins vers les coursives, dans la limite de la place libre
+            for (int coursive = 0; coursive < coursives.length; coursive++) {
+                List<Integer> zones = zonesParCoursive.get(coursive);
+                if (zones.isEmpty()) {
+                    continue;
+                }
+                double place = Math.max(capaciteCoursive - coursives[coursive], 0);
+                double demande = 0;
+                for (int z : zones) {
+                    demandes[z] = Math.min(gradins[z], reseau.get(z).debitSorties);
+                    demande += demandes[z];
+                }
+                if (demande <= EPSILON) {
+                    continue;
+                }
+                if (demande <= place) {
+                    for (int z : zones) {
+                        sortir(gradins, coursives, z, coursive, demandes[z]);
+                        if (gradins[z] > EPSILON) {
+                            saturationSorties[z]++;
+                        }
+                    }
+                    continue;
+                }
+                saturationCoursives[coursive]++;
+                if (scenario.isPrioritePmr()) {
+                    for (int z : zones) {
+                        if (reseau.get(z).accessiblePmr) {
+                            double flux = Math.min(demandes[z], place);
+                            sortir(gradins, coursives, z, coursive, flux);
+                            place -= flux;
+                            demande -= demandes[z];
+                            demandes[z] = 0;
+                        }
+                    }
+                }
+                double ratio = demande > EPSILON ? Math.min(place / demande, 1) : 0;
+                for (int z : zones) {
+                    sortir(gradins, coursives, z, coursive, demandes[z] * ratio);
+                }
+            }
+
+            restant = 0;
+            for (int z = 0; z < nombreZones; z++) {
+                if (tempsZones[z] < 0 && gradins[z] <= EPSILON) {
+                    tempsZones[z] = temps;
+                }
+                restant += gradins[z];
+            }
+            for (double occupation : coursives) {
+                restant += occupation;
+            }
+        }
+
+        Map<String, Integer> tempsParZone = new LinkedHashMap<>();
+        for (int z = 0; z < nombreZones; z++) {
+            tempsParZone.put(reseau.get(z).nom, tempsZones[z] >= 0 ? tempsZones[z] : temps);
+        }
+
+        Map<String, Integer> saturations = new HashMap<>();
+        for (int porte = 0; porte < nombrePortes; porte++) {
+            saturations.put("Porte " + (porte + 1), saturationPortes[porte]);
+            for (int niveau = 0; niveau < niveaux; niveau++) {
+                int coursive = porte * niveaux + niveau;
+                saturations.put(niveau == 0 ? "Hall porte " + (porte + 1)
+                        : "Coursive porte " + (porte + 1) + " niveau " + niveau, saturationCoursives[coursive]);
+                if (niveau > 0) {
+                    saturations.put("Escalier porte " + (porte + 1) + " niveau " + niveau, saturationEscaliers[coursive]);
+                }
+            }
+        }
+        for (int z = 0; z < nombreZones; z++) {
+            saturations.put("Sorties " + reseau.get(z).nom, saturationSorties[z]);
+        }
+        List<String> goulets = saturations.entrySet().stream()
+                .filter(entree -> entree.getValue() > 0)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .limit(GOULETS_MAX)
+                .map(entree -> entree.getKey() + " (" + (int) Math.ceil(entree.getValue() / 60.0) + " min)")
+                .collect(Collectors.toList());
+
+        return new ResultatEvacuationDTO(scenario.getNom(), (int) Math.round(nombreSpectateurs),
+                restant <= EPSILON, temps, tempsParZone, goulets);
+    }
+
+    private static void sortir(double[] gradins, double[] coursives, int zone, int coursive, double flux) {
+        gradins[zone] -= flux;
+        coursives[coursive] += flux;
+    }
+
+    /**
+     * Occupation de chaque zone du réseau d'après les compteurs (0 si la zone n'est pas suivie)
+     */
+    private static double[] occupations(List<ZoneReseau> reseau, List<EtatZoneDTO> etats) {
+        Map<Long, Integer> parZone = new HashMap<>();
+        for (EtatZoneDTO etat : etats) {
+            parZone.put(etat.getZoneId(), etat.getOccupation());
+        }
+        double[] occupations = new double[reseau.size()];
+        for (int i = 0; i < occupations.length; i++) {
+            occupations[i] = parZone.getOrDefault(reseau.get(i).id, 0);
+        }
+        return occupations;
+    }
+
+    private List<ZoneReseau> getReseau(Long matchId) {
+        return reseaux.computeIfAbsent(matchId, this::construireReseau);
+    }
+
+    /**
+     * Construit le réseau d'un match : chaque zone est rattachée à la porte
+     * la moins chargée, des plus grandes zones aux plus petites
+     */
+    private List<ZoneReseau> construireReseau(Long matchId) {
+        List<Zone> zones = new ArrayList<>(zoneDAO.findByMatchId(matchId));
+        zones.sort(Comparator.comparing((Zone zone) -> capacite(zone)).reversed()
+                .thenComparing(Zone::getId));
+        long[] charges = new long[nombrePortes];
+        List<ZoneReseau> reseau = new ArrayList<>();
+        for (Zone zone : zones) {
+            int porte = 0;
+            for (int i = 1; i < nombrePortes; i++) {
+                if (charges[i] < charges[porte]) {
+                    porte = i;
+                }
+            }
+            charges[porte] += capacite(zone);
+            reseau.add(new ZoneReseau(zone, porte, debitSortiesParMillePlaces));
+        }
+        return reseau;
+    }
+
+    private static int capacite(Zone zone) {
+        return zone.getCapacite() != null ? zone.getCapacite() : 0;
+    }
+
+    /**
+     * Zone telle que vue par la simulation
+     */
+    private static final class ZoneReseau {
+
+        private final Long id;
+        private final String nom;
+        private final int capacite;
+        private final int niveau;
+        private final boolean accessiblePmr;
+        private final int porte;
+        private final double debitSorties;
+
+        ZoneReseau(Zone zone, int porte, double debitSortiesParMillePlaces) {
+            this.id = zone.getId();
+            this.nom = zone.getNom();
+            this.capacite = capacite(zone);
+            this.niveau = zone.getNiveau() != null ? Math.max(zone.getNiveau(), 0) : 0;
+            this.accessiblePmr = Boolean.TRUE.equals(zone.getAccessiblePmr());
+            this.porte = porte;
+            this.debitSorties = Math.max(capacite, 1) / 1000.0 * debitSortiesParMillePlaces;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.mondial2030.service;
+
+import com.mondial2030.dao.impl.AlerteDAOImpl;
+import com.mondial2030.dao.impl.MatchDAOImpl;
+import com.mondial2030.dao.impl.SpectateurDAOImpl;
+import com.mondial2030.dao.impl.TicketDAOImpl;
+import com.mondial2030.dao.interfaces.AlerteDAO;
+import com.mondial2030.dao.interfaces.MatchDAO;
+import com.mondial2030.dao.interfaces.SpectateurDAO;
+import com.mondial2030.dao.interfaces.TicketDAO;
+import com.mondial2030.dto.TableauDeBordDTO;
+import com.mondial2030.dto.VentesMatchDTO;
+import com.mondial2030.entity.CategorieTicket;
+import com.mondial2030.entity.StatutTicket;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service des indicateurs du tableau de bord.
+ * Chaque indicateur est calculé par la base (COUNT, SUM, GROUP BY) et
+ * renvoyé sous forme de DTO : aucun ticket n'est chargé en mémoire.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class StatistiquesService {
+
+    private static StatistiquesService instance;
+
+    // Tickets comptés dans le chiffre d'affaires
+    private static final EnumSet<StatutTicket> STATUTS_PAYES = EnumSet.of(StatutTicket.VALIDE, StatutTicket.UTILISE);
+
+    // Nombre de matchs du classement des ventes
+    private static final int NOMBRE_MEILLEURES_VENTES = 5;
+
+    private final TicketDAO ticketDAO;
+    private final MatchDAO matchDAO;
+    private final SpectateurDAO spectateurDAO;
+    private final AlerteDAO alerteDAO;
+
+    private StatistiquesService() {
+        this.ticketDAO = new TicketDAOImpl();
+        this.matchDAO = new MatchDAOImpl();
+        this.spectateurDAO = new SpectateurDAOImpl();
+        this.alerteDAO = new AlerteDAOImpl();
+    }
+
+    public static synchronized StatistiquesService getInstance() {
+        if (instance == null) {
+            instance = new StatistiquesService();
+        }
+        return instance;
+    }
+
+    /**
+     * Calcule l'ensemble des indicateurs du tableau de bord administrateur
+     */
+    public TableauDeBordDTO getTableauDeBord() {
+        return new TableauDeBordDTO(
+                matchDAO.count(),
+                ticketDAO.count(),
+                spectateurDAO.count(),
+                alerteDAO.countNonResolues(),
+                getChiffreAffaires(),
+                getTicketsParCategorie(),
+                getMeilleuresVentes(NOMBRE_MEILLEURES_VENTES));
+    }
+
+    /**
+     * Somme des prix des tickets valides ou utilisés
+     */
+    public double getChiffreAffaires() {
+        return ticketDAO.calculerChiffreAffaires(STATUTS_PAYES);
+    }
+
+    /**
+     * Nombre de tickets de chaque catégorie
+     */
+    public Map<CategorieTicket, Long> getTicketsParCategorie() {
+        return ticketDAO.countParCategorie();
+    }
+
+    /**
+     * Matchs ayant le plus de tickets, du plus au moins vendu
+     */
+    public List<VentesMatchDTO> getMeilleuresVentes(int limite) {
+        return ticketDAO.findMeilleuresVentes(limite);
+    }
+}
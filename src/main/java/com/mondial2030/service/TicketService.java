@@ -8,9 +8,14 @@ import com.mondial2030.dao.interfaces.TicketDAO;
 import com.mondial2030.dao.interfaces.MatchDAO;
 import com.mondial2030.dao.interfaces.TransactionDAO;
 import com.mondial2030.dao.interfaces.SpectateurDAO;
+import com.mondial2030.dto.TicketLigneDTO;
 import com.mondial2030.entity.*;
+import com.mondial2030.util.HibernateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,17 +27,22 @@ import java.util.Optional;
  */
 public class TicketService {
     
+    private static final Logger logger = LoggerFactory.getLogger(TicketService.class);
     private static TicketService instance;
     private final TicketDAO ticketDAO;
     private final MatchDAO matchDAO;
     private final TransactionDAO transactionDAO;
     private final SpectateurDAO spectateurDAO;
+    private final InventaireService inventaire;
+    private final ControleAccesService controleAcces;
     
     private TicketService() {
         this.ticketDAO = new TicketDAOImpl();
         this.matchDAO = new MatchDAOImpl();
         this.transactionDAO = new TransactionDAOImpl();
         this.spectateurDAO = new SpectateurDAOImpl();
+        this.inventaire = InventaireService.getInstance();
+        this.controleAcces = ControleAccesService.getInstance();
     }
     
     public static synchronized TicketService getInstance() {
@@ -43,71 +53,81 @@ public class TicketService {
     }
     
     /**
-     * Achète un ticket pour un match
+     * Achète un ticket pour un match.
+     * La place est d'abord réservée dans l'inventaire en mémoire (sans accès
+     * à la base) ; le ticket et la transaction sont ensuite écrits dans une
+     * seule unité de travail. En cas d'échec, la place est restituée.
      */
     public Optional<Ticket> acheterTicket(Spectateur spectateur, Match match, 
                                            CategorieTicket categorie, String methodePaiement) {
+        // Réserver la place : échoue immédiatement si le match est complet
+        if (!inventaire.reserver(match.getId(), null, 1)) {
+            logger.debug("Plus de tickets disponibles pour le match {}", match.getId());
+            return Optional.empty();
+        }
+        
+        Optional<Ticket> resultat = Optional.empty();
         try {
-            // Recharger le match depuis la base de données pour avoir les données à jour
-            Optional<Match> matchFrais = matchDAO.findById(match.getId());
-            if (matchFrais.isEmpty()) {
-                System.out.println("DEBUG - Match non trouvé: " + match.getId());
-                return Optional.empty();
-            }
-            Match matchActuel = matchFrais.get();
-            
-            // Vérifier la disponibilité
-            if (matchActuel.getTicketsDisponibles() == null || matchActuel.getTicketsDisponibles() <= 0) {
-                System.out.println("DEBUG - Plus de tickets disponibles: " + matchActuel.getTicketsDisponibles());
-                return Optional.empty();
-            }
-            
-            // Recharger le spectateur aussi
-            Optional<Spectateur> specFrais = spectateurDAO.findById(spectateur.getId());
-            if (specFrais.isEmpty()) {
-                System.out.println("DEBUG - Spectateur non trouvé: " + spectateur.getId());
-                return Optional.empty();
-            }
-            Spectateur spectateurActuel = specFrais.get();
-            
-            // Calculer le prix
-            double prix = calculerPrix(matchActuel, categorie);
-            
-            // Créer le ticket
-            Ticket ticket = new Ticket(matchActuel, spectateurActuel, categorie, prix);
-            ticket.setDateAchat(LocalDateTime.now());
-            ticket.setStatut(StatutTicket.RESERVE);
-            
-            // Simuler le paiement
-            Transaction transaction = new Transaction(spectateurActuel, ticket, TypeTransaction.ACHAT, prix);
-            transaction.setMethodePaiement(methodePaiement);
-            
-            // Traiter le paiement (simulation)
-            boolean paiementReussi = simulerPaiement(transaction);
-            
-            if (paiementReussi) {
-                ticket.valider();
-                ticketDAO.save(ticket);
+            resultat = HibernateUtil.inTransaction(session -> {
+                // Recharger le match depuis la base de données pour avoir les données à jour
+                Optional<Match> matchFrais = matchDAO.findById(match.getId());
+                if (matchFrais.isEmpty()) {
+                    logger.debug("Match non trouvé: {}", match.getId());
+                    return Optional.<Ticket>empty();
+                }
+                Match matchActuel = matchFrais.get();
                 
-                transaction.valider();
-                transactionDAO.save(transaction);
+                // Recharger le spectateur aussi
+                Optional<Spectateur> specFrais = spectateurDAO.findById(spectateur.getId());
+                if (specFrais.isEmpty()) {
+                    logger.debug("Spectateur non trouvé: {}", spectateur.getId());
+                    return Optional.<Ticket>empty();
+                }
+                Spectateur spectateurActuel = specFrais.get();
                 
-                // Mettre à jour le match
-                matchDAO.decrementerTicketsDisponibles(match.getId());
+                // Calculer le prix
+                double prix = calculerPrix(matchActuel, categorie);
                 
-                // Mettre à jour le spectateur
-                spectateurDAO.incrementerNombreTickets(spectateur.getId());
+                // Créer le ticket
+                Ticket ticket = new Ticket(matchActuel, spectateurActuel, categorie, prix);
+                ticket.setDateAchat(LocalDateTime.now());
+                ticket.setStatut(StatutTicket.RESERVE);
                 
-                return Optional.of(ticket);
-            } else {
-                transaction.refuser();
-                transactionDAO.save(transaction);
-                return Optional.empty();
-            }
+                // Simuler le paiement
+                Transaction transaction = new Transaction(spectateurActuel, ticket, TypeTransaction.ACHAT, prix);
+                transaction.setMethodePaiement(methodePaiement);
+                
+                // Traiter le paiement (simulation)
+                boolean paiementReussi = simulerPaiement(transaction);
+                
+                if (paiementReussi) {
+                    ticket.valider();
+                    ticketDAO.save(ticket);
+                    
+                    transaction.valider();
+                    transactionDAO.save(transaction);
+                    
+                    // Mettre à jour le spectateur
+                    spectateurDAO.incrementerNombreTickets(spectateur.getId());
+                    
+                    return Optional.of(ticket);
+                } else {
+                    // Paiement refusé : la transaction refusée n'est liée à aucun ticket persisté
+                    transaction.setTicket(null);
+                    transaction.refuser();
+                    transactionDAO.save(transaction);
+                    return Optional.<Ticket>empty();
+                }
+            });
         } catch (Exception e) {
-            e.printStackTrace();
-            return Optional.empty();
+            logger.error("Erreur lors de l'achat du ticket", e);
+        } finally {
+            if (resultat.isEmpty()) {
+                inventaire.liberer(match.getId(), null, 1);
+            }
         }
+        resultat.ifPresent(controleAcces::enregistrerTicket);
+        return resultat;
     }
     
     /**
@@ -120,6 +140,7 @@ public class TicketService {
             }
             
             Spectateur ancienProprietaire = ticket.getProprietaire();
+            String ancienCodeQR = ticket.getCodeQR();
             
             // Créer la transaction de transfert
             Transaction transaction = new Transaction();
@@ -132,46 +153,31 @@ public class TicketService {
             
             // Effectuer le transfert
             ticket.transfererVers(nouveauProprietaire);
-            ticketDAO.update(ticket);
             
             transaction.valider();
-            transactionDAO.save(transaction);
+            HibernateUtil.runInTransaction(session -> {
+                ticketDAO.update(ticket);
+                transactionDAO.save(transaction);
+            });
+            controleAcces.changerCodeQR(ticket.getMatch().getId(), ancienCodeQR, ticket.getCodeQR());
             
             return true;
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Erreur lors du transfert du ticket", e);
             return false;
         }
     }
     
     /**
-     * Valide un ticket (scan à l'entrée)
+     * Valide un ticket (scan à l'entrée).
+     * Le contrôle se fait dans l'index en mémoire du match ; le passage au
+     * statut UTILISE est écrit en base en différé.
      */
     public boolean validerTicket(String codeQR) {
         try {
-            Optional<Ticket> ticketOpt = ticketDAO.findByCodeQR(codeQR);
-            
-            if (ticketOpt.isEmpty()) {
-                return false;
-            }
-            
-            Ticket ticket = ticketOpt.get();
-            
-            if (ticket.getStatut() != StatutTicket.VALIDE) {
-                return false;
-            }
-            
-            // Vérifier que le match n'est pas terminé
-            if (ticket.getMatch().getTermine()) {
-                return false;
-            }
-            
-            ticket.utiliser();
-            ticketDAO.update(ticket);
-            
-            return true;
+            return controleAcces.validerTicket(codeQR);
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Erreur lors de la validation du ticket", e);
             return false;
         }
     }
@@ -198,20 +204,29 @@ public class TicketService {
             transaction.setTicket(ticket);
             transaction.setMontant(ticket.getPrix());
             
-            ticket.annuler();
-            ticketDAO.update(ticket);
-            
-            transaction.valider();
-            transactionDAO.save(transaction);
+            boolean annule = HibernateUtil.inTransaction(session -> {
+                // Refuser si le ticket vient d'être scanné à une porte ; l'index
+                // n'est modifié qu'à la validation du remboursement
+                if (!controleAcces.retirerTicket(ticket.getMatch().getId(), ticket.getCodeQR())) {
+                    return false;
+                }
+                ticket.annuler();
+                transaction.valider();
+                ticketDAO.update(ticket);
+                transactionDAO.save(transaction);
+                return true;
+            });
+            if (!annule) {
+                return false;
+            }
             
-            // Remettre le ticket disponible
-            Match match = ticket.getMatch();
-            match.incrementerTicketsDisponibles();
-            matchDAO.update(match);
+            // Remettre la place disponible dans l'inventaire
+            Zone zone = ticket.getZone();
+            inventaire.liberer(ticket.getMatch().getId(), zone != null ? zone.getId() : null, 1);
             
             return true;
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Erreur lors de l'annulation du ticket", e);
             return false;
         }
     }
@@ -230,6 +245,20 @@ public class TicketService {
         return ticketDAO.findBySpectateurId(spectateurId);
     }
     
+    /**
+     * Récupère les lignes de tableau des tickets d'un spectateur
+     */
+    public List<TicketLigneDTO> getLignesTicketsSpectateur(Long spectateurId) {
+        return ticketDAO.findLignesBySpectateurId(spectateurId);
+    }
+    
+    /**
+     * Compte les tickets d'un spectateur
+     */
+    public long compterTicketsSpectateur(Long spectateurId) {
+        return ticketDAO.countBySpectateurId(spectateurId);
+    }
+    
     /**
      * Récupère les tickets d'un match
      */
@@ -297,18 +326,107 @@ public class TicketService {
     }
 
     /**
-     * Achète plusieurs tickets pour un match
+     * Achète plusieurs tickets pour un match, en tout ou rien.
+     * Les N places sont réservées en une fois dans l'inventaire, le paiement
+     * groupé est simulé une seule fois, puis les N tickets et leurs
+     * transactions sont écrits dans une seule unité de travail avec une seule
+     * mise à jour du compteur du spectateur.
      */
-    public java.util.List<Ticket> acheterTickets(Spectateur spectateur, Match match, Zone zone,
+    public List<Ticket> acheterTickets(Spectateur spectateur, Match match, Zone zone,
                                                   CategorieTicket categorie, int quantite) {
-        java.util.List<Ticket> tickets = new java.util.ArrayList<>();
-        for (int i = 0; i < quantite; i++) {
-            Optional<Ticket> ticketOpt = acheterTicket(spectateur, match, categorie, "CARTE_BANCAIRE");
-            ticketOpt.ifPresent(tickets::add);
+        return acheterTickets(spectateur, match, zone, categorie, quantite, "CARTE_BANCAIRE");
+    }
+    
+    /**
+     * Achète plusieurs tickets pour un match avec une méthode de paiement donnée
+     */
+    public List<Ticket> acheterTickets(Spectateur spectateur, Match match, Zone zone,
+                                                  CategorieTicket categorie, int quantite,
+                                                  String methodePaiement) {
+        if (quantite <= 0) {
+            return new ArrayList<>();
         }
+        
+        Long zoneId = zone != null ? zone.getId() : null;
+        if (!inventaire.reserver(match.getId(), zoneId, quantite)) {
+            logger.debug("Places insuffisantes pour {} ticket(s), match {}", quantite, match.getId());
+            return new ArrayList<>();
+        }
+        
+        List<Ticket> tickets = new ArrayList<>();
+        try {
+            tickets = HibernateUtil.inTransaction(session -> {
+                List<Ticket> achetes = new ArrayList<>();
+                
+                Optional<Match> matchFrais = matchDAO.findById(match.getId());
+                Optional<Spectateur> specFrais = spectateurDAO.findById(spectateur.getId());
+                if (matchFrais.isEmpty() || specFrais.isEmpty()) {
+                    return achetes;
+                }
+                Match matchActuel = matchFrais.get();
+                Spectateur spectateurActuel = specFrais.get();
+                // La zone est portée par chaque ticket : l'annulation libère sa place
+                Zone zoneActuelle = zoneId != null ? session.getReference(Zone.class, zoneId) : null;
+                
+                double prix = calculerPrix(matchActuel, zone, categorie);
+                
+                // Un seul paiement pour l'ensemble de la commande
+                Transaction paiement = new Transaction(spectateurActuel, null, TypeTransaction.ACHAT, prix * quantite);
+                paiement.setMethodePaiement(methodePaiement);
+                if (!simulerPaiement(paiement)) {
+                    paiement.setDescription("Achat groupé de " + quantite + " ticket(s) refusé");
+                    paiement.refuser();
+                    transactionDAO.save(paiement);
+                    return achetes;
+                }
+                
+                // Une transaction par ticket, toutes rattachées au même paiement
+                String reference = paiement.getNumeroTransaction();
+                List<Transaction> transactions = new ArrayList<>();
+                for (int i = 0; i < quantite; i++) {
+                    Ticket ticket = new Ticket(matchActuel, spectateurActuel, categorie, prix);
+                    ticket.setZone(zoneActuelle);
+                    ticket.setDateAchat(LocalDateTime.now());
+                    ticket.valider();
+                    achetes.add(ticket);
+                    
+                    Transaction transaction = new Transaction(spectateurActuel, ticket, TypeTransaction.ACHAT, prix);
+                    transaction.setNumeroTransaction(reference + "-" + (i + 1));
+                    transaction.setReferencePaiement(reference);
+                    transaction.setMethodePaiement(methodePaiement);
+                    transaction.valider();
+                    transactions.add(transaction);
+                }
+                ticketDAO.saveAll(achetes);
+                transactionDAO.saveAll(transactions);
+                
+                spectateurDAO.incrementerNombreTickets(spectateurActuel.getId(), quantite);
+                return achetes;
+            });
+        } catch (Exception e) {
+            logger.error("Erreur lors de l'achat des tickets", e);
+            tickets = new ArrayList<>();
+        } finally {
+            if (tickets.isEmpty()) {
+                inventaire.liberer(match.getId(), zoneId, quantite);
+            }
+        }
+        tickets.forEach(controleAcces::enregistrerTicket);
         return tickets;
     }
     
+    /**
+     * Calcule le prix unitaire d'un ticket dans une zone (coefficient de la zone appliqué)
+     */
+    private double calculerPrix(Match match, Zone zone, CategorieTicket categorie) {
+        if (zone == null) {
+            return calculerPrix(match, categorie);
+        }
+        double prixBase = match.getPrixBase() != null ? match.getPrixBase() : 100.0;
+        Double coefficient = zone.getCoefficientPrix();
+        return calculerPrix(prixBase * (coefficient != null ? coefficient : 1.0), categorie, match.getPhase());
+    }
+    
     /**
      * Simule un paiement
      */
@@ -353,7 +471,7 @@ public class TicketService {
      */
     public boolean transfererTicket(Long ticketId, String emailDestination) {
         try {
-            Optional<Ticket> ticketOpt = ticketDAO.findById(ticketId);
+            Optional<Ticket> ticketOpt = ticketDAO.findById(ticketId, Ticket.PLAN_COMPLET);
             Optional<Spectateur> destinataireOpt = spectateurDAO.findByEmail(emailDestination);
             
             if (ticketOpt.isEmpty() || destinataireOpt.isEmpty()) {
@@ -362,7 +480,7 @@ public class TicketService {
             
             return transfererTicket(ticketOpt.get(), destinataireOpt.get());
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Erreur lors du transfert du ticket", e);
             return false;
         }
     }
@@ -371,7 +489,7 @@ public class TicketService {
      * Annule un ticket par ID
      */
     public boolean annulerTicket(Long ticketId) {
-        Optional<Ticket> ticketOpt = ticketDAO.findById(ticketId);
+        Optional<Ticket> ticketOpt = ticketDAO.findById(ticketId, Ticket.PLAN_COMPLET);
         if (ticketOpt.isEmpty()) {
             return false;
         }
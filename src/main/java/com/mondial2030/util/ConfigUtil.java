@@ -0,0 +1,102 @@
+package com.mondial2030.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Utilitaire d'accès à la configuration de l'application.
+ * Charge une seule fois le fichier application.properties du classpath ;
+ * une propriété système de même nom surcharge la valeur du fichier.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class ConfigUtil {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigUtil.class);
+    private static final String FICHIER_CONFIGURATION = "/application.properties";
+    private static Properties proprietes;
+
+    private ConfigUtil() {
+        // Constructeur privé pour empêcher l'instanciation
+    }
+
+    /**
+     * Retourne les propriétés chargées (chargement au premier appel)
+     */
+    private static synchronized Properties getProprietes() {
+        if (proprietes == null) {
+            proprietes = new Properties();
+            try (InputStream in = ConfigUtil.class.getResourceAsStream(FICHIER_CONFIGURATION)) {
+                if (in != null) {
+                    proprietes.load(in);
+                } else {
+                    logger.warn("Fichier de configuration introuvable: {}", FICHIER_CONFIGURATION);
+                }
+            } catch (Exception e) {
+                logger.warn("Lecture de la configuration impossible: {}", e.getMessage());
+            }
+        }
+        return proprietes;
+    }
+
+    /**
+     * Retourne une propriété texte
+     * @param cle Clé de la propriété
+     * @param defaut Valeur retournée si la propriété est absente
+     */
+    public static String getString(String cle, String defaut) {
+        String valeur = System.getProperty(cle, getProprietes().getProperty(cle));
+        return valeur != null && !valeur.isBlank() ? valeur.trim() : defaut;
+    }
+
+    /**
+     * Retourne une propriété entière
+     */
+    public static int getInt(String cle, int defaut) {
+        String valeur = getString(cle, null);
+        try {
+            return valeur != null ? Integer.parseInt(valeur) : defaut;
+        } catch (NumberFormatException e) {
+            logger.warn("Valeur entière invalide pour {}: {}", cle, valeur);
+            return defaut;
+        }
+    }
+
+    /**
+     * Retourne une propriété entière longue
+     */
+    public static long getLong(String cle, long defaut) {
+        String valeur = getString(cle, null);
+        try {
+            return valeur != null ? Long.parseLong(valeur) : defaut;
+        } catch (NumberFormatException e) {
+            logger.warn("Valeur entière invalide pour {}: {}", cle, valeur);
+            return defaut;
+        }
+    }
+
+    /**
+     * Retourne une propriété décimale
+     */
+    public static double getDouble(String cle, double defaut) {
+        String valeur = getString(cle, null);
+        try {
+            return valeur != null ? Double.parseDouble(valeur) : defaut;
+        } catch (NumberFormatException e) {
+            logger.warn("Valeur décimale invalide pour {}: {}", cle, valeur);
+            return defaut;
+        }
+    }
+
+    /**
+     * Retourne une propriété booléenne
+     */
+    public static boolean getBoolean(String cle, boolean defaut) {
+        String valeur = getString(cle, null);
+        return valeur != null ? Boolean.parseBoolean(valeur) : defaut;
+    }
+}
@@ -99,7 +99,9 @@ public class DataInitializer {
                         lue_par_admin BOOLEAN DEFAULT 0,
                         date_lecture TIMESTAMP,
                         date_reponse TIMESTAMP,
-                        repondu_par_id BIGINT
+                        repondu_par_id BIGINT,
+                        nombre_occurrences INTEGER DEFAULT 1,
+                        date_derniere_occurrence TIMESTAMP
                     )
                     """;
                 
@@ -147,7 +149,9 @@ public class DataInitializer {
                 "ALTER TABLE alerte ADD COLUMN lue_par_admin BOOLEAN DEFAULT 0",
                 "ALTER TABLE alerte ADD COLUMN date_lecture TIMESTAMP",
                 "ALTER TABLE alerte ADD COLUMN date_reponse TIMESTAMP",
-                "ALTER TABLE alerte ADD COLUMN repondu_par_id BIGINT"
+                "ALTER TABLE alerte ADD COLUMN repondu_par_id BIGINT",
+                "ALTER TABLE alerte ADD COLUMN nombre_occurrences INTEGER DEFAULT 1",
+                "ALTER TABLE alerte ADD COLUMN date_derniere_occurrence TIMESTAMP"
             };
             
             for (String sql : columns) {
@@ -369,6 +373,8 @@ public class DataInitializer {
     }
     
     private static void createZonesForMatch(Match match) {
+        List<Zone> zones = new ArrayList<>();
+        
         // Zone VIP
         Zone vip = new Zone();
         vip.setNom("VIP Premium");
@@ -377,7 +383,7 @@ public class DataInitializer {
         vip.setCoefficientPrix(3.0);
         vip.setAccessiblePmr(true);
         vip.setMatch(match);
-        zoneDAO.save(vip);
+        zones.add(vip);
         
         // Tribune Nord
         Zone nord = new Zone();
@@ -387,7 +393,7 @@ public class DataInitializer {
         nord.setCoefficientPrix(1.5);
         nord.setAccessiblePmr(true);
         nord.setMatch(match);
-        zoneDAO.save(nord);
+        zones.add(nord);
         
         // Tribune Sud
         Zone sud = new Zone();
@@ -397,7 +403,7 @@ public class DataInitializer {
         sud.setCoefficientPrix(1.5);
         sud.setAccessiblePmr(true);
         sud.setMatch(match);
-        zoneDAO.save(sud);
+        zones.add(sud);
         
         // Tribune Est
         Zone est = new Zone();
@@ -407,7 +413,7 @@ public class DataInitializer {
         est.setCoefficientPrix(1.2);
         est.setAccessiblePmr(false);
         est.setMatch(match);
-        zoneDAO.save(est);
+        zones.add(est);
         
         // Tribune Ouest
         Zone ouest = new Zone();
@@ -417,7 +423,7 @@ public class DataInitializer {
         ouest.setCoefficientPrix(1.2);
         ouest.setAccessiblePmr(false);
         ouest.setMatch(match);
-        zoneDAO.save(ouest);
+        zones.add(ouest);
         
         // Virages
         Zone virageNord = new Zone();
@@ -427,7 +433,7 @@ public class DataInitializer {
         virageNord.setCoefficientPrix(0.8);
         virageNord.setAccessiblePmr(false);
         virageNord.setMatch(match);
-        zoneDAO.save(virageNord);
+        zones.add(virageNord);
         
         Zone virageSud = new Zone();
         virageSud.setNom("Virage Sud");
@@ -436,7 +442,7 @@ public class DataInitializer {
         virageSud.setCoefficientPrix(0.8);
         virageSud.setAccessiblePmr(false);
         virageSud.setMatch(match);
-        zoneDAO.save(virageSud);
+        zones.add(virageSud);
         
         // Zone Pelouse (pour les familles)
         Zone pelouse = new Zone();
@@ -446,6 +452,8 @@ public class DataInitializer {
         pelouse.setCoefficientPrix(2.0);
         pelouse.setAccessiblePmr(true);
         pelouse.setMatch(match);
-        zoneDAO.save(pelouse);
+        zones.add(pelouse);
+        
+        zoneDAO.saveAll(zones);
     }
 }
@@ -0,0 +1,56 @@
+package com.mondial2030.util;
+
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Fournit à Hibernate les connexions d'une source de données (le pool
+ * d'écriture de HibernateUtil), enveloppées par JournalRequetesLentes.
+ * Le pool reste géré par HibernateUtil, qui le ferme à l'arrêt.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+class FournisseurConnexions implements ConnectionProvider {
+
+    private final DataSource source;
+
+    FournisseurConnexions(DataSource source) {
+        this.source = source;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return JournalRequetesLentes.envelopper(source.getConnection());
+    }
+
+    @Override
+    public void closeConnection(Connection connexion) throws SQLException {
+        connexion.close();
+    }
+
+    @Override
+    public boolean supportsAggressiveRelease() {
+        return false;
+    }
+
+    @Override
+    public boolean isUnwrappableAs(Class<?> type) {
+        return type.isInstance(this) || type.isInstance(source);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> type) {
+        if (type.isInstance(this)) {
+            return (T) this;
+        }
+        if (type.isInstance(source)) {
+            return (T) source;
+        }
+        throw new IllegalArgumentException("Type non supporté: " + type.getName());
+    }
+}
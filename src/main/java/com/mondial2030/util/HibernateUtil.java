@@ -1,17 +1,39 @@
 package com.mondial2030.util;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.Session;
 import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
 import org.hibernate.boot.Metadata;
 import org.hibernate.boot.MetadataSources;
 import org.hibernate.boot.registry.StandardServiceRegistry;
 import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
 import org.hibernate.cfg.Configuration;
+import org.hibernate.cfg.JdbcSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.sqlite.SQLiteConfig;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Utilitaire Hibernate pour la gestion des sessions et de la SessionFactory.
  * Implémente le pattern Singleton pour garantir une seule instance.
+ * Les connexions SQLite viennent de deux pools HikariCP : un pool d'une seule
+ * connexion pour les écritures (SQLite n'accepte qu'un écrivain à la fois) et
+ * un pool de connexions en lecture seule. En mode WAL, les lecteurs ne sont
+ * jamais bloqués par l'écrivain.
  * 
  * @author Mondial 2030 Team
  * @version 1.0
@@ -21,6 +43,14 @@ public class HibernateUtil {
     private static final Logger logger = LoggerFactory.getLogger(HibernateUtil.class);
     private static SessionFactory sessionFactory;
     private static StandardServiceRegistry registry;
+    private static HikariDataSource sourceEcriture;
+    private static HikariDataSource sourceLecture;
+    
+    /**
+     * Session de l'unité de travail en cours sur le thread appelant.
+     * Les DAO la rejoignent au lieu d'ouvrir leur propre session.
+     */
+    private static final ThreadLocal<Session> sessionCourante = new ThreadLocal<>();
     
     private HibernateUtil() {
         // Constructeur privé pour empêcher l'instanciation
@@ -37,9 +67,17 @@ public class HibernateUtil {
             try {
                 logger.info("Initialisation de la SessionFactory Hibernate...");
                 
+                // Pools de connexions : l'écrivain d'abord, il passe la base en WAL
+                sourceEcriture = creerSourceDonnees(false);
+                sourceLecture = creerSourceDonnees(true);
+                
                 // Création du registre de services
                 registry = new StandardServiceRegistryBuilder()
                         .configure("hibernate.cfg.xml")
+                        .applySetting(JdbcSettings.CONNECTION_PROVIDER,
+                                new FournisseurConnexions(sourceEcriture))
+                        .applySetting(AvailableSettings.GENERATE_STATISTICS,
+                                ConfigUtil.getBoolean("cache.statistiques.enabled", true))
                         .build();
                 
                 // Création des métadonnées
@@ -55,7 +93,9 @@ public class HibernateUtil {
                 logger.error("Erreur lors de l'initialisation de la SessionFactory", e);
                 if (registry != null) {
                     StandardServiceRegistryBuilder.destroy(registry);
+                    registry = null;
                 }
+                fermerSourcesDonnees();
                 throw new ExceptionInInitializerError(e);
             }
         }
@@ -70,18 +110,62 @@ public class HibernateUtil {
         logger.info("Fermeture de la SessionFactory...");
         
         if (sessionFactory != null && !sessionFactory.isClosed()) {
+            journaliserStatistiquesCache();
             sessionFactory.close();
             sessionFactory = null;
         }
+        IdentifiantPreAlloueGenerator.reinitialiser();
         
         if (registry != null) {
             StandardServiceRegistryBuilder.destroy(registry);
             registry = null;
         }
         
+        // Les lecteurs d'abord : la fermeture de la dernière connexion (l'écrivain)
+        // reporte le journal WAL dans la base
+        fermerSourcesDonnees();
+        
         logger.info("SessionFactory fermée avec succès.");
     }
     
+    /**
+     * Crée un pool de connexions SQLite configuré depuis application.properties.
+     * 
+     * @param lecture true pour le pool des lecteurs (connexions en lecture seule)
+     * @return Le pool de connexions
+     */
+    private static HikariDataSource creerSourceDonnees(boolean lecture) {
+        SQLiteConfig sqlite = new SQLiteConfig();
+        sqlite.setPragma(SQLiteConfig.Pragma.JOURNAL_MODE, ConfigUtil.getString("db.sqlite.journal_mode", "WAL"));
+        sqlite.setPragma(SQLiteConfig.Pragma.SYNCHRONOUS, ConfigUtil.getString("db.sqlite.synchronous", "NORMAL"));
+        sqlite.setCacheSize(ConfigUtil.getInt("db.sqlite.cache_size", -16000));
+        sqlite.setPragma(SQLiteConfig.Pragma.MMAP_SIZE, String.valueOf(ConfigUtil.getLong("db.sqlite.mmap_size", 268435456L)));
+        sqlite.setBusyTimeout(ConfigUtil.getInt("db.sqlite.busy_timeout", 5000));
+        sqlite.setReadOnly(lecture);
+        
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(lecture ? "sqlite-lecture" : "sqlite-ecriture");
+        config.setDriverClassName("org.sqlite.JDBC");
+        config.setJdbcUrl("jdbc:sqlite:" + ConfigUtil.getString("db.name", "mondial2030.db"));
+        config.setDataSourceProperties(sqlite.toProperties());
+        config.setReadOnly(lecture);
+        config.setMaximumPoolSize(lecture ? Math.max(ConfigUtil.getInt("db.pool.lecteurs", 4), 1) : 1);
+        config.setMinimumIdle(1);
+        config.setConnectionTimeout(ConfigUtil.getLong("db.pool.connection_timeout", 30000L));
+        return new HikariDataSource(config);
+    }
+    
+    private static void fermerSourcesDonnees() {
+        if (sourceLecture != null) {
+            sourceLecture.close();
+            sourceLecture = null;
+        }
+        if (sourceEcriture != null) {
+            sourceEcriture.close();
+            sourceEcriture = null;
+        }
+    }
+    
     /**
      * Vérifie si la SessionFactory est initialisée et ouverte.
      * 
@@ -91,6 +175,165 @@ public class HibernateUtil {
         return sessionFactory != null && !sessionFactory.isClosed();
     }
     
+    /**
+     * Vide les régions du cache de second niveau des entités données.
+     * 
+     * @param entites Classes des entités dont la région est vidée
+     */
+    public static void evincerCache(Class<?>... entites) {
+        if (!isInitialized()) {
+            return;
+        }
+        for (Class<?> entite : entites) {
+            sessionFactory.getCache().evictEntityData(entite);
+        }
+    }
+    
+    /**
+     * Retourne les statistiques Hibernate (dont succès/échecs du cache).
+     * 
+     * @return Les statistiques de la SessionFactory
+     */
+    public static Statistics getStatistiques() {
+        return getSessionFactory().getStatistics();
+    }
+    
+    /**
+     * Journalise les succès, échecs et insertions de chaque région du cache
+     */
+    public static void journaliserStatistiquesCache() {
+        Statistics statistiques = getStatistiques();
+        if (!statistiques.isStatisticsEnabled()) {
+            return;
+        }
+        for (String region : statistiques.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats = statistiques.getDomainDataRegionStatistics(region);
+            logger.info("Cache {} : {} succès, {} échecs, {} insertions",
+                    region, stats.getHitCount(), stats.getMissCount(), stats.getPutCount());
+        }
+    }
+    
+    /**
+     * Retourne la taille des lots JDBC (hibernate.jdbc.batch_size).
+     * 
+     * @return Le nombre d'instructions regroupées par lot, au moins 1
+     */
+    public static int getTailleLot() {
+        int taille = getSessionFactory().unwrap(SessionFactoryImplementor.class)
+                .getSessionFactoryOptions().getJdbcBatchSize();
+        return Math.max(taille, 1);
+    }
+    
+    /**
+     * Exécute un traitement dans une unité de travail : une seule session et
+     * une seule transaction pour toute l'opération métier.
+     * Si une unité de travail est déjà ouverte sur le thread, le traitement la
+     * rejoint ; sinon elle est ouverte, validée puis fermée ici.
+     * Toute exception annule l'ensemble de l'opération.
+     * 
+     * @param travail Traitement à exécuter avec la session partagée
+     * @return Le résultat du traitement
+     */
+    public static <T> T inTransaction(Function<Session, T> travail) {
+        Session existante = sessionCourante.get();
+        if (existante != null) {
+            return travail.apply(existante);
+        }
+        
+        Session session = getSessionFactory().openSession();
+        sessionCourante.set(session);
+        Transaction transaction = null;
+        try {
+            transaction = session.beginTransaction();
+            T resultat = travail.apply(session);
+            transaction.commit();
+            return resultat;
+        } catch (RuntimeException e) {
+            if (transaction != null && transaction.isActive()) {
+                transaction.rollback();
+            }
+            throw e;
+        } finally {
+            sessionCourante.remove();
+            session.close();
+        }
+    }
+    
+    /**
+     * Exécute une lecture. Dans une unité de travail, la lecture rejoint sa
+     * session ; sinon elle utilise une connexion du pool des lecteurs, sans
+     * attendre la connexion d'écriture.
+     * 
+     * @param travail Lecture à exécuter
+     * @return Le résultat de la lecture
+     */
+    public static <T> T enLecture(Function<Session, T> travail) {
+        Session existante = sessionCourante.get();
+        if (existante != null) {
+            return travail.apply(existante);
+        }
+        
+        SessionFactory factory = getSessionFactory();
+        try (Connection connexion = JournalRequetesLentes.envelopper(sourceLecture.getConnection());
+             Session session = factory.withOptions().connection(connexion).openSession()) {
+            return travail.apply(session);
+        } catch (SQLException e) {
+            throw new RuntimeException("Erreur lors de l'obtention d'une connexion en lecture: " + e.getMessage(), e);
+        }
+    }
+    
+    /**
+     * Variante sans résultat de {@link #inTransaction(Function)}.
+     * 
+     * @param travail Traitement à exécuter avec la session partagée
+     */
+    public static void runInTransaction(Consumer<Session> travail) {
+        inTransaction(session -> {
+            travail.accept(session);
+            return null;
+        });
+    }
+    
+    /**
+     * Retourne la session de l'unité de travail en cours sur ce thread.
+     * 
+     * @return La session partagée, ou empty hors unité de travail
+     */
+    public static Optional<Session> getSessionCourante() {
+        return Optional.ofNullable(sessionCourante.get());
+    }
+    
+    /**
+     * Exécute une action après la validation de l'unité de travail en cours
+     * sur ce thread, ou immédiatement hors unité de travail : un effet visible
+     * hors de la base (notification, cache en mémoire) ne doit pas précéder
+     * le commit, ni survivre à une annulation.
+     * 
+     * @param siValidee Action exécutée après le commit
+     * @param siAnnulee Action exécutée si la transaction est annulée
+     */
+    public static void apresTransaction(Runnable siValidee, Runnable siAnnulee) {
+        Session existante = sessionCourante.get();
+        if (existante == null) {
+            siValidee.run();
+            return;
+        }
+        existante.getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+            
+            @Override
+            public void afterCompletion(int statut) {
+                try {
+                    (statut == Status.STATUS_COMMITTED ? siValidee : siAnnulee).run();
+                } catch (RuntimeException e) {
+                    logger.error("Erreur après la fin de la transaction", e);
+                }
+            }
+        });
+    }
+    
     /**
      * Réinitialise la SessionFactory.
      * Utile pour les tests ou après une erreur critique.
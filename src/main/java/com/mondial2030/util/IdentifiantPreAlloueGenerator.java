@@ -0,0 +1,78 @@
+package com.mondial2030.util;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.id.PersistentIdentifierGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Générateur d'identifiants pré-alloués en mémoire.
+ * Contrairement à IDENTITY, l'identifiant est connu avant l'INSERT, ce qui
+ * permet à Hibernate de regrouper les insertions en lots JDBC.
+ * Le compteur de chaque table part du MAX(id) existant, lu une seule fois
+ * sur la connexion de la transaction en cours (pas de seconde connexion,
+ * qui serait bloquée par le verrou d'écriture SQLite).
+ * Suppose une seule instance de l'application par fichier de base.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class IdentifiantPreAlloueGenerator implements IdentifierGenerator {
+
+    private static final Map<String, AtomicLong> compteurs = new ConcurrentHashMap<>();
+
+    private String table;
+    private String colonne;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) {
+        this.table = params.getProperty(PersistentIdentifierGenerator.TABLE);
+        this.colonne = params.getProperty(PersistentIdentifierGenerator.PK, "id");
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        AtomicLong compteur = compteurs.get(table);
+        if (compteur == null) {
+            synchronized (compteurs) {
+                compteur = compteurs.get(table);
+                if (compteur == null) {
+                    compteur = new AtomicLong(lireMaximum(session));
+                    compteurs.put(table, compteur);
+                }
+            }
+        }
+        return compteur.incrementAndGet();
+    }
+
+    /**
+     * Lit le plus grand identifiant déjà présent dans la table
+     */
+    private long lireMaximum(SharedSessionContractImplementor session) {
+        String sql = "SELECT COALESCE(MAX(" + colonne + "), 0) FROM " + table;
+        Connection connexion = session.getJdbcCoordinator().getLogicalConnection().getPhysicalConnection();
+        try (PreparedStatement ps = connexion.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : 0L;
+        } catch (SQLException e) {
+            throw new RuntimeException("Erreur lors de la lecture de l'identifiant maximal de " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Oublie les compteurs (à appeler quand la SessionFactory est fermée)
+     */
+    public static void reinitialiser() {
+        compteurs.clear();
+    }
+}
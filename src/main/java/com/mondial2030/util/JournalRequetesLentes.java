@@ -0,0 +1,211 @@
+package com.mondial2030.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Journal des requêtes SQL lentes.
+ * Enveloppe les connexions JDBC pour chronométrer chaque exécution ; seules
+ * les requêtes dont la durée dépasse db.requete_lente.seuil_ms sont écrites
+ * (via SLF4J), avec leur SQL, leurs paramètres masqués (nombres et booléens
+ * en clair, textes réduits à leur longueur) et la taille du lot. Les valeurs
+ * complètes (emails, hachés...) ne sont écrites qu'au niveau DEBUG.
+ * Seules les connexions et les instructions sont enveloppées, pas les
+ * ResultSet : pour une requête SELECT, la durée mesurée est celle de
+ * l'exécution (SQLite y calcule la première ligne), sans la lecture des
+ * lignes suivantes. Les paramètres sont rangés dans un tableau réutilisé
+ * par l'instruction ; les requêtes rapides ne produisent aucune sortie.
+ * Un seuil négatif désactive complètement l'enveloppe.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class JournalRequetesLentes {
+
+    private static final Logger logger = LoggerFactory.getLogger(JournalRequetesLentes.class);
+
+    private static final long SEUIL_MS = ConfigUtil.getLong("db.requete_lente.seuil_ms", 200L);
+    private static final long SEUIL_NANOS = TimeUnit.MILLISECONDS.toNanos(SEUIL_MS);
+
+    private static final AtomicLong nombreRequetesLentes = new AtomicLong();
+    private static final AtomicLong dureeTotaleLentesNanos = new AtomicLong();
+
+    private JournalRequetesLentes() {
+        // Constructeur privé pour empêcher l'instanciation
+    }
+
+    /**
+     * Indique si le journal est actif
+     */
+    public static boolean isActif() {
+        return SEUIL_MS >= 0;
+    }
+
+    /**
+     * Enveloppe une connexion : ses instructions sont chronométrées
+     */
+    public static Connection envelopper(Connection connexion) {
+        if (!isActif()) {
+            return connexion;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                JournalRequetesLentes.class.getClassLoader(),
+                new Class<?>[] { Connection.class },
+                (proxy, methode, args) -> {
+                    Object resultat = invoquer(connexion, methode, args);
+                    String nom = methode.getName();
+                    if (resultat instanceof Statement
+                            && (nom.equals("prepareStatement") || nom.equals("prepareCall") || nom.equals("createStatement"))) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : null;
+                        return envelopper((Statement) resultat, sql);
+                    }
+                    return resultat;
+                });
+    }
+
+    private static Statement envelopper(Statement instruction, String sql) {
+        Class<?> type = instruction instanceof CallableStatement ? CallableStatement.class
+                : instruction instanceof PreparedStatement ? PreparedStatement.class
+                : Statement.class;
+        return (Statement) Proxy.newProxyInstance(
+                JournalRequetesLentes.class.getClassLoader(),
+                new Class<?>[] { type },
+                new Chronometre(instruction, sql));
+    }
+
+    private static Object invoquer(Object cible, Method methode, Object[] args) throws Throwable {
+        try {
+            return methode.invoke(cible, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Retourne le nombre de requêtes lentes journalisées depuis le démarrage
+     */
+    public static long getNombreRequetesLentes() {
+        return nombreRequetesLentes.get();
+    }
+
+    /**
+     * Retourne la durée cumulée des requêtes lentes, en millisecondes
+     */
+    public static long getDureeTotaleLentesMs() {
+        return TimeUnit.NANOSECONDS.toMillis(dureeTotaleLentesNanos.get());
+    }
+
+    /**
+     * Mémorise le SQL et les paramètres d'une instruction et chronomètre
+     * ses exécutions.
+     */
+    private static class Chronometre implements InvocationHandler {
+
+        private final Statement cible;
+        private final String sql;
+        // Paramètres par position (1 dans la case 0), jusqu'à nombreParametres
+        private Object[] parametres = new Object[8];
+        private int nombreParametres;
+        private int tailleLot;
+
+        Chronometre(Statement cible, String sql) {
+            this.cible = cible;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method methode, Object[] args) throws Throwable {
+            String nom = methode.getName();
+            if (nom.startsWith("execute")) {
+                String requete = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : sql;
+                int lot = nom.equals("executeBatch") ? tailleLot : 0;
+                long debut = System.nanoTime();
+                try {
+                    return invoquer(cible, methode, args);
+                } finally {
+                    terminer(requete, System.nanoTime() - debut, lot);
+                    if (nom.equals("executeBatch")) {
+                        tailleLot = 0;
+                    }
+                }
+            }
+
+            if (nom.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                memoriser((Integer) args[0], nom.equals("setNull") ? null : args[1]);
+            } else if (nom.equals("clearParameters")) {
+                Arrays.fill(parametres, 0, nombreParametres, null);
+                nombreParametres = 0;
+            } else if (nom.equals("addBatch")) {
+                tailleLot++;
+            } else if (nom.equals("clearBatch")) {
+                tailleLot = 0;
+            }
+            return invoquer(cible, methode, args);
+        }
+
+        private void memoriser(int position, Object valeur) {
+            if (position < 1) {
+                return;
+            }
+            if (position > parametres.length) {
+                parametres = Arrays.copyOf(parametres, Math.max(position, parametres.length * 2));
+            }
+            parametres[position - 1] = valeur;
+            nombreParametres = Math.max(nombreParametres, position);
+        }
+
+        private void terminer(String requete, long dureeNanos, int lot) {
+            if (dureeNanos < SEUIL_NANOS) {
+                return;
+            }
+            nombreRequetesLentes.incrementAndGet();
+            dureeTotaleLentesNanos.addAndGet(dureeNanos);
+            String texte = requete != null ? requete.replaceAll("\\s+", " ").trim() : "";
+            Object[] valeurs = Arrays.copyOf(parametres, nombreParametres);
+            logger.warn("requete_lente duree_ms={} lot={} sql=[{}] parametres={}",
+                    TimeUnit.NANOSECONDS.toMillis(dureeNanos), lot, texte, masquer(valeurs));
+            if (logger.isDebugEnabled()) {
+                logger.debug("requete_lente sql=[{}] parametres={}", texte, Arrays.toString(valeurs));
+            }
+        }
+    }
+
+    /**
+     * Paramètres d'une requête lente sans donnée personnelle : nombres,
+     * booléens et dates en clair, textes et octets réduits à leur longueur
+     */
+    private static String masquer(Object[] valeurs) {
+        StringBuilder texte = new StringBuilder("[");
+        for (int i = 0; i < valeurs.length; i++) {
+            if (i > 0) {
+                texte.append(", ");
+            }
+            Object valeur = valeurs[i];
+            if (valeur == null || valeur instanceof Number || valeur instanceof Boolean
+                    || valeur instanceof Date || valeur instanceof Temporal) {
+                texte.append(valeur);
+            } else if (valeur instanceof CharSequence) {
+                texte.append("<texte:").append(((CharSequence) valeur).length()).append('>');
+            } else if (valeur instanceof byte[]) {
+                texte.append("<octets:").append(((byte[]) valeur).length).append('>');
+            } else {
+                texte.append('<').append(valeur.getClass().getSimpleName()).append('>');
+            }
+        }
+        return texte.append(']').toString();
+    }
+}
@@ -0,0 +1,155 @@
+package com.mondial2030.util;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Hachage BCrypt des mots de passe avec un coût réglable.
+ * Le coût vient de security.hachage.cout ; à 0, il est calibré au
+ * démarrage pour qu'un hachage prenne environ security.hachage.cible_ms
+ * millisecondes sur cette machine, sans descendre sous
+ * security.hachage.cout_min. Chaque haché porte son propre coût : changer
+ * le réglage ne demande aucune migration, les anciens hachés restent
+ * valides et sont refaits au coût courant à la connexion suivante.
+ * Un coût calibré varie d'un point d'un démarrage à l'autre selon la
+ * mesure : un haché à un point du coût calibré n'est pas refait (sauf sous
+ * cout_min), pour ne pas rehacher tous les comptes à chaque bascule. Le
+ * coût calibré est journalisé pour que l'exploitant puisse le fixer dans
+ * security.hachage.cout.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class MotDePasseUtil {
+
+    private static final Logger logger = LoggerFactory.getLogger(MotDePasseUtil.class);
+
+    /**
+     * Bornes du coût acceptées par BCrypt
+     */
+    private static final int COUT_MIN = 4;
+    private static final int COUT_MAX = 30;
+
+    /**
+     * Coût des hachages mesurés pendant la calibration (chaque point de
+     * coût double la durée d'un hachage)
+     */
+    private static final int COUT_MESURE = 8;
+
+    private static volatile Integer cout;
+
+    /**
+     * Écart toléré entre le coût d'un haché et le coût courant (1 si
+     * calibré, 0 si configuré) et coût en dessous duquel un haché est
+     * toujours refait ; fixés avant cout
+     */
+    private static int tolerance;
+    private static int plancher = COUT_MIN;
+
+    private MotDePasseUtil() {
+    }
+
+    /**
+     * Fixe le coût des nouveaux hachés (réglage ou calibration) ; sans
+     * effet s'il est déjà fixé
+     * @return Le coût courant
+     */
+    public static synchronized int calibrer() {
+        if (cout == null) {
+            int coutConfigure = ConfigUtil.getInt("security.hachage.cout", 0);
+            if (coutConfigure > 0) {
+                cout = borner(coutConfigure);
+                logger.info("Coût de hachage des mots de passe: {} (configuré)", cout);
+            } else {
+                tolerance = 1;
+                plancher = borner(ConfigUtil.getInt("security.hachage.cout_min", 10));
+                cout = mesurer();
+            }
+        }
+        return cout;
+    }
+
+    /**
+     * Coût des nouveaux hachés
+     */
+    public static int getCout() {
+        Integer courant = cout;
+        return courant != null ? courant : calibrer();
+    }
+
+    /**
+     * Hache un mot de passe au coût courant avec un nouveau sel
+     */
+    public static String hacher(String motDePasse) {
+        return BCrypt.hashpw(motDePasse, BCrypt.gensalt(getCout()));
+    }
+
+    /**
+     * Vérifie un mot de passe contre son haché ; faux si le haché est
+     * absent ou n'est pas un haché BCrypt
+     */
+    public static boolean verifier(String motDePasse, String hache) {
+        if (motDePasse == null || hache == null) {
+            return false;
+        }
+        try {
+            return BCrypt.checkpw(motDePasse, hache);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Haché de mot de passe invalide: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Vrai si le haché est illisible, sous le coût plancher ou à plus de
+     * tolerance points du coût courant
+     */
+    public static boolean doitRehacher(String hache) {
+        int courant = getCout();
+        int coutHache = coutDe(hache);
+        return coutHache < plancher || Math.abs(coutHache - courant) > tolerance;
+    }
+
+    /**
+     * Coût d'un haché BCrypt ($2a$10$...), -1 s'il est illisible
+     */
+    static int coutDe(String hache) {
+        if (hache == null || hache.length() < 7 || hache.charAt(0) != '$' || hache.charAt(3) != '$'
+                || hache.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hache.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int mesurer() {
+        double cibleMs = Math.max(ConfigUtil.getDouble("security.hachage.cible_ms", 250.0), 1.0);
+        int coutPlancher = borner(ConfigUtil.getInt("security.hachage.cout_min", 10));
+
+        // Premier hachage pour chauffer la JVM, puis meilleure de trois mesures
+        String sel = BCrypt.gensalt(COUT_MESURE);
+        BCrypt.hashpw("calibration", sel);
+        long meilleure = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long debut = System.nanoTime();
+            BCrypt.hashpw("calibration", sel);
+            meilleure = Math.min(meilleure, System.nanoTime() - debut);
+        }
+        double mesureMs = Math.max(meilleure / 1_000_000.0, 0.001);
+
+        int calibre = COUT_MESURE + (int) Math.round(Math.log(cibleMs / mesureMs) / Math.log(2));
+        int resultat = Math.max(borner(calibre), coutPlancher);
+        logger.info("Coût de hachage des mots de passe: {} (calibré, {} ms au coût {}, cible {} ms ; "
+                + "security.hachage.cout={} le fixe)",
+                resultat, String.format("%.1f", mesureMs), COUT_MESURE, cibleMs, resultat);
+        return resultat;
+    }
+
+    private static int borner(int valeur) {
+        return Math.max(COUT_MIN, Math.min(COUT_MAX, valeur));
+    }
+}
@@ -0,0 +1,122 @@
+package com.mondial2030.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vérification au démarrage des index de la base.
+ * Chaque requête fréquente des DAO est passée à EXPLAIN QUERY PLAN ; si
+ * SQLite prévoit un parcours complet de table (SCAN sans index) au lieu
+ * d'une recherche par index, la requête est signalée.
+ * Avec db.index.verification.stricte=true, une régression bloque le démarrage.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+public class VerificateurIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificateurIndex.class);
+
+    /**
+     * Requêtes fréquentes (SQL équivalent aux requêtes HQL des DAO), par nom
+     */
+    private static final Map<String, String> REQUETES_FREQUENTES = new LinkedHashMap<>();
+
+    static {
+        REQUETES_FREQUENTES.put("tickets d'un match par statut",
+                "SELECT id FROM ticket WHERE match_id = ? AND statut = ?");
+        REQUETES_FREQUENTES.put("tickets d'un spectateur",
+                "SELECT id FROM ticket WHERE proprietaire_id = ? ORDER BY date_achat DESC");
+        REQUETES_FREQUENTES.put("ticket par code QR",
+                "SELECT id FROM ticket WHERE code_qr = ?");
+        REQUETES_FREQUENTES.put("tickets par statut",
+                "SELECT id FROM ticket WHERE statut = ?");
+        REQUETES_FREQUENTES.put("chiffre d'affaires des tickets",
+                "SELECT SUM(prix) FROM ticket WHERE statut IN (?, ?)");
+        REQUETES_FREQUENTES.put("tickets par catégorie",
+                "SELECT categorie, COUNT(*) FROM ticket GROUP BY categorie");
+        REQUETES_FREQUENTES.put("transactions d'un spectateur",
+                "SELECT id FROM transaction_paiement WHERE spectateur_id = ? ORDER BY date_creation DESC");
+        REQUETES_FREQUENTES.put("transactions d'un ticket",
+                "SELECT id FROM transaction_paiement WHERE ticket_id = ? ORDER BY date_creation DESC");
+        REQUETES_FREQUENTES.put("transactions par statut",
+                "SELECT id FROM transaction_paiement WHERE statut = ? ORDER BY date_creation DESC");
+        REQUETES_FREQUENTES.put("flux d'une zone",
+                "SELECT id FROM flux_spectateurs WHERE zone_id = ? ORDER BY horodatage DESC");
+        REQUETES_FREQUENTES.put("flux d'une zone d'un match",
+                "SELECT id FROM flux_spectateurs WHERE match_id = ? AND zone_id = ? ORDER BY horodatage DESC");
+        REQUETES_FREQUENTES.put("alertes non résolues",
+                "SELECT id FROM alerte WHERE resolue = 0 ORDER BY niveau DESC, date_creation DESC");
+        REQUETES_FREQUENTES.put("alertes d'un match",
+                "SELECT id FROM alerte WHERE match_id = ? ORDER BY date_creation DESC");
+        REQUETES_FREQUENTES.put("historique d'occupation d'un match",
+                "SELECT debut FROM flux_echantillon WHERE match_id = ? AND resolution = ? AND debut >= ? AND debut < ?");
+        REQUETES_FREQUENTES.put("historique d'occupation d'une zone",
+                "SELECT debut FROM flux_echantillon WHERE zone_id = ? AND resolution = ? AND debut >= ? AND debut < ?");
+        REQUETES_FREQUENTES.put("zones d'un match",
+                "SELECT id FROM zone WHERE match_id = ?");
+    }
+
+    private VerificateurIndex() {
+        // Constructeur privé pour empêcher l'instanciation
+    }
+
+    /**
+     * Vérifie le plan d'exécution des requêtes fréquentes.
+     *
+     * @return Les requêtes qui provoquent un parcours complet de table
+     * @throws IllegalStateException en mode strict si une requête est concernée
+     */
+    public static List<String> verifier() {
+        List<String> regressions = new ArrayList<>();
+        try {
+            HibernateUtil.enLecture(session -> {
+                session.doWork(connexion -> {
+                    for (Map.Entry<String, String> requete : REQUETES_FREQUENTES.entrySet()) {
+                        String parcours = trouverParcoursComplet(connexion, requete.getValue());
+                        if (parcours != null) {
+                            regressions.add(requete.getKey());
+                            logger.warn("Requête sans index ({}) : {}", requete.getKey(), parcours);
+                        }
+                    }
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            logger.warn("Vérification des index impossible: {}", e.getMessage());
+            return regressions;
+        }
+
+        if (regressions.isEmpty()) {
+            logger.info("Index vérifiés : {} requêtes fréquentes utilisent un index.", REQUETES_FREQUENTES.size());
+        } else if (ConfigUtil.getBoolean("db.index.verification.stricte", false)) {
+            throw new IllegalStateException("Requêtes fréquentes sans index: " + regressions);
+        }
+        return regressions;
+    }
+
+    /**
+     * Retourne l'étape SCAN sans index du plan d'une requête, ou null
+     */
+    static String trouverParcoursComplet(Connection connexion, String sql) throws SQLException {
+        try (PreparedStatement ps = connexion.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                String detail = rs.getString("detail");
+                if (detail != null && detail.startsWith("SCAN ") && !detail.contains(" USING ")) {
+                    return detail;
+                }
+            }
+        }
+        return null;
+    }
+}
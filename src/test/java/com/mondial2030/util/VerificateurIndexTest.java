@@ -0,0 +1,128 @@
+package com.mondial2030.util;
+
+import com.mondial2030.dao.impl.AlerteDAOImpl;
+import com.mondial2030.dao.impl.EchantillonFluxDAOImpl;
+import com.mondial2030.dao.impl.FluxSpectateurDAOImpl;
+import com.mondial2030.dao.impl.TicketDAOImpl;
+import com.mondial2030.dao.impl.TransactionDAOImpl;
+import com.mondial2030.dao.impl.ZoneDAOImpl;
+import com.mondial2030.entity.StatutTicket;
+import com.mondial2030.entity.StatutTransaction;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Test de non-régression des index.
+ * Chaque requête fréquente est exécutée par son vrai DAO sur un schéma créé
+ * par Hibernate ; le SQL généré est relevé puis passé à EXPLAIN QUERY PLAN,
+ * et le test échoue si SQLite prévoit un parcours complet de table.
+ *
+ * @author Mondial 2030 Team
+ * @version 1.0
+ */
+class VerificateurIndexTest {
+
+    private static final List<String> requetes = new ArrayList<>();
+    private static File base;
+
+    /**
+     * Relève les requêtes SELECT envoyées par Hibernate
+     */
+    public static class ReleveRequetes implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            if (sql.trim().toLowerCase().startsWith("select")) {
+                synchronized (requetes) {
+                    requetes.add(sql);
+                }
+            }
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    static void creerSchema() throws IOException {
+        base = File.createTempFile("verification-index", ".db");
+        base.delete();
+        System.setProperty("db.name", base.getAbsolutePath());
+        System.setProperty("hibernate.session_factory.statement_inspector", ReleveRequetes.class.getName());
+        HibernateUtil.getSessionFactory();
+    }
+
+    @AfterAll
+    static void supprimerBase() {
+        HibernateUtil.shutdown();
+        System.clearProperty("hibernate.session_factory.statement_inspector");
+        System.clearProperty("db.name");
+        for (String suffixe : new String[] {"", "-wal", "-shm"}) {
+            new File(base.getAbsolutePath() + suffixe).delete();
+        }
+    }
+
+    @TestFactory
+    Stream<DynamicTest> requetesFrequentesUtilisentUnIndex() {
+        TicketDAOImpl tickets = new TicketDAOImpl();
+        TransactionDAOImpl transactions = new TransactionDAOImpl();
+        FluxSpectateurDAOImpl flux = new FluxSpectateurDAOImpl();
+        AlerteDAOImpl alertes = new AlerteDAOImpl();
+        EchantillonFluxDAOImpl echantillons = new EchantillonFluxDAOImpl();
+        ZoneDAOImpl zones = new ZoneDAOImpl();
+
+        Map<String, Runnable> frequentes = new LinkedHashMap<>();
+        frequentes.put("tickets d'un match par statut", () -> tickets.countByMatchIdAndStatut(1L, StatutTicket.VALIDE));
+        frequentes.put("tickets d'un spectateur", () -> tickets.findBySpectateurId(1L));
+        frequentes.put("lignes des tickets d'un spectateur", () -> tickets.findLignesBySpectateurId(1L));
+        frequentes.put("ticket par code QR", () -> tickets.findByCodeQR("qr"));
+        frequentes.put("ticket par numéro", () -> tickets.findByNumeroTicket("WC2030-X"));
+        frequentes.put("tickets par statut", () -> tickets.findByStatut(StatutTicket.VALIDE));
+        frequentes.put("chiffre d'affaires des tickets",
+                () -> tickets.calculerChiffreAffaires(List.of(StatutTicket.VALIDE, StatutTicket.UTILISE)));
+        frequentes.put("tickets par catégorie", tickets::countParCategorie);
+        frequentes.put("index de contrôle d'accès d'un match", () -> tickets.findEtatsControleParMatch(1L));
+        frequentes.put("transactions d'un spectateur", () -> transactions.findBySpectateurId(1L));
+        frequentes.put("transactions d'un ticket", () -> transactions.findByTicketId(1L));
+        frequentes.put("transactions par statut", () -> transactions.findByStatut(StatutTransaction.VALIDEE));
+        frequentes.put("flux d'une zone", () -> flux.findByZoneId(1L));
+        frequentes.put("dernier flux d'une zone", () -> flux.findDernierFluxByZone(1L));
+        frequentes.put("flux d'une zone d'un match", () -> flux.findByMatchAndZone(1L, 1L));
+        frequentes.put("alertes non résolues", alertes::findNonResolues);
+        frequentes.put("alertes d'un match", () -> alertes.findByMatchId(1L));
+        frequentes.put("historique d'occupation d'un match", () -> echantillons.findSerieMatch(1L, 1, 0L, 60L));
+        frequentes.put("historique d'occupation d'une zone", () -> echantillons.findSerieZone(1L, 1, 0L, 60L));
+        frequentes.put("zones d'un match", () -> zones.findByMatchId(1L));
+
+        return frequentes.entrySet().stream().map(requete -> DynamicTest.dynamicTest(requete.getKey(), () -> {
+            List<String> sql = executer(requete.getValue());
+            assertFalse(sql.isEmpty(), "Aucune requête SQL relevée");
+            for (String instruction : sql) {
+                String parcours = HibernateUtil.enLecture(session -> session.doReturningWork(
+                        connexion -> VerificateurIndex.trouverParcoursComplet(connexion, instruction)));
+                assertNull(parcours, "Parcours complet de table pour : " + instruction);
+            }
+        }));
+    }
+
+    private static List<String> executer(Runnable appel) {
+        synchronized (requetes) {
+            requetes.clear();
+        }
+        appel.run();
+        synchronized (requetes) {
+            return new ArrayList<>(requetes);
+        }
+    }
+}